@@ -0,0 +1,265 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Writes finished games into a {@link ReplayArchive} file.
+ *
+ * Games can be added from several threads and in any order; each one
+ * is filed under its game number, so the index is the same however
+ * the games were shared out. Boards are packed by the thread adding
+ * the game, and only filing and copying into the buffer take turns.
+ * Games are collected in a large buffer and written a buffer at a
+ * time.
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class ArchiveWriter implements AutoCloseable {
+
+    /** Bytes collected before writing to the file. */
+    private static final int BUFFER_BYTES = 1 << 22;
+
+    /** Index entries to start with. */
+    private static final int FIRST_INDEX = 1024;
+
+    /** File being written. */
+    private final FileChannel channel;
+
+    /** Games waiting to be written. */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+    /** File offset of each game, by game number. */
+    private long[] index = new long[FIRST_INDEX];
+
+    /** One more than the highest game number added. */
+    private int games;
+
+    /** File offset the buffer will be written at. */
+    private long bufferAt = ReplayArchive.HEADER_BYTES;
+
+    /**
+     * Creates an archive file, replacing it if it exists.
+     *
+     * @param path archive file
+     * @throws IOException if the file cannot be created
+     */
+    public ArchiveWriter(final Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        Arrays.fill(index, ReplayArchive.NO_GAME);
+    }
+
+    /**
+     * Adds one finished game.
+     *
+     * @param game   game number (each number may be used once)
+     * @param engine the finished game
+     * @param shots  every shot fired, in order
+     * @throws IOException if the file cannot be written
+     */
+    public void add(final long game, final GameEngine engine,
+                    final Shots shots) throws IOException {
+        if (game < 0 || game >= Integer.MAX_VALUE / Long.BYTES) {
+            throw new IllegalArgumentException("Bad game number " + game);
+        }
+        final Board first = engine.board(GameEngine.PLAYER);
+        final long[] player = first.packCodes();
+        final long[] enemy = engine.board(GameEngine.ENEMY).packCodes();
+        final long bytes = ReplayArchive.GAME_HEADER_BYTES
+                + (long) Long.BYTES * (player.length + enemy.length)
+                + (long) Long.BYTES * ((shots.size() + 1) / 2);
+        final long segment = 1L << ReplayArchive.SEGMENT_SHIFT;
+        if (bytes > segment) {
+            throw new IllegalArgumentException("Game too big to archive");
+        }
+        synchronized (this) {
+            file(game, bytes, first, engine, player, enemy, shots);
+        }
+    }
+
+    /**
+     * Files a packed game under its number and copies it into the
+     * buffer (called holding the lock).
+     *
+     * @param game   game number
+     * @param bytes  size of the game in the file
+     * @param first  player board
+     * @param engine the game
+     * @param player packed player board
+     * @param enemy  packed enemy board
+     * @param shots  every shot fired
+     * @throws IOException if the file cannot be written
+     */
+    private void file(final long game, final long bytes, final Board first,
+                      final GameEngine engine, final long[] player,
+                      final long[] enemy, final Shots shots)
+            throws IOException {
+        if (game < games && index[(int) game] != ReplayArchive.NO_GAME) {
+            throw new IllegalArgumentException("Game " + game
+                    + " already added");
+        }
+
+        // Start a new segment rather than cross into one
+        final long segment = 1L << ReplayArchive.SEGMENT_SHIFT;
+        long at = bufferAt + buffer.position();
+        if ((at & (segment - 1)) + bytes > segment) {
+            flush();
+            at = (at + segment - 1) & -segment;
+            bufferAt = at;
+        }
+        if (bytes > buffer.remaining()) {
+            flush();
+        }
+        if (game >= index.length) {
+            final int oldLength = index.length;
+            index = Arrays.copyOf(index,
+                    (int) Math.max(game + 1, 2L * oldLength));
+            Arrays.fill(index, oldLength, index.length,
+                    ReplayArchive.NO_GAME);
+        }
+        index[(int) game] = at;
+        games = (int) Math.max(games, game + 1);
+
+        if (bytes > buffer.capacity()) {
+            // Too big for the buffer: write this game on its own
+            final ByteBuffer single = ByteBuffer.allocate((int) bytes);
+            put(single, first, engine, player, enemy, shots);
+            single.flip();
+            writeAt(single, at);
+            bufferAt = at + bytes;
+        } else {
+            put(buffer, first, engine, player, enemy, shots);
+        }
+    }
+
+    /**
+     * Writes the index and header and closes the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+            final long indexAt = bufferAt;
+            final ByteBuffer table = ByteBuffer.allocate(games * Long.BYTES);
+            table.asLongBuffer().put(index, 0, games);
+            writeAt(table, indexAt);
+
+            final ByteBuffer header =
+                    ByteBuffer.allocate(ReplayArchive.HEADER_BYTES);
+            header.putInt(ReplayArchive.MAGIC).putShort(ReplayArchive.VERSION)
+                    .putShort((short) 0).putLong(games).putLong(indexAt)
+                    .putLong(0L).flip();
+            writeAt(header, 0);
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Puts one game into a buffer.
+     *
+     * @param out    buffer to fill
+     * @param first  player board
+     * @param engine the game
+     * @param player packed player board
+     * @param enemy  packed enemy board
+     * @param shots  every shot fired
+     */
+    private static void put(final ByteBuffer out, final Board first,
+                            final GameEngine engine, final long[] player,
+                            final long[] enemy, final Shots shots) {
+        out.putInt(first.rows()).putInt(first.cols()).putInt(shots.size())
+                .put((byte) engine.winner()).put((byte) 0).putShort((short) 0);
+        for (long word : player) {
+            out.putLong(word);
+        }
+        for (long word : enemy) {
+            out.putLong(word);
+        }
+        for (int i = 0; i < shots.size(); i++) {
+            out.putInt(shots.entries[i]);
+        }
+        if ((shots.size() & 1) != 0) {
+            out.putInt(0);
+        }
+    }
+
+    /**
+     * Writes the buffer to the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        final int written = buffer.remaining();
+        writeAt(buffer, bufferAt);
+        bufferAt += written;
+        buffer.clear();
+    }
+
+    /**
+     * Writes all of a buffer at a file offset.
+     *
+     * @param data buffer to write
+     * @param at   file offset
+     * @throws IOException if the file cannot be written
+     */
+    private void writeAt(final ByteBuffer data, final long at)
+            throws IOException {
+        long pos = at;
+        while (data.hasRemaining()) {
+            pos += channel.write(data, pos);
+        }
+    }
+
+    /**
+     * The shots fired in one game, in order. Reuse one per thread by
+     * calling {@link #clear()} before each game.
+     */
+    public static final class Shots {
+
+        /** Each shot as cell * 2 + player. */
+        private int[] entries = new int[Long.SIZE];
+
+        /** Number of shots. */
+        private int count;
+
+        /**
+         * Forgets every shot.
+         */
+        public void clear() {
+            count = 0;
+        }
+
+        /**
+         * Adds one shot.
+         *
+         * @param player player who fired
+         * @param cell   cell fired at
+         */
+        public void add(final int player, final int cell) {
+            if (count == entries.length) {
+                entries = Arrays.copyOf(entries, count * 2);
+            }
+            entries[count++] = cell << 1 | player;
+        }
+
+        /**
+         * Gets the number of shots.
+         *
+         * @return shots fired
+         */
+        public int size() {
+            return count;
+        }
+    }
+}
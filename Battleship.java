@@ -1,9 +1,15 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Scanner;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Simple Battleship game implementation.
- * Player vs computer on a 4x4 board.
+ * Player vs computer on a 4x4 board, or any size chosen on the
+ * command line (see {@link GameOptions}).
  *
  * Not taught:
  * ANSI escape color codes:
@@ -28,35 +34,57 @@ public final class Battleship {
     /** Shared Scanner for input (keyboard). */
     private static final Scanner SCANNER = new Scanner(System.in);
 
-    /** Random number generator for computer moves. */
-    private static final Random RAND = new Random();
+    /** Random number generator used when no seed is given. */
+    private static final RandomGenerator RAND = new SplittableRandom();
+
+    /** Frame buffer for displayGrid, one per thread. */
+    private static final ThreadLocal<GridRenderer> RENDERER =
+            ThreadLocal.withInitial(GridRenderer::new);
+
+    /** What the player types to save the game. */
+    private static final String SAVE_COMMAND = "save";
+
+    /** File the game is saved to. */
+    private static final String SAVE_FILE = "battleship.sav";
+
+    /** Most rows of a board shown at once. */
+    private static final int VIEW_ROWS = 20;
+
+    /** Most columns of a board shown at once. */
+    private static final int VIEW_COLS = 30;
+
+    /** Screen row of the top of the player grid, below its title. */
+    private static final int GRID_TOP = 2;
+
+    /** Biggest board the computer uses density targeting on. */
+    private static final long DENSITY_CELLS = 1 << 20;
 
     /** Symbol representing empty water. */
-    private static final String EMPTY = "0";
+    static final String EMPTY = "0";
 
     /** Symbol representing a ship. */
-    private static final String SHIP = "S";
+    static final String SHIP = "S";
 
     /** Symbol representing a hit. */
-    private static final String HIT = "X";
+    static final String HIT = "X";
 
     /** Symbol representing a miss. */
-    private static final String MISS = "M";
+    static final String MISS = "M";
 
     /** Reset color code (goes back to normal text). */
-    private static final String RESET = "\u001B[0m";
+    static final String RESET = "\u001B[0m";
 
     /** Red color code for hits. */
-    private static final String RED = "\u001B[31m";
+    static final String RED = "\u001B[31m";
 
     /** Green color code for ships. */
-    private static final String GREEN = "\u001B[32m";
+    static final String GREEN = "\u001B[32m";
 
     /** Yellow color code for misses. */
-    private static final String YELLOW = "\u001B[33m";
+    static final String YELLOW = "\u001B[33m";
 
     /** Cyan color code for empty cells. */
-    private static final String CYAN = "\u001B[36m";
+    static final String CYAN = "\u001B[36m";
 
     /**
      * Private constructor to prevent instantiation of utility class.
@@ -69,177 +97,574 @@ public final class Battleship {
      * Entry point of the program.
      * This is the first method Java runs.
      *
-     * @param args command line arguments (unused)
+     * @param args command line arguments (see {@link GameOptions}),
+     *             such as "--rows 10 --cols 10 --fleet classic"
      */
     public static void main(final String[] args) {
-        mainGame();
+        final GameOptions options;
+        try {
+            options = GameOptions.parse(args, RAND);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return;
+        }
+        mainGame(options);
     }
 
     /**
      * Runs the main game loop.
      * Handles tutorial prompt, board setup, player/computer turns,
-     * and win/lose conditions.
+     * and win/lose conditions. The rules live in {@link GameEngine};
+     * this method only does the printing and reading.
      */
     public static void mainGame() {
+        mainGame(false, RAND);
+    }
+
+    /**
+     * Runs the main game loop, optionally redrawing the boards in
+     * place. In place mode keeps both boards fixed at the top of the
+     * screen and only sends the cells that changed each turn, while
+     * prompts and messages scroll underneath.
+     *
+     * @param differential true to redraw in place
+     * @param rand         random number generator for the boards and
+     *                     the computer's moves
+     */
+    public static void mainGame(final boolean differential,
+                                final RandomGenerator rand) {
+        mainGame(GameOptions.parse(differential
+                ? new String[] {"--diff"} : new String[0], rand));
+    }
+
+    /**
+     * Runs the main game loop with the given settings, starting a new
+     * game or carrying on a saved one.
+     *
+     * Boards bigger than the screen are shown through a window that
+     * follows the last shot fired at them, so each turn draws the
+     * same number of cells whatever the board size.
+     *
+     * @param options board size, fleet, rules and files to use
+     */
+    public static void mainGame(final GameOptions options) {
         System.out.println("Welcome to Battleship!");
 
         // Ask player if they want to see instructions
         System.out.print("Would you like to see the tutorial? (y/n): ");
         final String choice = SCANNER.nextLine();
         if (choice.equalsIgnoreCase("y")) {
-            System.out.println("\nTutorial:");
-            System.out.println("You and the computer each get a 4x4 grid.");
-            System.out.println("S = Ship, "
-                    + RED + "X = Hit" + RESET + ", "
-                    + YELLOW + "M = Miss" + RESET + ", "
-                    + CYAN + "0 = Empty" + RESET + ".");
-            System.out.println("Take turns guessing enemy positions "
-                    + "until all ships are sunk.");
-            System.out.println("Good luck!\n");
+            printTutorial(options);
         }
 
         // Create player and enemy boards with ships placed
-        String[][] playerGrid = setupGrid(4, 4);
-        String[][] enemyGrid = setupGrid(4, 4);
-
-        // This grid shows what the player knows about the enemy
-        // At the start, everything is hidden (just 0)
-        String[][] playerViewOfEnemy = new String[4][4];
-        for (int i = 0; i < 4; i++) {
-            for (int j = 0; j < 4; j++) {
-                playerViewOfEnemy[i][j] = EMPTY;
+        final GameEngine engine = setUpGame(options);
+        if (engine == null) {
+            return;
+        }
+        final Board playerBoard = engine.board(GameEngine.PLAYER);
+        final int rows = playerBoard.rows();
+        final int cols = playerBoard.cols();
+        final TargetingStrategy enemyAi = enemyStrategy(playerBoard,
+                options.ai(), options.thinkMillis(), options.rand());
+        if (options.savedGame() != null) {
+            // Let the computer remember the shots it already fired
+            SaveGame.teach(enemyAi, playerBoard);
+        }
+
+        // Log the ships now and each shot as it is fired
+        MoveJournal journal = null;
+        long gameId = 0;
+        if (options.journal() != null) {
+            try {
+                journal = new MoveJournal(options.journal());
+                gameId = journal.startGame(engine);
+            } catch (IOException e) {
+                System.out.println("Could not open journal "
+                        + options.journal() + ": " + e.getMessage());
+                journal = closeJournal(journal);
             }
         }
 
-        boolean gameOver = false;
+        // Room for a full salvo, one shot per ship
+        final int[] shots = new int[Math.max(1, Math.max(
+                playerBoard.shipCount(),
+                engine.board(GameEngine.ENEMY).shipCount()))];
+        final ShotResult[] results = new ShotResult[shots.length];
+
+        // Each board is shown through a window, centred on the last
+        // shot fired at it
+        final int viewRows = Math.min(rows, VIEW_ROWS);
+        final int viewCols = Math.min(cols, VIEW_COLS);
+        final int[] focus = new int[2];
+
+        // In place mode: player grid, enemy grid, then scrolling text,
+        // each grid under a title and a blank line after it
+        final boolean differential = options.differential();
+        final int enemyTitle = GRID_TOP + viewRows + 1;
+        final int enemyTop = enemyTitle + 1;
+        final DiffRenderer playerView = new DiffRenderer(GRID_TOP, 1);
+        final DiffRenderer enemyView = new DiffRenderer(enemyTop, 1);
+        if (differential) {
+            System.out.print(DiffRenderer.CLEAR_SCREEN + "Your grid:"
+                    + DiffRenderer.moveTo(enemyTitle, 1)
+                    + "Enemy grid:"
+                    + DiffRenderer.scrollFrom(enemyTop + viewRows + 1)
+                    + DiffRenderer.TO_BOTTOM);
+        }
 
         // Main turn loop: keep going until someone wins
-        while (!gameOver) {
-            // Show both boards
-            System.out.println("\nYour grid:");
-            displayGrid(playerGrid, true);
-
-            System.out.println("\nEnemy grid:");
-            displayGrid(playerViewOfEnemy, false);
+        while (!engine.isOver()) {
+            // Show both boards (enemy ships stay hidden)
+            if (differential) {
+                updateView(playerView, engine, GameEngine.PLAYER,
+                        focus[GameEngine.PLAYER]);
+                updateView(enemyView, engine, GameEngine.ENEMY,
+                        focus[GameEngine.ENEMY]);
+            } else {
+                showBoard("\nYour grid", engine.board(GameEngine.PLAYER),
+                        true, focus[GameEngine.PLAYER]);
+                showBoard("\nEnemy grid", engine.board(GameEngine.ENEMY),
+                        false, focus[GameEngine.ENEMY]);
+            }
 
-            // Player takes a turn
-            int[] coords = handleInput(); // row and column chosen by user
-            gameOver = handleAttacks(
-                    enemyGrid, playerViewOfEnemy, coords[0], coords[1]);
+            // Player takes a turn (a salvo is one shot per ship left)
+            final int playerCount = options.salvo()
+                    ? playerBoard.remainingShips() : 1;
+            if (options.salvo()) {
+                System.out.println("Fire " + playerCount + " shots.");
+            }
+            for (int i = 0; i < playerCount; i++) {
+                final int[] coords = askForShot(engine, journal);
+                shots[i] = coords[0] * cols + coords[1];
+            }
+            engine.fireSalvo(GameEngine.PLAYER, shots, playerCount, results);
+            focus[GameEngine.ENEMY] = shots[playerCount - 1];
+            journal = reportShots(engine, GameEngine.PLAYER, shots,
+                    playerCount, results, journal, gameId);
 
             // Check if player won
-            if (gameOver) {
+            if (engine.isOver()) {
                 System.out.println(GREEN + "You win!" + RESET);
                 break;
             }
 
-            // Enemy takes a random shot
-            int x = RAND.nextInt(4); // random row (0–3)
-            int y = RAND.nextInt(4); // random column (0–3)
-            System.out.println("Enemy fires at ("
-                    + (x + 1) + ", " + (y + 1) + ")");
+            // Enemy fires where ships are most likely to be
+            final int enemyCount;
+            if (options.salvo()) {
+                enemyCount = enemyAi.nextSalvo(shots,
+                        engine.board(GameEngine.ENEMY).remainingShips());
+            } else {
+                shots[0] = enemyAi.nextShot();
+                enemyCount = 1;
+            }
 
             // Apply computer attack to player’s grid
-            gameOver = handleAttacks(playerGrid, playerGrid, x, y);
+            engine.fireSalvo(GameEngine.ENEMY, shots, enemyCount, results);
+            focus[GameEngine.PLAYER] = shots[enemyCount - 1];
+            for (int i = 0; i < enemyCount; i++) {
+                final int x = shots[i] / cols; // row
+                final int y = shots[i] % cols; // column
+                final boolean sank = results[i] == ShotResult.SUNK
+                        || results[i] == ShotResult.WIN;
+                enemyAi.record(x, y, results[i],
+                        sank ? playerBoard.shipLengthAt(x, y) : 0);
+            }
+            journal = reportShots(engine, GameEngine.ENEMY, shots,
+                    enemyCount, results, journal, gameId);
 
             // Check if computer won
-            if (gameOver) {
+            if (engine.isOver()) {
                 System.out.println(RED
                         + "The enemy has sunk all your ships. Game over!"
                         + RESET);
             }
         }
+
+        closeJournal(journal);
+
+        if (differential) {
+            // Show the final shots and give the whole screen back
+            updateView(playerView, engine, GameEngine.PLAYER,
+                    focus[GameEngine.PLAYER]);
+            updateView(enemyView, engine, GameEngine.ENEMY,
+                    focus[GameEngine.ENEMY]);
+            System.out.print(DiffRenderer.RESET_SCROLL
+                    + DiffRenderer.TO_BOTTOM);
+            System.out.println();
+        }
     }
 
     /**
-     * Sets up a board of the given size and places ships randomly.
+     * Loads the saved game, or places random fleets on new boards.
      *
-     * @param size  the grid size (e.g., 4 for 4x4)
-     * @param ships number of ships to place
-     * @return grid with ships placed
+     * @param options board size, fleet and save file
+     * @return the game, or null if the fleet does not fit
      */
-    public static String[][] setupGrid(final int size, final int ships) {
-        String[][] grid = new String[size][size];
+    private static GameEngine setUpGame(final GameOptions options) {
+        final Path savedGame = options.savedGame();
+        if (savedGame != null) {
+            try {
+                final GameEngine engine = SaveGame.load(savedGame);
+                System.out.println("Loaded " + savedGame);
+                return engine;
+            } catch (IOException e) {
+                System.out.println("Could not load " + savedGame + ": "
+                        + e.getMessage() + ". Starting a new game.");
+            }
+        }
+        try {
+            return GameEngine.random(options.rows(), options.cols(),
+                    options.fleet(), options.rand());
+        } catch (IllegalArgumentException e) {
+            System.out.println("Could not set up the boards: "
+                    + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Picks the computer's targeting. Density targeting keeps a few
+     * ints per cell, so very big boards get random shots that skip
+     * cells already fired at instead.
+     *
+     * @param target board the computer fires at
+     * @param rand   random number generator to use
+     * @return the strategy
+     */
+    static TargetingStrategy enemyStrategy(final Board target,
+                                           final RandomGenerator rand) {
+        return enemyStrategy(target, null,
+                MonteCarloStrategy.DEFAULT_BUDGET_MILLIS, rand);
+    }
+
+    /**
+     * Picks the computer's targeting by name.
+     *
+     * @param target      board the computer fires at
+     * @param name        one of {@link TargetingStrategy#NAMES}, or
+     *                    null to pick by board size
+     * @param thinkMillis most time to spend per move, for strategies
+     *                    that search
+     * @param rand        random number generator to use
+     * @return the strategy
+     */
+    static TargetingStrategy enemyStrategy(final Board target,
+                                           final String name,
+                                           final long thinkMillis,
+                                           final RandomGenerator rand) {
+        final int[] fleet = new int[target.shipCount()];
+        for (int s = 0; s < fleet.length; s++) {
+            fleet[s] = target.shipLength(s);
+        }
+        final long cells = (long) target.rows() * target.cols();
+        if (name == null && cells > DENSITY_CELLS) {
+            // Random shots, but never at the same cell twice
+            return new RandomStrategy(target.rows(), target.cols(), rand,
+                    true);
+        }
+        return TargetingStrategy.create(name != null ? name : "density",
+                target.rows(), target.cols(), fleet, rand, thinkMillis);
+    }
+
+    /**
+     * Prints a board, or the window of it around a cell if it is too
+     * big for the screen.
+     *
+     * @param title     heading to print above the board
+     * @param board     the board to show
+     * @param showShips true if ships should be visible
+     * @param focus     cell to keep in the window
+     */
+    private static void showBoard(final String title, final Board board,
+                                  final boolean showShips,
+                                  final int focus) {
+        final int viewRows = Math.min(board.rows(), VIEW_ROWS);
+        final int viewCols = Math.min(board.cols(), VIEW_COLS);
+        final int top = viewStart(focus / board.cols(), board.rows(),
+                viewRows);
+        final int left = viewStart(focus % board.cols(), board.cols(),
+                viewCols);
+        if (viewRows == board.rows() && viewCols == board.cols()) {
+            System.out.println(title + ":");
+        } else {
+            System.out.println(title + " (rows " + (top + 1) + "-"
+                    + (top + viewRows) + ", columns " + (left + 1) + "-"
+                    + (left + viewCols) + " of " + board.rows() + "x"
+                    + board.cols() + "):");
+        }
+        RENDERER.get().render(board, showShips, top, left, viewRows,
+                viewCols).writeTo(System.out);
+    }
+
+    /**
+     * Redraws the window of a board in place.
+     *
+     * @param view   renderer for the board
+     * @param engine the game
+     * @param owner  player who owns the board
+     * @param focus  cell to keep in the window
+     */
+    private static void updateView(final DiffRenderer view,
+                                   final GameEngine engine,
+                                   final int owner, final int focus) {
+        final Board board = engine.board(owner);
+        final int viewRows = Math.min(board.rows(), VIEW_ROWS);
+        final int viewCols = Math.min(board.cols(), VIEW_COLS);
+        view.update(board, owner == GameEngine.PLAYER,
+                viewStart(focus / board.cols(), board.rows(), viewRows),
+                viewStart(focus % board.cols(), board.cols(), viewCols),
+                viewRows, viewCols, System.out);
+    }
+
+    /**
+     * Works out where a window along one side of the board starts, so
+     * that it is centred on a line but stays on the board.
+     *
+     * @param line row or column to keep in the window
+     * @param size rows or columns on the board
+     * @param view rows or columns in the window
+     * @return first row or column of the window
+     */
+    private static int viewStart(final int line, final int size,
+                                 final int view) {
+        return Math.max(0, Math.min(size - view, line - view / 2));
+    }
+
+    /**
+     * Prints how to play.
+     *
+     * @param options board size and rules
+     */
+    private static void printTutorial(final GameOptions options) {
+        System.out.println("\nTutorial:");
+        System.out.println("You and the computer each get a "
+                + options.rows() + "x" + options.cols() + " grid with "
+                + options.fleet().length + " ships.");
+        System.out.println("S = Ship, "
+                + RED + "X = Hit" + RESET + ", "
+                + YELLOW + "M = Miss" + RESET + ", "
+                + CYAN + "0 = Empty" + RESET + ".");
+        System.out.println("Take turns guessing enemy positions "
+                + "until all ships are sunk.");
+        if (options.salvo()) {
+            System.out.println("Salvo rules: each turn you fire one "
+                    + "shot for every ship you have left.");
+        }
+        System.out.println("Type save instead of a row to save the "
+                + "game to " + SAVE_FILE + ".");
+        System.out.println("Good luck!\n");
+    }
+
+    /**
+     * Asks the player where to fire, saving the game each time they
+     * type the save command instead.
+     *
+     * @param engine  game to save
+     * @param journal journal to flush when saving, or null
+     * @return row and column chosen by the player
+     */
+    private static int[] askForShot(final GameEngine engine,
+                                    final MoveJournal journal) {
+        final Board target = engine.board(GameEngine.ENEMY);
+        int[] coords = handleInput(target.rows(), target.cols());
+        while (coords == null) {
+            try {
+                SaveGame.save(Paths.get(SAVE_FILE), engine);
+                System.out.println("Game saved to " + SAVE_FILE);
+                if (journal != null) {
+                    journal.flush();
+                }
+            } catch (IOException e) {
+                System.out.println("Could not save: " + e.getMessage());
+            }
+            coords = handleInput(target.rows(), target.cols());
+        }
+        return coords;
+    }
 
-        // Fill the board with empty water first
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                grid[i][j] = EMPTY;
+    /**
+     * Prints and logs the shots just fired by one player. Shots after
+     * a winning shot in the same salvo are logged too, since they
+     * still mark the board.
+     *
+     * @param engine  game the shots were fired in
+     * @param player  player who fired
+     * @param shots   cells fired at
+     * @param count   number of shots
+     * @param results what each shot did
+     * @param journal journal to write, or null if not logging
+     * @param gameId  id of the game in the journal
+     * @return the journal, or null if logging has stopped
+     */
+    private static MoveJournal reportShots(final GameEngine engine,
+                                           final int player,
+                                           final int[] shots,
+                                           final int count,
+                                           final ShotResult[] results,
+                                           final MoveJournal journal,
+                                           final long gameId) {
+        final int cols = engine.board(player).cols();
+        final int firstTurn = engine.turn() - count;
+        MoveJournal log = journal;
+        for (int i = 0; i < count; i++) {
+            final int row = shots[i] / cols;
+            final int col = shots[i] % cols;
+            if (player == GameEngine.ENEMY) {
+                System.out.println("Enemy fires at ("
+                        + (row + 1) + ", " + (col + 1) + ")");
             }
+            log = journalShot(log, gameId, firstTurn + i, player, row, col,
+                    results[i]);
+            printResult(results[i]);
         }
+        return log;
+    }
+
+    /**
+     * Logs a shot to the journal. If the journal cannot be written,
+     * says so and stops logging rather than stopping the game.
+     *
+     * @param journal journal to write, or null if not logging
+     * @param gameId  id of the game in the journal
+     * @param turn    shots fired before this one
+     * @param player  player who fired
+     * @param row     row fired at
+     * @param col     column fired at
+     * @param result  what the shot did
+     * @return the journal, or null if logging has stopped
+     */
+    private static MoveJournal journalShot(final MoveJournal journal,
+                                           final long gameId,
+                                           final int turn,
+                                           final int player, final int row,
+                                           final int col,
+                                           final ShotResult result) {
+        if (journal == null) {
+            return null;
+        }
+        try {
+            journal.recordShot(gameId, turn, player, row, col, result);
+            return journal;
+        } catch (IOException e) {
+            System.out.println("Could not write journal: " + e.getMessage());
+            return closeJournal(journal);
+        }
+    }
 
-        // Randomly place ships until we hit the target number
-        int placed = 0;
-        while (placed < ships) {
-            int x = RAND.nextInt(size);
-            int y = RAND.nextInt(size);
-            if (grid[x][y].equals(EMPTY)) {
-                grid[x][y] = SHIP;
-                placed++;
+    /**
+     * Flushes and closes the journal, if there is one.
+     *
+     * @param journal journal to close, or null
+     * @return null, so callers can forget the journal in one step
+     */
+    private static MoveJournal closeJournal(final MoveJournal journal) {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.out.println("Could not close journal: "
+                        + e.getMessage());
             }
         }
-        return grid;
+        return null;
+    }
+
+    /**
+     * Sets up a board of the given size and places ships randomly.
+     *
+     * @param size  the grid size (e.g., 4 for 4x4)
+     * @param ships number of ships to place
+     * @return grid with ships placed
+     */
+    public static String[][] setupGrid(final int size, final int ships) {
+        return Board.random(size, size, ships, RAND).toGrid();
     }
 
     /**
      * Displays a grid with colors for each type of cell.
+     * Kept for callers that still use String grids.
      *
      * @param grid      the board to show
      * @param showShips true if ships should be visible (player’s own board)
      */
     public static void displayGrid(final String[][] grid,
                                    final boolean showShips) {
-        for (int i = 0; i < grid.length; i++) {
-            for (int j = 0; j < grid[i].length; j++) {
-                String cell = grid[i][j];
-                String out;
-
-                // Only show ships on player’s grid, not enemy’s grid
-                if (!showShips && cell.equals(SHIP)) {
-                    out = CYAN + EMPTY + RESET;
-                } else if (cell.equals(SHIP)) {
-                    out = GREEN + SHIP + RESET;
-                } else if (cell.equals(HIT)) {
-                    out = RED + HIT + RESET;
-                } else if (cell.equals(MISS)) {
-                    out = YELLOW + MISS + RESET;
-                } else {
-                    out = CYAN + EMPTY + RESET;
-                }
-                System.out.print(out + " ");
-            }
-            System.out.println(); // move to next row
-        }
+        displayGrid(Board.fromGrid(grid), showShips);
     }
 
     /**
-     * Gets player input for row and column.
+     * Displays a board with colors for each type of cell.
+     *
+     * @param board     the board to show
+     * @param showShips true if ships should be visible (player’s own board)
+     */
+    public static void displayGrid(final Board board,
+                                   final boolean showShips) {
+        displayGrid(board, showShips, System.out);
+    }
+
+    /**
+     * Displays a board on any output stream (used by the benchmarks).
+     *
+     * @param board     the board to show
+     * @param showShips true if ships should be visible (player’s own board)
+     * @param out       where to print the board
+     */
+    public static void displayGrid(final Board board,
+                                   final boolean showShips,
+                                   final PrintStream out) {
+        // Whole frame is built in memory and written in one go
+        RENDERER.get().render(board, showShips).writeTo(out);
+    }
+
+    /**
+     * Gets player input for row and column on a 4x4 board.
      * Loops until valid input is given (1–4).
      *
-     * @return int[] containing row and column
+     * @return int[] containing row and column, or null if the player
+     *         typed "save" instead of a row
      */
     public static int[] handleInput() {
+        return handleInput(4, 4);
+    }
+
+    /**
+     * Gets player input for row and column.
+     * Loops until valid input is given (1 to rows, 1 to cols).
+     *
+     * @param rows number of rows on the board
+     * @param cols number of columns on the board
+     * @return int[] containing row and column, or null if the player
+     *         typed "save" instead of a row
+     */
+    public static int[] handleInput(final int rows, final int cols) {
         int row = -1;
         int col = -1;
         boolean valid = false;
 
         while (!valid) {
             try {
-                System.out.print("Enter row (1-4): ");
-                row = Integer.parseInt(SCANNER.nextLine()) - 1;
+                System.out.print("Enter row (1-" + rows + "): ");
+                final String rowText = SCANNER.nextLine();
+                if (rowText.trim().equalsIgnoreCase(SAVE_COMMAND)) {
+                    return null; // caller saves the game
+                }
+                row = Integer.parseInt(rowText.trim()) - 1;
 
-                System.out.print("Enter column (1-4): ");
-                col = Integer.parseInt(SCANNER.nextLine()) - 1;
+                System.out.print("Enter column (1-" + cols + "): ");
+                col = Integer.parseInt(SCANNER.nextLine().trim()) - 1;
 
                 // Check if coordinates are in range
-                if (row >= 0 && row < 4 && col >= 0 && col < 4) {
+                if (row >= 0 && row < rows && col >= 0 && col < cols) {
                     valid = true;
                 } else {
                     System.out.println("Invalid coordinates. Try again.");
                 }
             } catch (NumberFormatException e) {
                 // If user types something not a number, this runs
-                System.out.println("Invalid input. Enter a number 1-4.");
+                System.out.println("Invalid input. Enter a number 1-"
+                        + Math.max(rows, cols) + ".");
             }
         }
         return new int[] {row, col};
@@ -247,7 +672,7 @@ public final class Battleship {
 
     /**
      * Handles attacks on the board.
-     * Updates grid state and checks win condition.
+     * Kept for callers that still use String grids.
      *
      * @param targetGrid the board being attacked
      * @param viewGrid   the attacker’s view of the board
@@ -259,25 +684,47 @@ public final class Battleship {
                                         final String[][] viewGrid,
                                         final int row,
                                         final int col) {
-        // Check if shot hits a ship
-        if (targetGrid[row][col].equals(SHIP)) {
-            System.out.println(RED + "Hit!" + RESET);
-            targetGrid[row][col] = HIT;
-            viewGrid[row][col] = HIT;
-        } else if (targetGrid[row][col].equals(EMPTY)) {
-            System.out.println(YELLOW + "Miss!" + RESET);
-            targetGrid[row][col] = MISS;
-            viewGrid[row][col] = MISS;
+        final Board board = Board.fromGrid(targetGrid);
+        final boolean gameOver = handleAttacks(board, row, col);
+
+        // Copy the changed cell back into the String grids
+        targetGrid[row][col] = board.symbolAt(row, col);
+        if (board.isHit(row, col) || board.isMiss(row, col)) {
+            viewGrid[row][col] = targetGrid[row][col];
         }
+        return gameOver;
+    }
 
-        // Check if any ships remain on this board
-        for (int i = 0; i < targetGrid.length; i++) {
-            for (int j = 0; j < targetGrid[i].length; j++) {
-                if (targetGrid[i][j].equals(SHIP)) {
-                    return false; // still ships left
-                }
-            }
+    /**
+     * Handles attacks on the board.
+     * Updates board state and checks win condition.
+     *
+     * @param target the board being attacked
+     * @param row    row of attack
+     * @param col    column of attack
+     * @return true if all ships are sunk
+     */
+    public static boolean handleAttacks(final Board target,
+                                        final int row,
+                                        final int col) {
+        printResult(target.fire(row, col));
+
+        // Board keeps a live count of un-hit ship cells
+        return target.allSunk();
+    }
+
+    /**
+     * Prints the message for a shot result.
+     *
+     * @param result what the shot did
+     */
+    public static void printResult(final ShotResult result) {
+        if (result == ShotResult.HIT) {
+            System.out.println(RED + "Hit!" + RESET);
+        } else if (result == ShotResult.SUNK || result == ShotResult.WIN) {
+            System.out.println(RED + "Hit! Ship sunk!" + RESET);
+        } else if (result == ShotResult.MISS) {
+            System.out.println(YELLOW + "Miss!" + RESET);
         }
-        return true; // no ships remain = game over
     }
 }
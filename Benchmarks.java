@@ -0,0 +1,447 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.LongSupplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Micro-benchmarks for the core game methods.
+ *
+ * Each case is warmed up first so the JIT compiler has done its work,
+ * then timed over several fixed-length iterations. Results go to the
+ * console and to a JSON file so runs can be compared over time.
+ *
+ * Usage: java Benchmarks [output.json] [name filter]
+ *
+ * Not taught:
+ * Benchmark warm-up and timing (same idea as JMH):
+ * https://openjdk.org/projects/code-tools/jmh/
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class Benchmarks {
+
+    /** File written when no output path is given. */
+    private static final String DEFAULT_OUTPUT = "benchmarks.json";
+
+    /** Nanoseconds spent warming up each case. */
+    private static final long WARMUP_NANOS = 1_000_000_000L;
+
+    /** Nanoseconds in each timed iteration. */
+    private static final long ITERATION_NANOS = 1_000_000_000L;
+
+    /** Number of timed iterations per case. */
+    private static final int ITERATIONS = 5;
+
+    /** Most calls made between clock reads. */
+    private static final int MAX_BATCH = 1 << 16;
+
+    /** Stop growing the batch once it takes this long. */
+    private static final long BATCH_NANOS = 1_000_000L;
+
+    /** Board sizes used for the placement cases. */
+    private static final int[] PLACE_SIZES = {4, 10, 100, 1000};
+
+    /** Ship densities (ships / cells) used for the placement cases. */
+    private static final double[] DENSITIES = {0.1, 0.5, 0.9};
+
+    /** Side of the board used by the fleet placement case. */
+    private static final int FLEET_SIZE = 100;
+
+    /** Copies of the classic fleet in the dense fleet case. */
+    private static final int DENSE_FLEET_COPIES = 200;
+
+    /** Board sizes used for the rendering cases. */
+    private static final int[] RENDER_SIZES = {4, 50, 200};
+
+    /** Board sizes used for the full-game cases. */
+    private static final int[] GAME_SIZES = {4, 10};
+
+    /** Side of the board used by the single-shot case. */
+    private static final int SHOT_SIZE = 1000;
+
+    /** Shots in each salvo of the salvo case (a classic fleet). */
+    private static final int SALVO = 5;
+
+    /** Boards made by halfPlayed have a ship on 1 in this many cells. */
+    private static final int SHIP_SHARE = 4;
+
+    /** Seed for all benchmark boards so runs are comparable. */
+    private static final long SEED = 42L;
+
+    /** Somewhere to put results so the JIT cannot skip the work. */
+    private static volatile long sink;
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private Benchmarks() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Entry point of the benchmarks.
+     *
+     * @param args output file and name filter (both optional)
+     * @throws IOException if the JSON file cannot be written
+     */
+    public static void main(final String[] args) throws IOException {
+        final Path output = Paths.get(
+                args.length > 0 ? args[0] : DEFAULT_OUTPUT);
+        final String filter = args.length > 1 ? args[1] : "";
+
+        final StringBuilder json = new StringBuilder("[\n");
+        boolean first = true;
+        for (Case bench : cases()) {
+            if (!bench.name.contains(filter)) {
+                continue;
+            }
+            final double[] nanosPerOp = measure(bench);
+            final double mean = mean(nanosPerOp);
+            final double error = stdDev(nanosPerOp, mean);
+            System.out.printf("%-40s %14.1f ns/op  +- %.1f%n",
+                    bench.name, mean, error);
+
+            if (!first) {
+                json.append(",\n");
+            }
+            first = false;
+            json.append("  {\"benchmark\": \"").append(bench.name)
+                    .append("\", \"unit\": \"ns/op\", \"score\": ")
+                    .append(mean).append(", \"error\": ").append(error)
+                    .append(", \"iterations\": ").append(ITERATIONS)
+                    .append('}');
+        }
+        json.append("\n]\n");
+        Files.write(output, json.toString().getBytes(StandardCharsets.UTF_8));
+        System.out.println("Results written to " + output);
+    }
+
+    /**
+     * Builds the list of benchmark cases.
+     *
+     * @return every case to run
+     */
+    private static List<Case> cases() {
+        final List<Case> list = new ArrayList<>();
+
+        // Ship placement at different sizes and densities
+        for (int size : PLACE_SIZES) {
+            for (double density : DENSITIES) {
+                final int ships = (int) (size * (long) size * density);
+                final RandomGenerator rand = new SplittableRandom(SEED);
+                list.add(new Case("setupGrid/" + size + "x" + size
+                        + "/density=" + density,
+                    () -> Board.random(size, size, ships, rand)
+                            .remainingShipCells()));
+            }
+        }
+
+        // Multi-cell fleets packed onto a big board
+        final RandomGenerator fleetRand = new SplittableRandom(SEED);
+        final int[] denseFleet = new int[DENSE_FLEET_COPIES
+                * Fleet.classic().length];
+        for (int i = 0; i < denseFleet.length; i++) {
+            denseFleet[i] = Fleet.classic()[i % Fleet.classic().length];
+        }
+        list.add(new Case("setupGrid/" + FLEET_SIZE + "x" + FLEET_SIZE
+                + "/fleet=classic*" + DENSE_FLEET_COPIES,
+            () -> Board.random(FLEET_SIZE, FLEET_SIZE, denseFleet, fleetRand)
+                    .remainingShipCells()));
+
+        // One shot at a time, walking across a big board
+        final ShotOp shots = new ShotOp(1);
+        list.add(new Case("handleAttacks/single-shot", shots,
+                shots::setupNanos));
+
+        // A whole salvo per call
+        final ShotOp salvos = new ShotOp(SALVO);
+        list.add(new Case("fireSalvo/k=" + SALVO, salvos,
+                salvos::setupNanos));
+
+        // Whole games on the engine
+        for (int size : GAME_SIZES) {
+            final RandomGenerator rand = new SplittableRandom(SEED);
+            list.add(new Case("fullGame/" + size + "x" + size,
+                () -> Simulator.playGame(size, Fleet.singles(size), rand)
+                        .turn()));
+        }
+
+        // Rendering into memory instead of the terminal
+        for (int size : RENDER_SIZES) {
+            final Board board = halfPlayed(size);
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final PrintStream out = new PrintStream(bytes, false,
+                    StandardCharsets.UTF_8);
+            list.add(new Case("displayGrid/" + size + "x" + size, () -> {
+                bytes.reset();
+                Battleship.displayGrid(board, true, out);
+                out.flush();
+                return bytes.size();
+            }));
+            list.add(new Case("displayGrid-per-cell/" + size + "x" + size,
+                () -> {
+                    bytes.reset();
+                    printPerCell(board, out);
+                    out.flush();
+                    return bytes.size();
+                }));
+        }
+        return list;
+    }
+
+    /**
+     * Makes a board with ships on a quarter of the cells and half of
+     * the cells fired at, so every kind of cell shows up when drawn.
+     *
+     * @param size board size (size x size)
+     * @return the board
+     */
+    static Board halfPlayed(final int size) {
+        final SplittableRandom rand = new SplittableRandom(SEED);
+        final Board board = Board.random(size, size,
+                size * size / SHIP_SHARE, new SplittableRandom(SEED));
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (rand.nextBoolean()) {
+                    board.fire(i, j);
+                }
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Draws a board the old way, one print per cell, to compare
+     * against the buffered displayGrid.
+     *
+     * @param board the board to draw
+     * @param out   where to print
+     */
+    private static void printPerCell(final Board board,
+                                     final PrintStream out) {
+        for (int i = 0; i < board.rows(); i++) {
+            for (int j = 0; j < board.cols(); j++) {
+                final String cell;
+                if (board.isHit(i, j)) {
+                    cell = Battleship.RED + Battleship.HIT;
+                } else if (board.isMiss(i, j)) {
+                    cell = Battleship.YELLOW + Battleship.MISS;
+                } else if (board.hasShip(i, j)) {
+                    cell = Battleship.GREEN + Battleship.SHIP;
+                } else {
+                    cell = Battleship.CYAN + Battleship.EMPTY;
+                }
+                out.print(cell + Battleship.RESET + " ");
+            }
+            out.println();
+        }
+    }
+
+    /**
+     * Times one case: warm up, then several timed iterations.
+     * Time the case reports as setup is taken off each iteration.
+     *
+     * @param bench the case to time
+     * @return nanoseconds per call for each iteration
+     */
+    private static double[] measure(final Case bench) {
+        runFor(bench.op, WARMUP_NANOS);
+        final double[] results = new double[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            final long setupBefore = bench.setup.getAsLong();
+            final long start = System.nanoTime();
+            final long calls = runFor(bench.op, ITERATION_NANOS);
+            final long elapsed = System.nanoTime() - start
+                    - (bench.setup.getAsLong() - setupBefore);
+            results[i] = (double) elapsed / calls;
+        }
+        return results;
+    }
+
+    /**
+     * Calls an operation over and over for a length of time.
+     *
+     * @param op    the operation
+     * @param nanos how long to keep going
+     * @return number of calls made
+     */
+    private static long runFor(final LongSupplier op, final long nanos) {
+        final long end = System.nanoTime() + nanos;
+        long calls = 0;
+        long total = 0;
+        int batch = 1;
+        long now;
+        do {
+            final long batchStart = System.nanoTime();
+            for (int i = 0; i < batch; i++) {
+                total += op.getAsLong();
+            }
+            calls += batch;
+            now = System.nanoTime();
+
+            // Read the clock less often for fast operations
+            if (batch < MAX_BATCH && now - batchStart < BATCH_NANOS) {
+                batch *= 2;
+            }
+        } while (now < end);
+        sink = total;
+        return calls;
+    }
+
+    /**
+     * Works out the average of some values.
+     *
+     * @param values the values
+     * @return the mean
+     */
+    private static double mean(final double[] values) {
+        double sum = 0;
+        for (double v : values) {
+            sum += v;
+        }
+        return sum / values.length;
+    }
+
+    /**
+     * Works out how spread out some values are.
+     *
+     * @param values the values
+     * @param mean   their mean
+     * @return the sample standard deviation
+     */
+    private static double stdDev(final double[] values, final double mean) {
+        double sum = 0;
+        for (double v : values) {
+            sum += (v - mean) * (v - mean);
+        }
+        return Math.sqrt(sum / Math.max(1, values.length - 1));
+    }
+
+    /**
+     * A named operation to time.
+     */
+    private static final class Case {
+
+        /** Name shown in the results. */
+        private final String name;
+
+        /** The operation (returns a value so it cannot be skipped). */
+        private final LongSupplier op;
+
+        /** Total nanoseconds the operation has spent on setup. */
+        private final LongSupplier setup;
+
+        /**
+         * Creates a case with no setup inside the operation.
+         *
+         * @param caseName name shown in the results
+         * @param caseOp   the operation
+         */
+        Case(final String caseName, final LongSupplier caseOp) {
+            this(caseName, caseOp, () -> 0L);
+        }
+
+        /**
+         * Creates a case whose operation sometimes does untimed setup.
+         *
+         * @param caseName  name shown in the results
+         * @param caseOp    the operation
+         * @param caseSetup total setup nanoseconds so far
+         */
+        Case(final String caseName, final LongSupplier caseOp,
+             final LongSupplier caseSetup) {
+            this.name = caseName;
+            this.op = caseOp;
+            this.setup = caseSetup;
+        }
+    }
+
+    /**
+     * Fires one shot or one salvo per call, moving across a large
+     * board and starting a new board once every cell has been fired
+     * at. Building the new board is counted as setup, not as a shot.
+     */
+    private static final class ShotOp implements LongSupplier {
+
+        /** Random number generator for new boards. */
+        private final RandomGenerator rand = new SplittableRandom(SEED);
+
+        /** Shots per call (1 uses Board.fire). */
+        private final int perCall;
+
+        /** Cells of the salvo. */
+        private final int[] salvo;
+
+        /** Results of the salvo. */
+        private final ShotResult[] results;
+
+        /** Board being fired at. */
+        private Board board = newBoard();
+
+        /** Next cell to fire at. */
+        private int cell;
+
+        /** Nanoseconds spent building new boards. */
+        private long setupTotal;
+
+        /**
+         * Creates the operation.
+         *
+         * @param shots shots fired per call
+         */
+        ShotOp(final int shots) {
+            this.perCall = shots;
+            this.salvo = new int[shots];
+            this.results = new ShotResult[shots];
+        }
+
+        /**
+         * Gets the time spent building new boards.
+         *
+         * @return total setup nanoseconds
+         */
+        long setupNanos() {
+            return setupTotal;
+        }
+
+        /**
+         * Makes a fresh board with ships on half the cells.
+         *
+         * @return the board
+         */
+        private Board newBoard() {
+            return Board.random(SHOT_SIZE, SHOT_SIZE,
+                    SHOT_SIZE * SHOT_SIZE / 2, rand);
+        }
+
+        @Override
+        public long getAsLong() {
+            if (cell + perCall > SHOT_SIZE * SHOT_SIZE) {
+                final long start = System.nanoTime();
+                board = newBoard();
+                cell = 0;
+                setupTotal += System.nanoTime() - start;
+            }
+            if (perCall == 1) {
+                final ShotResult result = board.fire(cell / SHOT_SIZE,
+                        cell % SHOT_SIZE);
+                cell++;
+                return result.ordinal();
+            }
+            for (int i = 0; i < perCall; i++) {
+                salvo[i] = cell++;
+            }
+            return board.fireSalvo(salvo, perCall, results);
+        }
+    }
+}
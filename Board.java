@@ -0,0 +1,416 @@
+import java.nio.ByteBuffer;
+import java.util.random.RandomGenerator;
+
+/**
+ * A Battleship board: ships, hits and misses on a grid of cells.
+ *
+ * Cells are numbered row by row (row * cols + col). Two versions
+ * exist: {@link DenseBoard} keeps a bit per cell, which is fastest
+ * for normal boards, and {@link SparseBoard} only stores the cells
+ * that hold a ship or have been fired at, which is far smaller for a
+ * huge, mostly empty ocean. The factories here pick one from how full
+ * the board will be, and everything else works the same with either.
+ *
+ * Not taught:
+ * Static and default methods in interfaces:
+ * https://docs.oracle.com/javase/tutorial/java/IandI/defaultmethods.html
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public interface Board {
+
+    /** Two-bit code for empty water. */
+    int CODE_EMPTY = 0;
+
+    /** Two-bit code for a ship cell that has not been hit. */
+    int CODE_SHIP = 1;
+
+    /** Two-bit code for a hit. */
+    int CODE_HIT = 2;
+
+    /** Two-bit code for a miss. */
+    int CODE_MISS = 3;
+
+    /**
+     * Smallest board stored sparsely. Dense masks for anything
+     * smaller fit in 24 KB, so there is nothing worth saving.
+     */
+    int SPARSE_MIN_CELLS = 1 << 16;
+
+    /**
+     * A board is stored sparsely when it has more than this many
+     * cells per ship cell. Dense storage costs 3 bits a cell and
+     * sparse storage about 40 bytes a stored cell, so this leaves
+     * room for plenty of shots before sparse would be bigger.
+     */
+    int SPARSE_RATIO = 1024;
+
+    /**
+     * Creates an empty board, sparse or dense depending on how many
+     * ship cells it will hold.
+     *
+     * @param rowCount  number of rows
+     * @param colCount  number of columns
+     * @param shipCells ship cells expected (0 if not known yet)
+     * @return empty board
+     */
+    static Board create(final int rowCount, final int colCount,
+                        final long shipCells) {
+        final long cells = (long) rowCount * colCount;
+        if (cells >= SPARSE_MIN_CELLS && shipCells * SPARSE_RATIO < cells) {
+            return new SparseBoard(rowCount, colCount);
+        }
+        return new DenseBoard(rowCount, colCount);
+    }
+
+    /**
+     * Creates a board and places single-cell ships at random.
+     *
+     * @param rowCount  number of rows
+     * @param colCount  number of columns
+     * @param shipCount number of ships to place
+     * @param rand      random number generator to use
+     * @return board with ships placed
+     */
+    static Board random(final int rowCount, final int colCount,
+                        final int shipCount, final RandomGenerator rand) {
+        final Board board = create(rowCount, colCount, shipCount);
+        ShipPlacer.placeSingles(board, shipCount, rand);
+        return board;
+    }
+
+    /**
+     * Creates a board and places a fleet at random.
+     *
+     * @param rowCount number of rows
+     * @param colCount number of columns
+     * @param fleet    length of every ship
+     * @param rand     random number generator to use
+     * @return board with ships placed
+     */
+    static Board random(final int rowCount, final int colCount,
+                        final int[] fleet, final RandomGenerator rand) {
+        final Board board = create(rowCount, colCount, Fleet.cells(fleet));
+        if (Fleet.allSingles(fleet)) {
+            ShipPlacer.placeSingles(board, fleet.length, rand);
+        } else if (board instanceof SparseBoard) {
+            ShipPlacer.placeScattered(board, fleet, rand);
+        } else {
+            ShipPlacer.placeFleet(board, fleet, rand);
+        }
+        return board;
+    }
+
+    /**
+     * Builds a board from the old String grid format.
+     *
+     * @param grid grid using the symbols from {@link Battleship}
+     * @return board holding the same cells
+     */
+    static Board fromGrid(final String[][] grid) {
+        final Board board = new DenseBoard(grid.length, grid[0].length);
+        for (int i = 0; i < grid.length; i++) {
+            for (int j = 0; j < grid[i].length; j++) {
+                final String cell = grid[i][j];
+                if (cell.equals(Battleship.SHIP)) {
+                    board.placeShip(i, j);
+                } else if (cell.equals(Battleship.HIT)) {
+                    board.placeShip(i, j);
+                    board.fire(i, j);
+                } else if (cell.equals(Battleship.MISS)) {
+                    board.fire(i, j);
+                }
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Counts the SHIP and HIT cells in packed codes.
+     *
+     * @param packed codes as made by packCodes
+     * @return number of ship cells
+     */
+    static long shipCells(final long[] packed) {
+        long count = 0;
+        for (long word : packed) {
+            // SHIP is 01 and HIT is 10: exactly one of the two bits set
+            count += Long.bitCount((word ^ (word >>> 1))
+                    & 0x5555555555555555L);
+        }
+        return count;
+    }
+
+    /**
+     * Converts this board back to the old String grid format.
+     *
+     * @return new grid using the symbols from {@link Battleship}
+     */
+    default String[][] toGrid() {
+        final String[][] grid = new String[rows()][cols()];
+        for (int i = 0; i < grid.length; i++) {
+            for (int j = 0; j < grid[i].length; j++) {
+                grid[i][j] = symbolAt(i, j);
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return rows on the board
+     */
+    int rows();
+
+    /**
+     * Gets the number of columns.
+     *
+     * @return columns on the board
+     */
+    int cols();
+
+    /**
+     * Puts a single-cell ship on the board.
+     *
+     * @param row row of the ship
+     * @param col column of the ship
+     * @return number of the new ship
+     */
+    default int placeShip(final int row, final int col) {
+        return placeShip(row, col, 1, false);
+    }
+
+    /**
+     * Puts a ship on the board, starting at a cell and running across
+     * (or down) for its length.
+     *
+     * @param row      row of the first cell
+     * @param col      column of the first cell
+     * @param length   number of cells
+     * @param vertical true to run down instead of across
+     * @return number of the new ship
+     */
+    int placeShip(int row, int col, int length, boolean vertical);
+
+    /**
+     * Fires at a cell and records the hit or miss.
+     *
+     * @param row row of attack
+     * @param col column of attack
+     * @return what the shot did
+     */
+    ShotResult fire(int row, int col);
+
+    /**
+     * Fires a whole salvo in one call.
+     *
+     * Every cell is checked before any is fired at, so a cell off the
+     * board changes nothing. A cell named twice is a REPEAT the
+     * second time.
+     *
+     * @param cells   cell numbers (row * cols + col) to fire at
+     * @param count   number of cells to use from the array
+     * @param results filled with what each shot did
+     * @return number of ships the salvo sank
+     */
+    int fireSalvo(int[] cells, int count, ShotResult[] results);
+
+    /**
+     * Checks whether every ship cell has been hit.
+     *
+     * @return true if all ships are sunk
+     */
+    default boolean allSunk() {
+        return remainingShipCells() == 0;
+    }
+
+    /**
+     * Gets the number of ship cells that have not been hit.
+     *
+     * @return ship cells still afloat
+     */
+    int remainingShipCells();
+
+    /**
+     * Gets the number of ships that still have an un-hit cell.
+     *
+     * @return ships still afloat
+     */
+    int remainingShips();
+
+    /**
+     * Checks the win condition by looking at the stored cells rather
+     * than the counters. Slower than {@link #allSunk()}; {@link Checks}
+     * uses it to check the counter.
+     *
+     * @return true if no ship cell is left without a hit
+     */
+    boolean allSunkByScan();
+
+    /**
+     * Checks whether a cell holds a ship (hit or not).
+     *
+     * @param row row of the cell
+     * @param col column of the cell
+     * @return true if a ship is there
+     */
+    boolean hasShip(int row, int col);
+
+    /**
+     * Gets the length of the ship covering a cell.
+     *
+     * @param row row of the cell
+     * @param col column of the cell
+     * @return ship length, or 0 if the cell is water
+     */
+    int shipLengthAt(int row, int col);
+
+    /**
+     * Gets the number of ships placed (sunk or not).
+     *
+     * @return ships on the board
+     */
+    int shipCount();
+
+    /**
+     * Gets the first cell of a ship.
+     *
+     * @param ship ship number (0 to shipCount - 1)
+     * @return cell number of the ship's top-left cell
+     */
+    int shipStart(int ship);
+
+    /**
+     * Gets the length of a ship.
+     *
+     * @param ship ship number (0 to shipCount - 1)
+     * @return number of cells
+     */
+    int shipLength(int ship);
+
+    /**
+     * Checks which way a ship runs.
+     *
+     * @param ship ship number (0 to shipCount - 1)
+     * @return true if it runs down, false if across
+     */
+    boolean shipVertical(int ship);
+
+    /**
+     * Checks whether a ship has been sunk.
+     *
+     * @param ship ship number (0 to shipCount - 1)
+     * @return true if every cell has been hit
+     */
+    boolean shipSunk(int ship);
+
+    /**
+     * Packs every cell's two-bit code into longs, 32 cells per long,
+     * cell 0 in the lowest two bits of the first long.
+     *
+     * @return packed codes
+     */
+    long[] packCodes();
+
+    /**
+     * Writes the longs packCodes makes straight into a buffer, from
+     * its position on, and moves the position past them. Longs that
+     * are all water may be skipped, so those bytes must already be
+     * zero, as they are in a new buffer.
+     *
+     * @param out buffer with room for packedLength() longs
+     */
+    default void writeCodes(final ByteBuffer out) {
+        for (long word : packCodes()) {
+            out.putLong(word);
+        }
+    }
+
+    /**
+     * Gets the number of longs packCodes makes for this board: two
+     * for every 64 cells.
+     *
+     * @return packed length
+     */
+    default int packedLength() {
+        return packedLength(rows(), cols());
+    }
+
+    /**
+     * Gets the number of longs packCodes makes for a board of a given
+     * size, for readers that have the size but no board yet.
+     *
+     * @param rows number of rows
+     * @param cols number of columns
+     * @return packed length
+     */
+    static int packedLength(final int rows, final int cols) {
+        return (int) (((long) rows * cols + Long.SIZE - 1)
+                / Long.SIZE) * 2;
+    }
+
+    /**
+     * Restores cells from packed codes (as made by packCodes).
+     *
+     * Ships longer than one cell must already be placed. Any other
+     * SHIP or HIT cell becomes a single-cell ship, then every HIT and
+     * MISS is fired so ship health and the counts match.
+     *
+     * @param packed packed codes
+     */
+    void unpackCodes(long[] packed);
+
+    /**
+     * Checks whether a ship cell has been hit.
+     *
+     * @param row row of the cell
+     * @param col column of the cell
+     * @return true if the cell is a hit
+     */
+    default boolean isHit(final int row, final int col) {
+        return codeAt(row, col) == CODE_HIT;
+    }
+
+    /**
+     * Checks whether a water cell has been fired at.
+     *
+     * @param row row of the cell
+     * @param col column of the cell
+     * @return true if the cell is a miss
+     */
+    default boolean isMiss(final int row, final int col) {
+        return codeAt(row, col) == CODE_MISS;
+    }
+
+    /**
+     * Gets the two-bit code for a cell.
+     *
+     * @param row row of the cell
+     * @param col column of the cell
+     * @return CODE_EMPTY, CODE_SHIP, CODE_HIT or CODE_MISS
+     */
+    int codeAt(int row, int col);
+
+    /**
+     * Gets the old String symbol for a cell.
+     *
+     * @param row row of the cell
+     * @param col column of the cell
+     * @return EMPTY, SHIP, HIT or MISS
+     */
+    default String symbolAt(final int row, final int col) {
+        switch (codeAt(row, col)) {
+            case CODE_HIT:
+                return Battleship.HIT;
+            case CODE_MISS:
+                return Battleship.MISS;
+            case CODE_SHIP:
+                return Battleship.SHIP;
+            default:
+                return Battleship.EMPTY;
+        }
+    }
+}
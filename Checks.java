@@ -0,0 +1,344 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Checks the fast paths against slow, obvious ones over many seeded
+ * random games, as a regression test that needs nothing but the JDK.
+ *
+ * The checks are "win" (the win counters against a scan of the
+ * board), "uniform" (a chi-square test of single-ship placement) and
+ * "resume" (the computer on a huge board never fires at a cell twice,
+ * even across a save and load).
+ * Each prints what it found. If any check fails, the program exits
+ * with status 1, so scripts can run it after a change.
+ *
+ * Usage: java Checks [games] [name filter] [seed]
+ *
+ * Not taught:
+ * Pearson's chi-square test:
+ * https://en.wikipedia.org/wiki/Pearson%27s_chi-squared_test
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class Checks {
+
+    /** Games played by each check when no count is given. */
+    private static final long DEFAULT_GAMES = 2_000_000;
+
+    /** Seed used when none is given, so runs are repeatable. */
+    private static final long DEFAULT_SEED = 42L;
+
+    /** Position of the seed in the arguments. */
+    private static final int SEED_ARG = 2;
+
+    /** Longest side of the boards in the win check. */
+    private static final int MAX_SIDE = 12;
+
+    /** Longest ship in the win check's fleets. */
+    private static final int MAX_LENGTH = 5;
+
+    /** Fleets in the win check cover at most 1 / this of the board. */
+    private static final int FLEET_SHARE = 3;
+
+    /** Most shots per salvo in the win check. */
+    private static final int MAX_SALVO = 5;
+
+    /** One in this many shots goes at a cell already fired at. */
+    private static final int REPEAT_ODDS = 8;
+
+    /**
+     * Boards for the uniformity check, as {rows, cols, ships}: few
+     * ships, nearly full, and a single row.
+     */
+    private static final int[][] UNIFORM_CASES = {
+        {3, 3, 3}, {3, 3, 8}, {4, 4, 2}, {1, 7, 3},
+    };
+
+    /**
+     * Standard normal value exceeded with probability 0.001, which
+     * sets how unlikely a chi-square total must be to fail.
+     */
+    private static final double CRITICAL_Z = 3.090;
+
+    /** Wilson-Hilferty's 2/9, in the chi-square critical value. */
+    private static final double TWO_NINTHS = 2.0 / 9.0;
+
+    /**
+     * Side of the boards in the resume check, big enough that the
+     * computer falls back to random shots that skip used cells.
+     */
+    private static final int RESUME_SIDE = 1100;
+
+    /** Most games played by the resume check, which are slow. */
+    private static final long RESUME_GAMES = 4;
+
+    /** Shots fired in the resume check before and after the save. */
+    private static final int RESUME_SHOTS = 20_000;
+
+    /** Nanoseconds in one second. */
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private Checks() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Entry point of the checks.
+     *
+     * @param args games per check, name filter and seed (all optional)
+     * @throws IOException if the resume check cannot save a game
+     */
+    public static void main(final String[] args) throws IOException {
+        final long games = args.length > 0
+                ? Long.parseLong(args[0]) : DEFAULT_GAMES;
+        final String filter = args.length > 1 ? args[1] : "";
+        final long seed = args.length > SEED_ARG
+                ? Long.parseLong(args[SEED_ARG]) : DEFAULT_SEED;
+
+        boolean passed = true;
+        if ("win".contains(filter)) {
+            passed &= checkWin(games, seed);
+        }
+        if ("uniform".contains(filter)) {
+            passed &= checkUniform(games, seed);
+        }
+        if ("resume".contains(filter)) {
+            passed &= checkResume(Math.min(games, RESUME_GAMES), seed);
+        }
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Plays random games on small dense and sparse boards, single
+     * shots and salvos, and after every shot compares the counters
+     * behind {@link Board#allSunk()} with a full scan of the board.
+     *
+     * @param games number of games
+     * @param seed  seed for the games
+     * @return true if the two always agreed
+     */
+    private static boolean checkWin(final long games, final long seed) {
+        final long started = System.nanoTime();
+        final SplittableRandom rand = new SplittableRandom(seed);
+        final int[] salvo = new int[MAX_SALVO];
+        final ShotResult[] results = new ShotResult[MAX_SALVO];
+        long shots = 0;
+        for (long game = 0; game < games; game++) {
+            final Board board = randomBoard(rand);
+            final int cells = board.rows() * board.cols();
+
+            // Shuffled cells, fired in order, with some repeats
+            final int[] order = new int[cells];
+            for (int i = 0; i < cells; i++) {
+                final int j = rand.nextInt(i + 1);
+                order[i] = order[j];
+                order[j] = i;
+            }
+            int next = 0;
+            while (true) {
+                final boolean scanned = board.allSunkByScan();
+                if (board.allSunk() != scanned) {
+                    System.out.printf("win: FAILED in game %d on a %dx%d"
+                            + " %s: the counters say %s, the scan says"
+                            + " %s%n", game, board.rows(), board.cols(),
+                            board.getClass().getSimpleName(),
+                            board.allSunk(), scanned);
+                    return false;
+                }
+                if (scanned) {
+                    break;
+                }
+                final int count = rand.nextBoolean()
+                        ? 1 : 1 + rand.nextInt(MAX_SALVO);
+                for (int i = 0; i < count; i++) {
+                    final boolean repeat = next == cells
+                            || next > 0 && rand.nextInt(REPEAT_ODDS) == 0;
+                    salvo[i] = repeat
+                            ? order[rand.nextInt(next)] : order[next++];
+                }
+                if (count == 1) {
+                    board.fire(salvo[0] / board.cols(),
+                            salvo[0] % board.cols());
+                } else {
+                    board.fireSalvo(salvo, count, results);
+                }
+                shots += count;
+            }
+        }
+        System.out.printf("win: %d games, %d shots, counters agree with"
+                + " the scan (%.1f s)%n", games, shots,
+                (System.nanoTime() - started) / NANOS_PER_SECOND);
+        return true;
+    }
+
+    /**
+     * Places single-cell ships on tiny boards over and over and runs
+     * a chi-square test on how often each layout comes up. Every
+     * layout of the ships is equally likely if placement is uniform,
+     * so each should turn up games / layouts times give or take
+     * chance. The test fails if the chi-square total is bigger than
+     * chance would give once in a thousand runs.
+     *
+     * @param games placements per board
+     * @param seed  seed for the placements
+     * @return true if every board passed
+     */
+    private static boolean checkUniform(final long games, final long seed) {
+        final SplittableRandom rand = new SplittableRandom(seed);
+        boolean passed = true;
+        for (int[] test : UNIFORM_CASES) {
+            final int rows = test[0];
+            final int cols = test[1];
+            final int ships = test[2];
+            final int cells = rows * cols;
+
+            // Count each layout by its bitmask of ship cells
+            final long[] seen = new long[1 << cells];
+            for (long game = 0; game < games; game++) {
+                final Board board = new DenseBoard(rows, cols);
+                ShipPlacer.placeSingles(board, ships, rand);
+                int layout = 0;
+                for (int cell = 0; cell < cells; cell++) {
+                    if (board.hasShip(cell / cols, cell % cols)) {
+                        layout |= 1 << cell;
+                    }
+                }
+                seen[layout]++;
+            }
+
+            int layouts = 0;
+            long wrong = 0;
+            for (int layout = 0; layout < seen.length; layout++) {
+                if (Integer.bitCount(layout) == ships) {
+                    layouts++;
+                } else {
+                    wrong += seen[layout];
+                }
+            }
+            final double expected = (double) games / layouts;
+            double chiSquare = 0;
+            for (int layout = 0; layout < seen.length; layout++) {
+                if (Integer.bitCount(layout) == ships) {
+                    final double gap = seen[layout] - expected;
+                    chiSquare += gap * gap / expected;
+                }
+            }
+            final double critical = chiSquareCritical(layouts - 1);
+            final boolean ok = wrong == 0 && chiSquare <= critical;
+            System.out.printf("uniform: %dx%d with %d ships, %d layouts,"
+                    + " chi-square %.1f (fails above %.1f)%s%n", rows,
+                    cols, ships, layouts, chiSquare, critical,
+                    ok ? "" : wrong > 0 ? ", FAILED: " + wrong
+                            + " layouts had the wrong ship count"
+                            : ", FAILED");
+            passed &= ok;
+        }
+        return passed;
+    }
+
+    /**
+     * Lets the computer fire at a huge board, saves and loads the
+     * game, teaches a new computer player the shots as the console
+     * game does after a load, and fires again. No shot may come back
+     * as a REPEAT, before or after the load.
+     *
+     * @param games number of games
+     * @param seed  seed for the games
+     * @return true if no cell was fired at twice
+     * @throws IOException if the game cannot be saved or loaded
+     */
+    private static boolean checkResume(final long games, final long seed)
+            throws IOException {
+        final SplittableRandom rand = new SplittableRandom(seed);
+        final Path file = Files.createTempFile("checks", ".sav");
+        try {
+            for (long game = 0; game < games; game++) {
+                GameEngine engine = GameEngine.random(RESUME_SIDE,
+                        RESUME_SIDE, Fleet.classic(), rand);
+                for (int half = 0; half < 2; half++) {
+                    if (half > 0) {
+                        SaveGame.save(file, engine);
+                        engine = SaveGame.load(file);
+                    }
+                    final Board target = engine.board(GameEngine.PLAYER);
+                    final TargetingStrategy ai =
+                            Battleship.enemyStrategy(target, rand);
+                    SaveGame.teach(ai, target);
+                    for (int i = 0; i < RESUME_SHOTS; i++) {
+                        if (engine.fire(GameEngine.ENEMY, ai)
+                                == ShotResult.REPEAT) {
+                            System.out.printf("resume: FAILED in game %d:"
+                                    + " shot %d %s the load was a"
+                                    + " repeat%n", game, i,
+                                    half > 0 ? "after" : "before");
+                            return false;
+                        }
+                    }
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        System.out.printf("resume: %d games of %d shots either side of a"
+                + " load, no cell fired at twice%n", games,
+                RESUME_SHOTS);
+        return true;
+    }
+
+    /**
+     * Works out the chi-square total that chance exceeds once in a
+     * thousand runs, by the Wilson-Hilferty approximation (good to a
+     * fraction of a percent for the sizes used here).
+     *
+     * @param freedom degrees of freedom (layouts less one)
+     * @return critical value
+     */
+    private static double chiSquareCritical(final int freedom) {
+        final double spread = TWO_NINTHS / freedom;
+        final double root = 1 - spread + CRITICAL_Z * Math.sqrt(spread);
+        return freedom * root * root * root;
+    }
+
+    /**
+     * Makes a small board, dense or sparse, holding single-cell ships
+     * or a fleet of mixed lengths.
+     *
+     * @param rand random number generator
+     * @return board with ships placed
+     */
+    private static Board randomBoard(final SplittableRandom rand) {
+        final int rows = 1 + rand.nextInt(MAX_SIDE);
+        final int cols = 1 + rand.nextInt(MAX_SIDE);
+        final int cells = rows * cols;
+        final boolean sparse = rand.nextBoolean();
+        final Board board = sparse
+                ? new SparseBoard(rows, cols) : new DenseBoard(rows, cols);
+        if (rand.nextBoolean()) {
+            ShipPlacer.placeSingles(board, 1 + rand.nextInt(cells), rand);
+            return board;
+        }
+
+        // Mixed lengths filling at most a third of the board
+        final int longest = Math.min(MAX_LENGTH, Math.max(rows, cols));
+        final int[] fleet = new int[1 + rand.nextInt(
+                Math.max(1, cells / FLEET_SHARE / longest))];
+        for (int s = 0; s < fleet.length; s++) {
+            fleet[s] = 1 + rand.nextInt(longest);
+        }
+        if (sparse) {
+            ShipPlacer.placeScattered(board, fleet, rand);
+        } else {
+            ShipPlacer.placeFleet(board, fleet, rand);
+        }
+        return board;
+    }
+}
@@ -0,0 +1,445 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * {@link Board} stored as packed bitmasks.
+ *
+ * Every cell gets one bit in each of three masks (ships, hits and
+ * misses), so a shot is a couple of bitwise operations instead of
+ * String compares. Cells are numbered row by row and the masks use
+ * as many 64-bit words as the board needs.
+ *
+ * The board also keeps a count of ship cells still afloat and the
+ * health of each ship, both updated on every hit, so checking for a
+ * win never has to look at the whole board.
+ *
+ * Not taught:
+ * Bitwise operators (&amp;, |, ~, &lt;&lt;):
+ * https://docs.oracle.com/javase/tutorial/java/nutsandbolts/op3.html
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class DenseBoard implements Board {
+
+    /** Shift that turns a cell number into a word number (2^6 = 64). */
+    private static final int WORD_SHIFT = 6;
+
+    /** Starting size of the ship health array. */
+    private static final int INITIAL_SHIPS = 8;
+
+    /** Number of rows on the board. */
+    private final int rows;
+
+    /** Number of columns on the board. */
+    private final int cols;
+
+    /** One bit per cell that holds a ship. */
+    private final long[] ships;
+
+    /** One bit per ship cell that has been hit. */
+    private final long[] hits;
+
+    /** One bit per water cell that has been fired at. */
+    private final long[] misses;
+
+    /** Ship number for each ship cell, keyed by cell number. */
+    private final LongIntMap shipAt = new LongIntMap();
+
+    /** Cells left un-hit for each ship, indexed by ship number. */
+    private int[] health = new int[INITIAL_SHIPS];
+
+    /** Length of each ship, indexed by ship number. */
+    private int[] lengths = new int[INITIAL_SHIPS];
+
+    /** First cell of each ship, indexed by ship number. */
+    private int[] starts = new int[INITIAL_SHIPS];
+
+    /** Whether each ship runs down, indexed by ship number. */
+    private boolean[] verticals = new boolean[INITIAL_SHIPS];
+
+    /** Number of ships placed. */
+    private int shipCount;
+
+    /** Ship cells that have not been hit yet. */
+    private int remaining;
+
+    /** Ships that still have an un-hit cell. */
+    private int afloat;
+
+    /**
+     * Creates an empty board (all water, nothing fired at).
+     *
+     * @param rowCount number of rows
+     * @param colCount number of columns
+     */
+    public DenseBoard(final int rowCount, final int colCount) {
+        if (rowCount <= 0 || colCount <= 0) {
+            throw new IllegalArgumentException("Board size must be positive");
+        }
+        this.rows = rowCount;
+        this.cols = colCount;
+        final int words = wordCount((long) rowCount * colCount);
+        this.ships = new long[words];
+        this.hits = new long[words];
+        this.misses = new long[words];
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int cols() {
+        return cols;
+    }
+
+    @Override
+    public int placeShip(final int row, final int col, final int length,
+                         final boolean vertical) {
+        final int endRow = vertical ? row + length - 1 : row;
+        final int endCol = vertical ? col : col + length - 1;
+        index(endRow, endCol);
+        final int step = vertical ? cols : 1;
+        final int start = index(row, col);
+        for (int k = 0, cell = start; k < length; k++, cell += step) {
+            if (isSet(ships, cell)) {
+                throw new IllegalArgumentException("Ship already at ("
+                        + cell / cols + ", " + cell % cols + ")");
+            }
+        }
+
+        if (shipCount == health.length) {
+            health = Arrays.copyOf(health, shipCount * 2);
+            lengths = Arrays.copyOf(lengths, shipCount * 2);
+            starts = Arrays.copyOf(starts, shipCount * 2);
+            verticals = Arrays.copyOf(verticals, shipCount * 2);
+        }
+        final int ship = shipCount++;
+        for (int k = 0, cell = start; k < length; k++, cell += step) {
+            ships[cell >>> WORD_SHIFT] |= 1L << cell;
+            shipAt.put(cell, ship);
+        }
+        health[ship] = length;
+        lengths[ship] = length;
+        starts[ship] = start;
+        verticals[ship] = vertical && length > 1;
+        remaining += length;
+        afloat++;
+        return ship;
+    }
+
+    @Override
+    public ShotResult fire(final int row, final int col) {
+        return fireAt(index(row, col));
+    }
+
+    /**
+     * Fires a whole salvo in one call, each shot through the same
+     * code as {@link #fire}.
+     *
+     * @param cells   cell numbers (row * cols + col) to fire at
+     * @param count   number of cells to use from the array
+     * @param results filled with what each shot did
+     * @return number of ships the salvo sank
+     */
+    @Override
+    public int fireSalvo(final int[] cells, final int count,
+                         final ShotResult[] results) {
+        final int size = rows * cols;
+        for (int i = 0; i < count; i++) {
+            if (cells[i] < 0 || cells[i] >= size) {
+                throw new IndexOutOfBoundsException(
+                        "Cell " + cells[i] + " is off the board");
+            }
+        }
+
+        int sunkCount = 0;
+        for (int i = 0; i < count; i++) {
+            results[i] = fireAt(cells[i]);
+            if (results[i] == ShotResult.SUNK) {
+                sunkCount++;
+            }
+        }
+        return sunkCount;
+    }
+
+    /**
+     * Fires at a cell that is known to be on the board and records
+     * the hit or miss.
+     *
+     * @param cell cell number
+     * @return what the shot did
+     */
+    private ShotResult fireAt(final int cell) {
+        final int word = cell >>> WORD_SHIFT;
+        final long bit = 1L << cell;
+
+        if (((hits[word] | misses[word]) & bit) != 0) {
+            return ShotResult.REPEAT;
+        }
+        if ((ships[word] & bit) != 0) {
+            hits[word] |= bit;
+            remaining--;
+            final int ship = shipAt.get(cell);
+            health[ship]--;
+            if (health[ship] == 0) {
+                afloat--;
+                return ShotResult.SUNK;
+            }
+            return ShotResult.HIT;
+        }
+        misses[word] |= bit;
+        return ShotResult.MISS;
+    }
+
+    @Override
+    public int remainingShipCells() {
+        return remaining;
+    }
+
+    @Override
+    public int remainingShips() {
+        return afloat;
+    }
+
+    /**
+     * Checks the win condition by scanning every word of the masks.
+     * Slower than {@link #allSunk()}, useful for checking the counter.
+     *
+     * @return true if no ship bit is left without a hit bit
+     */
+    @Override
+    public boolean allSunkByScan() {
+        for (int i = 0; i < ships.length; i++) {
+            if ((ships[i] & ~hits[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean hasShip(final int row, final int col) {
+        return isSet(ships, index(row, col));
+    }
+
+    @Override
+    public int shipLengthAt(final int row, final int col) {
+        final int ship = shipAt.get(index(row, col));
+        return ship == LongIntMap.MISSING ? 0 : lengths[ship];
+    }
+
+    @Override
+    public int shipCount() {
+        return shipCount;
+    }
+
+    @Override
+    public int shipStart(final int ship) {
+        return starts[ship];
+    }
+
+    @Override
+    public int shipLength(final int ship) {
+        return lengths[ship];
+    }
+
+    @Override
+    public boolean shipVertical(final int ship) {
+        return verticals[ship];
+    }
+
+    @Override
+    public boolean shipSunk(final int ship) {
+        return health[ship] == 0;
+    }
+
+    /**
+     * Packs every cell's two-bit code into longs, 32 cells per long,
+     * cell 0 in the lowest two bits of the first long.
+     *
+     * Works on 64 cells at a time: the low and high code bits for a
+     * word of cells are worked out with a few mask operations, then
+     * interleaved into two longs.
+     *
+     * @return packed codes (two longs per mask word)
+     */
+    @Override
+    public long[] packCodes() {
+        final long[] packed = new long[packedLength()];
+        for (int w = 0; w < ships.length; w++) {
+            packed[2 * w] = packWord(w, 0);
+            packed[2 * w + 1] = packWord(w, Integer.SIZE);
+        }
+        return packed;
+    }
+
+    /**
+     * Writes the packed codes without making the array first. Mask
+     * words with no ship and no shot are skipped, which on a big
+     * board is nearly all of them.
+     *
+     * @param out buffer with room for packedLength() longs
+     */
+    @Override
+    public void writeCodes(final ByteBuffer out) {
+        final int start = out.position();
+        for (int w = 0; w < ships.length; w++) {
+            if ((ships[w] | misses[w]) != 0) {
+                final int at = start + 2 * w * Long.BYTES;
+                out.putLong(at, packWord(w, 0));
+                out.putLong(at + Long.BYTES, packWord(w, Integer.SIZE));
+            }
+        }
+        out.position(start + packedLength() * Long.BYTES);
+    }
+
+    /**
+     * Packs the codes of half a mask word of cells into one long.
+     *
+     * @param w     mask word
+     * @param shift 0 for the first 32 cells, 32 for the rest
+     * @return packed codes of those cells
+     */
+    private long packWord(final int w, final int shift) {
+        // EMPTY 00, SHIP 01, HIT 10, MISS 11 (high bit, low bit)
+        final long low = (ships[w] & ~hits[w]) | misses[w];
+        final long high = hits[w] | misses[w];
+        return spread(low >>> shift) | (spread(high >>> shift) << 1);
+    }
+
+    @Override
+    public void unpackCodes(final long[] packed) {
+        if (packed.length != packedLength()) {
+            throw new IllegalArgumentException("Packed size does not match");
+        }
+        for (int w = 0; w < ships.length; w++) {
+            final long first = packed[2 * w];
+            final long second = packed[2 * w + 1];
+            final long low = squeeze(first)
+                    | (squeeze(second) << Integer.SIZE);
+            final long high = squeeze(first >>> 1)
+                    | (squeeze(second >>> 1) << Integer.SIZE);
+            final long shipBits = (low & ~high) | (high & ~low);
+            final long shotBits = high;
+            if ((ships[w] & ~shipBits) != 0) {
+                throw new IllegalArgumentException(
+                        "Packed cells do not match the ships");
+            }
+
+            long singles = shipBits & ~ships[w];
+            while (singles != 0) {
+                final int cell = (w << WORD_SHIFT)
+                        + Long.numberOfTrailingZeros(singles);
+                placeShip(cell / cols, cell % cols);
+                singles &= singles - 1;
+            }
+
+            // Fire at each newly shot cell so health stays right
+            long fresh = shotBits & ~(hits[w] | misses[w]);
+            while (fresh != 0) {
+                final int cell = (w << WORD_SHIFT)
+                        + Long.numberOfTrailingZeros(fresh);
+                fire(cell / cols, cell % cols);
+                fresh &= fresh - 1;
+            }
+        }
+    }
+
+    /**
+     * Moves the low 32 bits of a value to the even bit positions.
+     *
+     * @param value bits to spread (only the low 32 are used)
+     * @return spread bits
+     */
+    private static long spread(final long value) {
+        long x = value & 0xFFFFFFFFL;
+        x = (x | (x << 16)) & 0x0000FFFF0000FFFFL;
+        x = (x | (x << 8)) & 0x00FF00FF00FF00FFL;
+        x = (x | (x << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        x = (x | (x << 2)) & 0x3333333333333333L;
+        x = (x | (x << 1)) & 0x5555555555555555L;
+        return x;
+    }
+
+    /**
+     * Gathers the even bit positions back into the low 32 bits
+     * (the reverse of spread).
+     *
+     * @param value spread bits
+     * @return squeezed bits
+     */
+    private static long squeeze(final long value) {
+        long x = value & 0x5555555555555555L;
+        x = (x | (x >>> 1)) & 0x3333333333333333L;
+        x = (x | (x >>> 2)) & 0x0F0F0F0F0F0F0F0FL;
+        x = (x | (x >>> 4)) & 0x00FF00FF00FF00FFL;
+        x = (x | (x >>> 8)) & 0x0000FFFF0000FFFFL;
+        x = (x | (x >>> 16)) & 0x00000000FFFFFFFFL;
+        return x;
+    }
+
+    @Override
+    public boolean isHit(final int row, final int col) {
+        return isSet(hits, index(row, col));
+    }
+
+    @Override
+    public boolean isMiss(final int row, final int col) {
+        return isSet(misses, index(row, col));
+    }
+
+    @Override
+    public int codeAt(final int row, final int col) {
+        final int cell = index(row, col);
+        final int word = cell >>> WORD_SHIFT;
+        final long bit = 1L << cell;
+        if ((hits[word] & bit) != 0) {
+            return CODE_HIT;
+        } else if ((misses[word] & bit) != 0) {
+            return CODE_MISS;
+        } else if ((ships[word] & bit) != 0) {
+            return CODE_SHIP;
+        }
+        return CODE_EMPTY;
+    }
+
+    /**
+     * Turns a row and column into a cell number, checking bounds.
+     *
+     * @param row row of the cell
+     * @param col column of the cell
+     * @return cell number (row * cols + col)
+     */
+    private int index(final int row, final int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException(
+                    "Cell (" + row + ", " + col + ") is off the board");
+        }
+        return row * cols + col;
+    }
+
+    /**
+     * Reads one bit from a mask.
+     *
+     * @param mask the mask to read
+     * @param cell the cell number
+     * @return true if the bit is set
+     */
+    private static boolean isSet(final long[] mask, final int cell) {
+        return (mask[cell >>> WORD_SHIFT] & (1L << cell)) != 0;
+    }
+
+    /**
+     * Works out how many 64-bit words are needed for a number of cells.
+     *
+     * @param cells number of cells
+     * @return number of words
+     */
+    private static int wordCount(final long cells) {
+        return (int) ((cells + Long.SIZE - 1) >>> WORD_SHIFT);
+    }
+}
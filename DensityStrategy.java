@@ -0,0 +1,409 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Fires where the remaining ships are most likely to be.
+ *
+ * For every cell it keeps a count of how many ways a remaining ship
+ * could be placed over that cell without touching a miss or a sunk
+ * ship. Only the placements through a newly fired cell change after a
+ * shot, so the counts are patched instead of rebuilt. The placements
+ * of each ship length are also kept on their own, so a sinking only
+ * takes away that length's share. Once a ship has been hit but not
+ * sunk, only placements through the live hits count.
+ *
+ * Not taught:
+ * Probability density targeting:
+ * https://www.datagenetics.com/blog/december32011/
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class DensityStrategy implements TargetingStrategy {
+
+    /** What has been learned about the target board. */
+    private final Knowledge know;
+
+    /** Placements over each cell, weighted by ships left. */
+    private final int[] density;
+
+    /**
+     * Placements over each cell for each ship length, or null for
+     * lengths with no ships left.
+     */
+    private final int[][] placements;
+
+    /** Scratch scores used while targeting live hits. */
+    private final int[] score;
+
+    /** Cells given a scratch score, so they can be reset. */
+    private final int[] touched;
+
+    /** Number of entries used in touched. */
+    private int touchedCount;
+
+    /** Random number generator used to break ties. */
+    private final RandomGenerator rand;
+
+    /**
+     * Creates a density shooter for a board and fleet.
+     *
+     * @param rows       number of rows
+     * @param cols       number of columns
+     * @param fleet      length of every ship on the target board
+     * @param randomizer random number generator for breaking ties
+     */
+    public DensityStrategy(final int rows, final int cols,
+                           final int[] fleet,
+                           final RandomGenerator randomizer) {
+        this.know = new Knowledge(rows, cols, fleet);
+        this.density = new int[rows * cols];
+        this.placements = new int[know.maxLength() + 1][];
+        this.score = new int[rows * cols];
+        this.touched = new int[rows * cols];
+        this.rand = randomizer;
+
+        for (int length = 1; length <= know.maxLength(); length++) {
+            if (know.fleetCount(length) > 0) {
+                addAll(length);
+            }
+        }
+    }
+
+    /**
+     * Gets the current count for a cell (for display and checks).
+     *
+     * @param cell cell number
+     * @return weighted placements over the cell
+     */
+    public int density(final int cell) {
+        return density[cell];
+    }
+
+    @Override
+    public int nextShot() {
+        if (know.liveHitCount() > 0) {
+            final int target = bestTarget();
+            if (target >= 0) {
+                return target;
+            }
+        }
+        return best(density);
+    }
+
+    @Override
+    public void record(final int row, final int col,
+                       final ShotResult result, final int sunkLength) {
+        final int cell = row * know.cols() + col;
+        if (!know.isUnknown(cell)) {
+            return;
+        }
+        if (result == ShotResult.MISS) {
+            block(cell);
+            know.markMiss(cell);
+        } else if (result == ShotResult.HIT) {
+            know.markHit(cell);
+        } else if (result == ShotResult.SUNK || result == ShotResult.WIN) {
+            know.markHit(cell);
+
+            // One fewer ship of this length can be anywhere
+            removeOne(sunkLength);
+
+            // Its cells can no longer hold any other ship
+            for (int part : know.sunkCells(cell, sunkLength)) {
+                block(part);
+                know.markSunk(part);
+            }
+        }
+    }
+
+    /**
+     * Picks the unknown cell with the highest score.
+     *
+     * @param scores score for every cell
+     * @return best cell, ties broken at random, or -1 if none
+     */
+    private int best(final int[] scores) {
+        int bestCell = -1;
+        int bestScore = -1;
+        int ties = 0;
+        for (int cell = 0; cell < scores.length; cell++) {
+            if (!know.isUnknown(cell)) {
+                continue;
+            }
+            if (scores[cell] > bestScore) {
+                bestScore = scores[cell];
+                bestCell = cell;
+                ties = 1;
+            } else if (scores[cell] == bestScore
+                    && rand.nextInt(++ties) == 0) {
+                bestCell = cell;
+            }
+        }
+        return bestCell;
+    }
+
+    /**
+     * Picks the best cells for a salvo: the best cells next to live
+     * hits first, then the densest unknown cells.
+     *
+     * @param cells filled with the cell numbers
+     * @param count most cells wanted
+     * @return number of cells picked
+     */
+    @Override
+    public int nextSalvo(final int[] cells, final int count) {
+        int picked = 0;
+        if (know.liveHitCount() > 0) {
+            scoreTargets();
+            picked = addBest(score, touched, touchedCount, cells, 0, count);
+            for (int i = 0; i < touchedCount; i++) {
+                score[touched[i]] = 0;
+            }
+            touchedCount = 0;
+        }
+        picked = addBest(density, null, density.length, cells, picked,
+                count);
+        return picked;
+    }
+
+    /**
+     * Adds the highest scoring unknown cells to a salvo in one pass,
+     * keeping the best so far in a short sorted list. Ties are broken
+     * at random.
+     *
+     * @param scores     score for every cell
+     * @param candidates cells to look at, or null for every cell
+     * @param candidateCount number of candidates
+     * @param salvo      salvo being filled
+     * @param picked     cells already in the salvo
+     * @param count      cells wanted in the salvo
+     * @return cells in the salvo now
+     */
+    private int addBest(final int[] scores, final int[] candidates,
+                        final int candidateCount, final int[] salvo,
+                        final int picked, final int count) {
+        final int wanted = count - picked;
+        if (wanted <= 0) {
+            return picked;
+        }
+        // Keys are score then a random number, best first
+        final long[] keys = new long[wanted];
+        int kept = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            final int cell = candidates == null ? i : candidates[i];
+            if (!know.isUnknown(cell)) {
+                continue;
+            }
+            final long key = ((long) scores[cell] << Integer.SIZE)
+                    | (rand.nextInt() & 0xFFFFFFFFL);
+            if ((kept == wanted && key <= keys[kept - 1])
+                    || contains(salvo, picked, cell)) {
+                continue;
+            }
+            int at = kept < wanted ? kept++ : kept - 1;
+            while (at > 0 && keys[at - 1] < key) {
+                keys[at] = keys[at - 1];
+                salvo[picked + at] = salvo[picked + at - 1];
+                at--;
+            }
+            keys[at] = key;
+            salvo[picked + at] = cell;
+        }
+        return picked + kept;
+    }
+
+    /**
+     * Checks whether a cell is already in the first part of a salvo.
+     *
+     * @param salvo the salvo
+     * @param count cells to look at
+     * @param cell  the cell
+     * @return true if it is there
+     */
+    private static boolean contains(final int[] salvo, final int count,
+                                    final int cell) {
+        for (int i = 0; i < count; i++) {
+            if (salvo[i] == cell) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Scores unknown cells by placements that also cover live hits
+     * and picks the best one.
+     *
+     * @return best cell next to the live hits, or -1 if none
+     */
+    private int bestTarget() {
+        scoreTargets();
+
+        // Pick the best touched cell and reset the scratch scores
+        int bestCell = -1;
+        int bestScore = 0;
+        int ties = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            final int cell = touched[i];
+            if (score[cell] > bestScore) {
+                bestScore = score[cell];
+                bestCell = cell;
+                ties = 1;
+            } else if (score[cell] == bestScore
+                    && rand.nextInt(++ties) == 0) {
+                bestCell = cell;
+            }
+            score[cell] = 0;
+        }
+        touchedCount = 0;
+        return bestCell;
+    }
+
+    /**
+     * Gives every unknown cell a scratch score for the placements
+     * through it that also cover live hits, listing the cells scored
+     * in touched.
+     */
+    private void scoreTargets() {
+        final int cols = know.cols();
+        for (int i = 0; i < know.liveHitCount(); i++) {
+            final int hit = know.liveHit(i);
+            for (int length = 2; length <= know.maxLength(); length++) {
+                final int weight = know.fleetCount(length);
+                if (weight == 0) {
+                    continue;
+                }
+                for (int k = 0; k < length; k++) {
+                    // Placements with the hit as their k-th cell
+                    if (hit % cols >= k) {
+                        addIfFits(hit - k, length, false, weight);
+                    }
+                    if (hit / cols >= k) {
+                        addIfFits(hit - k * cols, length, true, weight);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a scratch score to every unknown cell of a placement, if
+     * the placement fits.
+     *
+     * @param start    first cell of the placement
+     * @param length   ship length
+     * @param vertical true if the ship runs down
+     * @param weight   amount to add
+     */
+    private void addIfFits(final int start, final int length,
+                           final boolean vertical, final int weight) {
+        if (!know.fits(start, length, vertical)) {
+            return;
+        }
+        final int step = vertical ? know.cols() : 1;
+        for (int k = 0, cell = start; k < length; k++, cell += step) {
+            if (know.isUnknown(cell)) {
+                if (score[cell] == 0) {
+                    touched[touchedCount++] = cell;
+                }
+                score[cell] += weight;
+            }
+        }
+    }
+
+    /**
+     * Counts every placement of a length on the board and adds them,
+     * weighted by the ships of that length, to the density.
+     *
+     * @param length ship length
+     */
+    private void addAll(final int length) {
+        final int[] placed = new int[density.length];
+        placements[length] = placed;
+        final int weight = know.fleetCount(length);
+        for (int start = 0; start < density.length; start++) {
+            addPlacement(start, length, false, placed, weight);
+            if (length > 1) {
+                addPlacement(start, length, true, placed, weight);
+            }
+        }
+    }
+
+    /**
+     * Takes one ship of a length off the fleet and its placements off
+     * the density.
+     *
+     * @param length length of the sunk ship
+     */
+    private void removeOne(final int length) {
+        if (length <= 0 || length > know.maxLength()
+                || placements[length] == null) {
+            return;
+        }
+        final int[] placed = placements[length];
+        for (int cell = 0; cell < density.length; cell++) {
+            density[cell] -= placed[cell];
+        }
+        know.removeShip(length);
+        if (know.fleetCount(length) == 0) {
+            // Nothing of this length is left to keep counts for
+            placements[length] = null;
+        }
+    }
+
+    /**
+     * Takes away every placement over a cell that is about to become
+     * blocked (a miss or part of a sunk ship).
+     *
+     * @param cell the cell
+     */
+    private void block(final int cell) {
+        if (know.isBlocked(cell)) {
+            return;
+        }
+        final int cols = know.cols();
+        for (int length = 1; length <= know.maxLength(); length++) {
+            final int[] placed = placements[length];
+            if (placed == null) {
+                continue;
+            }
+            final int weight = -know.fleetCount(length);
+            for (int k = 0; k < length; k++) {
+                if (cell % cols >= k) {
+                    addPlacement(cell - k, length, false, placed, weight);
+                }
+                if (length > 1 && cell / cols >= k) {
+                    addPlacement(cell - k * cols, length, true, placed,
+                            weight);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds or takes away one placement, if it fits. Every cell it
+     * covers gains one placement of its length (or loses one, for a
+     * negative weight) and the weight is added to the density.
+     *
+     * @param start    first cell of the placement
+     * @param length   ship length
+     * @param vertical true if the ship runs down
+     * @param placed   placements over each cell for this length
+     * @param weight   amount to add to the density (negative to take
+     *                 away)
+     */
+    private void addPlacement(final int start, final int length,
+                              final boolean vertical, final int[] placed,
+                              final int weight) {
+        if (!know.fits(start, length, vertical)) {
+            return;
+        }
+        final int step = vertical ? know.cols() : 1;
+        final int sign = Integer.signum(weight);
+        for (int k = 0, cell = start; k < length; k++, cell += step) {
+            placed[cell] += sign;
+            density[cell] += weight;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Redraws a board in place, sending only the cells that changed.
+ *
+ * The first frame draws every cell at a fixed spot on the screen.
+ * After that the renderer compares each cell with the last frame and
+ * only sends a cursor move plus the new colored cell where something
+ * changed, so a turn costs a few bytes instead of the whole board.
+ * The cursor is saved and restored around each update, so text being
+ * typed below the boards is not disturbed.
+ *
+ * Not taught:
+ * ANSI cursor movement and scroll regions:
+ * https://en.wikipedia.org/wiki/ANSI_escape_code
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class DiffRenderer {
+
+    /** Start of a control sequence. */
+    private static final String CSI = "\u001B[";
+
+    /** Clears the screen and moves the cursor to the top left. */
+    public static final String CLEAR_SCREEN = CSI + "2J" + CSI + "H";
+
+    /** Puts the scroll region back to the whole screen. */
+    public static final String RESET_SCROLL = CSI + "r";
+
+    /** Moves the cursor to the bottom line (the terminal clamps it). */
+    public static final String TO_BOTTOM = CSI + "999;1H";
+
+    /** Saves the cursor position. */
+    private static final byte[] SAVE = ascii("\u001B7");
+
+    /** Restores the saved cursor position. */
+    private static final byte[] RESTORE = ascii("\u001B8");
+
+    /** Screen columns used by each cell ("S "). */
+    private static final int CELL_WIDTH = 2;
+
+    /** Room for one cursor move ("ESC[rrrrr;cccccH"). */
+    private static final int MOVE_BYTES = 16;
+
+    /** Base for printing numbers. */
+    private static final int TEN = 10;
+
+    /** Marks a cell that has not been drawn yet. */
+    private static final byte NOT_DRAWN = -1;
+
+    /** Screen row of the board's first row (1 is the top). */
+    private final int top;
+
+    /** Screen column of the board's first column (1 is the left). */
+    private final int left;
+
+    /** Code of every cell in the window as last drawn. */
+    private byte[] last = new byte[0];
+
+    /** Top row of the window last drawn. */
+    private int lastRow;
+
+    /** Left column of the window last drawn. */
+    private int lastCol;
+
+    /** The update being built. */
+    private byte[] buffer = new byte[MOVE_BYTES];
+
+    /** Bytes of the update used so far. */
+    private int length;
+
+    /**
+     * Creates a renderer for a board drawn at a fixed screen spot.
+     *
+     * @param screenRow screen row of the top of the board (from 1)
+     * @param screenCol screen column of the left of the board (from 1)
+     */
+    public DiffRenderer(final int screenRow, final int screenCol) {
+        this.top = screenRow;
+        this.left = screenCol;
+    }
+
+    /**
+     * Builds the control sequence that keeps the lines above a row
+     * fixed, so only the lines from that row down scroll.
+     *
+     * @param row first row that scrolls (from 1)
+     * @return the control sequence
+     */
+    public static String scrollFrom(final int row) {
+        return CSI + row + "r";
+    }
+
+    /**
+     * Builds the control sequence that moves the cursor.
+     *
+     * @param row screen row (from 1)
+     * @param col screen column (from 1)
+     * @return the control sequence
+     */
+    public static String moveTo(final int row, final int col) {
+        return CSI + row + ";" + col + "H";
+    }
+
+    /**
+     * Draws the cells that changed since the last update (every cell
+     * the first time) and writes them with one call.
+     *
+     * @param board     the board to draw
+     * @param showShips true if ships should be visible
+     * @param out       where to write
+     * @return number of bytes written
+     */
+    public int update(final Board board, final boolean showShips,
+                      final PrintStream out) {
+        return update(board, showShips, 0, 0, board.rows(), board.cols(),
+                out);
+    }
+
+    /**
+     * Draws the cells of a window onto the board that changed since
+     * the last update. Moving the window redraws every cell in it.
+     *
+     * @param board     the board to draw
+     * @param showShips true if ships should be visible
+     * @param firstRow  top row of the window
+     * @param firstCol  left column of the window
+     * @param rowCount  rows in the window
+     * @param colCount  columns in the window
+     * @param out       where to write
+     * @return number of bytes written
+     */
+    public int update(final Board board, final boolean showShips,
+                      final int firstRow, final int firstCol,
+                      final int rowCount, final int colCount,
+                      final PrintStream out) {
+        final int rows = Math.min(rowCount, board.rows() - firstRow);
+        final int cols = Math.min(colCount, board.cols() - firstCol);
+        if (last.length != rows * cols || firstRow != lastRow
+                || firstCol != lastCol) {
+            last = new byte[rows * cols];
+            Arrays.fill(last, NOT_DRAWN);
+            lastRow = firstRow;
+            lastCol = firstCol;
+        }
+
+        length = 0;
+        append(SAVE);
+        int cell = 0;
+        int nextCell = -1; // cell the cursor is sitting on, if any
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++, cell++) {
+                int code = board.codeAt(firstRow + i, firstCol + j);
+                if (code == Board.CODE_SHIP && !showShips) {
+                    code = Board.CODE_EMPTY;
+                }
+                if (last[cell] == code) {
+                    continue;
+                }
+                last[cell] = (byte) code;
+
+                // Skip the move if the last cell drawn was just before
+                if (cell != nextCell) {
+                    appendMove(top + i, left + j * CELL_WIDTH);
+                }
+                append(GridRenderer.token(code));
+                nextCell = j + 1 < cols ? cell + 1 : -1;
+            }
+        }
+        append(RESTORE);
+
+        // Nothing but the save and restore means nothing changed
+        if (length == SAVE.length + RESTORE.length) {
+            return 0;
+        }
+        out.write(buffer, 0, length);
+        out.flush();
+        return length;
+    }
+
+    /**
+     * Adds a cursor move to the update.
+     *
+     * @param row screen row
+     * @param col screen column
+     */
+    private void appendMove(final int row, final int col) {
+        ensure(MOVE_BYTES);
+        buffer[length++] = '\u001B';
+        buffer[length++] = '[';
+        appendNumber(row);
+        buffer[length++] = ';';
+        appendNumber(col);
+        buffer[length++] = 'H';
+    }
+
+    /**
+     * Adds a positive number as text without making a String.
+     *
+     * @param value the number
+     */
+    private void appendNumber(final int value) {
+        int digits = 1;
+        for (int v = value; v >= TEN; v /= TEN) {
+            digits++;
+        }
+        int v = value;
+        for (int d = digits - 1; d >= 0; d--) {
+            buffer[length + d] = (byte) ('0' + v % TEN);
+            v /= TEN;
+        }
+        length += digits;
+    }
+
+    /**
+     * Adds some bytes to the update.
+     *
+     * @param bytes the bytes
+     */
+    private void append(final byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    /**
+     * Grows the buffer if more bytes need to fit.
+     *
+     * @param extra bytes about to be added
+     */
+    private void ensure(final int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer,
+                    Math.max(length + extra, buffer.length * 2));
+        }
+    }
+
+    /**
+     * Turns plain text into bytes.
+     *
+     * @param text the text
+     * @return ASCII bytes
+     */
+    private static byte[] ascii(final String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,595 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Works out the best shot exactly once few enough fleets are left
+ * that fit what a shooter knows.
+ *
+ * First every placement of the ships still afloat is listed: none
+ * covers a miss or a sunk ship, no two overlap, and together they
+ * cover every live hit. Ships of the same length are placed in order,
+ * so no fleet is listed twice. If there are more than the limit,
+ * solving is not tried. Listing and searching both stop at a
+ * deadline, and then no shot is given.
+ *
+ * Each fleet is taken as equally likely. A shot splits the fleets by
+ * what it would report (miss, hit, sunk and which length, or win), and
+ * the best shot is the one that leaves the fewest shots still to fire,
+ * added up over every fleet. The search tries the shots most likely
+ * to hit first and drops a shot as soon as its total cannot beat the
+ * best so far, since each fleet needs at least one shot per ship cell
+ * not yet fired at.
+ *
+ * Only the cells some fleet covers are worth firing at, so they are
+ * numbered 0, 1, 2, ... and positions are bitboards over just those
+ * cells. Positions reached by firing the same cells in a different
+ * order are the same, so results are kept in a transposition table
+ * keyed by a Zobrist hash of the cells fired and the fleets left.
+ *
+ * Not taught:
+ * Zobrist hashing:
+ * https://en.wikipedia.org/wiki/Zobrist_hashing
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class EndgameSolver {
+
+    /** Most placement checks spent listing fleets before giving up. */
+    private static final long LIST_STEPS = 2_000_000;
+
+    /** Most positions searched before giving up. */
+    private static final long SEARCH_NODES = 20_000;
+
+    /** Placement checks between looks at the clock, less one. */
+    private static final long CLOCK_MASK = 1023;
+
+    /** Largest board solved, so start * 2 + down fits in an int. */
+    private static final int MAX_CELLS = 1 << 30;
+
+    /** Shift that turns a cell number into a word number (2^6 = 64). */
+    private static final int WORD_SHIFT = 6;
+
+    /** Outcome code for a miss. */
+    private static final int MISS = 0;
+
+    /** Outcome code for a hit that sinks nothing. */
+    private static final int HIT = 1;
+
+    /** Seed for the Zobrist keys, so runs are repeatable. */
+    private static final long ZOBRIST_SEED = 0x5EEDL;
+
+    /** What has been learned about the target board. */
+    private final Knowledge know;
+
+    /** Most fleets to solve for. */
+    private final int limit;
+
+    /** System.nanoTime() at which to give up. */
+    private final long deadline;
+
+    /** Lengths of the ships still afloat, longest first. */
+    private final int[] ships;
+
+    /** Cells of the board covered while listing fleets. */
+    private final long[] taken;
+
+    /** Live hits every fleet must cover. */
+    private final int[] hits;
+
+    /** First cell and direction (start * 2 + down) of each ship. */
+    private final int[] placed;
+
+    /** Every fleet listed, as the placed array of each. */
+    private int[][] fleets;
+
+    /** Number of fleets listed. */
+    private int fleetCount;
+
+    /** Placement checks left while listing. */
+    private long stepsLeft;
+
+    /** Bitboard words needed for the numbered cells. */
+    private int words;
+
+    /** Cell of the board for each numbered cell. */
+    private int[] cellOf;
+
+    /**
+     * Unfired cells of each ship of each fleet, as bitboards over the
+     * numbered cells: fleet f, ship s, word w is at
+     * [(f * ships + s) * words + w].
+     */
+    private long[] shipBits;
+
+    /** Outcome code for a win. */
+    private int win;
+
+    /** Zobrist key for firing at each numbered cell. */
+    private long[] firedKeys;
+
+    /** Zobrist key for each fleet still being possible. */
+    private long[] fleetKeys;
+
+    /** Fewest shots to finish, summed over the fleets, by position. */
+    private LongIntMap table;
+
+    /** Positions left to search. */
+    private long nodesLeft;
+
+    /** Best shot found at the root (a numbered cell). */
+    private int bestShot;
+
+    /**
+     * Creates a solver for what a shooter knows. The knowledge must
+     * not change while {@link #solve} runs.
+     *
+     * @param knowledge what is known about the board
+     * @param maxFleets most fleets to solve for
+     * @param stopAt    System.nanoTime() at which to give up
+     */
+    public EndgameSolver(final Knowledge knowledge, final int maxFleets,
+                         final long stopAt) {
+        this.know = knowledge;
+        this.limit = maxFleets;
+        this.deadline = stopAt;
+        this.ships = FleetDealer.remainingShips(knowledge);
+        this.hits = FleetDealer.liveHits(knowledge);
+        this.taken = new long[(knowledge.cells() + Long.SIZE - 1)
+                >>> WORD_SHIFT];
+        this.placed = new int[ships.length];
+    }
+
+    /**
+     * Lists the fleets that fit and, if there are few enough, finds
+     * the shot that finishes soonest on average.
+     *
+     * @return cell number, or -1 if there are too many fleets, none
+     *         at all, or the search ran too long
+     */
+    public int solve() {
+        if (ships.length == 0 || know.cells() > MAX_CELLS) {
+            return -1;
+        }
+        fleets = new int[limit + 1][];
+        fleetCount = 0;
+        stepsLeft = LIST_STEPS;
+        if (!list(0, 0) || fleetCount == 0) {
+            return -1;
+        }
+        number();
+        table = new LongIntMap();
+        nodesLeft = SEARCH_NODES;
+        final int[] all = new int[fleetCount];
+        long key = 0;
+        for (int f = 0; f < fleetCount; f++) {
+            all[f] = f;
+            key ^= fleetKeys[f];
+        }
+        bestShot = -1;
+        search(all, new long[words], 0L, key, Integer.MAX_VALUE, true);
+        return nodesLeft < 0 || bestShot < 0 ? -1 : cellOf[bestShot];
+    }
+
+    /**
+     * Gets the number of fleets the last call to {@link #solve} found.
+     *
+     * @return fleets listed, up to one more than the limit
+     */
+    public int fleetCount() {
+        return fleetCount;
+    }
+
+    /**
+     * Checks whether the last call to {@link #solve} listed few enough
+     * fleets but gave up searching them, for want of time or nodes.
+     *
+     * @return true if the search ran out
+     */
+    public boolean ranOut() {
+        return nodesLeft < 0;
+    }
+
+    /**
+     * Places ship i and the ones after it in every way that fits.
+     *
+     * @param i       ship to place
+     * @param minimum lowest start * 2 + down allowed (for ships of
+     *                the same length as the one before)
+     * @return false if there are too many fleets or it took too long
+     */
+    private boolean list(final int i, final int minimum) {
+        if (i == ships.length) {
+            for (int hit : hits) {
+                if (!isSet(taken, hit)) {
+                    return true;
+                }
+            }
+            if (fleetCount == limit) {
+                fleetCount++;
+                return false;
+            }
+            fleets[fleetCount++] = placed.clone();
+            return true;
+        }
+        int coverable = 0;
+        for (int s = i; s < ships.length; s++) {
+            coverable += ships[s];
+        }
+        int uncovered = 0;
+        for (int hit : hits) {
+            if (!isSet(taken, hit)) {
+                uncovered++;
+            }
+        }
+        if (uncovered > coverable) {
+            return true;
+        }
+
+        final int length = ships[i];
+        for (int at = minimum; at < 2 * know.cells(); at++) {
+            if (--stepsLeft < 0 || (stepsLeft & CLOCK_MASK) == 0
+                    && System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            final int start = at >>> 1;
+            final boolean down = (at & 1) != 0;
+            // A single cell down is the same as across
+            if (length == 1 && down || !fitsOpen(start, length, down)) {
+                continue;
+            }
+            mark(start, length, down, true);
+            placed[i] = at;
+            final boolean same = i + 1 < ships.length
+                    && ships[i + 1] == length;
+            final boolean more = list(i + 1, same ? at + 1 : 0);
+            mark(start, length, down, false);
+            if (!more) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Numbers the cells some fleet covers and not yet fired at, and
+     * builds the bitboards and Zobrist keys over them.
+     */
+    private void number() {
+        final LongIntMap index = new LongIntMap();
+        cellOf = new int[Math.min(know.cells(),
+                fleetCount * totalLength())];
+        int count = 0;
+        for (int f = 0; f < fleetCount; f++) {
+            for (int s = 0; s < ships.length; s++) {
+                final int step = (fleets[f][s] & 1) != 0 ? know.cols() : 1;
+                for (int k = 0, cell = fleets[f][s] >>> 1; k < ships[s];
+                        k++, cell += step) {
+                    if (know.isUnknown(cell)
+                            && index.get(cell) == LongIntMap.MISSING) {
+                        index.put(cell, count);
+                        cellOf[count++] = cell;
+                    }
+                }
+            }
+        }
+        words = Math.max(1, (count + Long.SIZE - 1) >>> WORD_SHIFT);
+        shipBits = new long[fleetCount * ships.length * words];
+        for (int f = 0; f < fleetCount; f++) {
+            for (int s = 0; s < ships.length; s++) {
+                final int base = (f * ships.length + s) * words;
+                final int step = (fleets[f][s] & 1) != 0 ? know.cols() : 1;
+                for (int k = 0, cell = fleets[f][s] >>> 1; k < ships[s];
+                        k++, cell += step) {
+                    final int r = index.get(cell);
+                    if (r != LongIntMap.MISSING) {
+                        shipBits[base + (r >>> WORD_SHIFT)] |= 1L << r;
+                    }
+                }
+            }
+        }
+        win = HIT + know.maxLength() + 1;
+
+        final SplittableRandom keys = new SplittableRandom(ZOBRIST_SEED);
+        firedKeys = new long[count];
+        for (int r = 0; r < count; r++) {
+            firedKeys[r] = keys.nextLong();
+        }
+        fleetKeys = new long[fleetCount];
+        for (int f = 0; f < fleetCount; f++) {
+            fleetKeys[f] = keys.nextLong();
+        }
+    }
+
+    /**
+     * Finds the fewest shots that finish every fleet in a position,
+     * added up over the fleets.
+     *
+     * Each fleet needs at least one shot per cell it has left, so
+     * that sum is a lower bound. A shot is given up as soon as the
+     * shots it has cost so far plus the lower bounds of the outcomes
+     * not searched yet reach the best total found.
+     *
+     * @param set      fleets still possible, none finished
+     * @param fired    numbered cells fired at during the search
+     * @param firedKey Zobrist key of the cells fired at
+     * @param setKey   Zobrist key of the fleets still possible
+     * @param bound    give up once the total is known to be this big
+     * @param root     true to record the best shot
+     * @return the total, or at least bound if it is not below it
+     */
+    private int search(final int[] set, final long[] fired,
+                       final long firedKey, final long setKey,
+                       final int bound, final boolean root) {
+        int lower = 0;
+        for (int f : set) {
+            lower += unfired(f, fired);
+        }
+        if (set.length == 1 && !root) {
+            // One fleet left: fire at each of its cells
+            return lower;
+        }
+        if (lower >= bound) {
+            return lower;
+        }
+        final long key = (firedKey ^ setKey) & Long.MAX_VALUE;
+        final int known = table.get(key);
+        if (known != LongIntMap.MISSING && !root) {
+            return known;
+        }
+        if (--nodesLeft < 0 || System.nanoTime() - deadline >= 0) {
+            nodesLeft = -1;
+            return bound;
+        }
+
+        int best = bound;
+        final int[] codes = new int[set.length];
+        final int[] sizes = new int[win + 1];
+        for (int r : candidates(set, fired)) {
+            // Split the fleets by what firing at r would report
+            Arrays.fill(sizes, 0);
+            for (int i = 0; i < set.length; i++) {
+                codes[i] = outcome(set[i], fired, r);
+                sizes[codes[i]]++;
+            }
+            fired[r >>> WORD_SHIFT] |= 1L << r;
+            int total = set.length;
+            int unsearched = 0;
+            for (int code = 0; code < win; code++) {
+                unsearched += groupLower(set, codes, code, fired);
+            }
+            for (int code = 0; code < win && total + unsearched < best;
+                    code++) {
+                if (sizes[code] == 0) {
+                    continue;
+                }
+                final int[] group = new int[sizes[code]];
+                long groupKey = 0;
+                for (int i = 0, n = 0; i < set.length; i++) {
+                    if (codes[i] == code) {
+                        group[n++] = set[i];
+                        groupKey ^= fleetKeys[set[i]];
+                    }
+                }
+                unsearched -= groupLower(set, codes, code, fired);
+                total += search(group, fired, firedKey ^ firedKeys[r],
+                        groupKey, best - total - unsearched, false);
+            }
+            fired[r >>> WORD_SHIFT] &= ~(1L << r);
+            if (nodesLeft < 0) {
+                return bound;
+            }
+            if (total + unsearched < best) {
+                best = total;
+                if (root) {
+                    bestShot = r;
+                }
+                if (best == lower) {
+                    break;
+                }
+            }
+        }
+        if (best < bound) {
+            table.put(key, best);
+        }
+        return best;
+    }
+
+    /**
+     * Adds up the least shots still needed by the fleets with one
+     * outcome code.
+     *
+     * @param set   fleets
+     * @param codes outcome of each fleet
+     * @param code  outcome wanted
+     * @param fired numbered cells fired at
+     * @return the least total
+     */
+    private int groupLower(final int[] set, final int[] codes,
+                           final int code, final long[] fired) {
+        int lower = 0;
+        for (int i = 0; i < set.length; i++) {
+            if (codes[i] == code) {
+                lower += unfired(set[i], fired);
+            }
+        }
+        return lower;
+    }
+
+    /**
+     * Lists the numbered cells worth firing at: those some fleet
+     * covers and not fired at, most often covered first.
+     *
+     * @param set   fleets still possible
+     * @param fired numbered cells fired at
+     * @return numbered cells
+     */
+    private int[] candidates(final int[] set, final long[] fired) {
+        final int[] cover = new int[cellOf.length];
+        int count = 0;
+        for (int f : set) {
+            for (int s = 0; s < ships.length; s++) {
+                final int base = (f * ships.length + s) * words;
+                for (int w = 0; w < words; w++) {
+                    long bits = shipBits[base + w] & ~fired[w];
+                    while (bits != 0) {
+                        final int r = (w << WORD_SHIFT)
+                                + Long.numberOfTrailingZeros(bits);
+                        if (cover[r]++ == 0) {
+                            count++;
+                        }
+                        bits &= bits - 1;
+                    }
+                }
+            }
+        }
+        // Sort by cover, packed above the cell number, most first
+        final int shift = Integer.SIZE
+                - Integer.numberOfLeadingZeros(cover.length);
+        final int[] shots = new int[count];
+        for (int r = 0, n = 0; r < cover.length; r++) {
+            if (cover[r] > 0) {
+                shots[n++] = cover[r] << shift | r;
+            }
+        }
+        Arrays.sort(shots);
+        for (int i = 0, j = count - 1; i < j; i++, j--) {
+            final int swap = shots[i];
+            shots[i] = shots[j];
+            shots[j] = swap;
+        }
+        for (int i = 0; i < count; i++) {
+            shots[i] &= (1 << shift) - 1;
+        }
+        return shots;
+    }
+
+    /**
+     * Works out what firing at a numbered cell would report if a
+     * fleet were the real one.
+     *
+     * @param f     fleet
+     * @param fired numbered cells fired at (not including r)
+     * @param r     numbered cell fired at
+     * @return MISS, HIT, HIT + the length of a ship sunk, or win
+     */
+    private int outcome(final int f, final long[] fired, final int r) {
+        final int word = r >>> WORD_SHIFT;
+        final long bit = 1L << r;
+        final int fleetBase = f * ships.length * words;
+        int struck = -1;
+        for (int s = 0; s < ships.length && struck < 0; s++) {
+            if ((shipBits[fleetBase + s * words + word] & bit) != 0) {
+                struck = s;
+            }
+        }
+        if (struck < 0) {
+            return MISS;
+        }
+        boolean shipLeft = false;
+        boolean fleetLeft = false;
+        for (int s = 0; s < ships.length; s++) {
+            for (int w = 0; w < words; w++) {
+                long left = shipBits[fleetBase + s * words + w] & ~fired[w];
+                if (w == word) {
+                    left &= ~bit;
+                }
+                if (left != 0) {
+                    fleetLeft = true;
+                    shipLeft |= s == struck;
+                }
+            }
+        }
+        if (shipLeft) {
+            return HIT;
+        }
+        return fleetLeft ? HIT + ships[struck] : win;
+    }
+
+    /**
+     * Counts the cells of a fleet not fired at yet.
+     *
+     * @param f     fleet
+     * @param fired numbered cells fired at
+     * @return cells left to hit
+     */
+    private int unfired(final int f, final long[] fired) {
+        int count = 0;
+        final int base = f * ships.length * words;
+        for (int s = 0; s < ships.length; s++) {
+            for (int w = 0; w < words; w++) {
+                count += Long.bitCount(shipBits[base + s * words + w]
+                        & ~fired[w]);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the cells in a fleet.
+     *
+     * @return sum of the ship lengths
+     */
+    private int totalLength() {
+        int total = 0;
+        for (int length : ships) {
+            total += length;
+        }
+        return total;
+    }
+
+    /**
+     * Checks that a ship fits the board, avoids misses and sunk ships,
+     * and does not overlap the ships placed so far.
+     *
+     * @param start  first cell of the ship
+     * @param length ship length
+     * @param down   true if the ship runs down
+     * @return true if it can go there
+     */
+    private boolean fitsOpen(final int start, final int length,
+                             final boolean down) {
+        if (!know.fits(start, length, down)) {
+            return false;
+        }
+        final int step = down ? know.cols() : 1;
+        for (int k = 0, cell = start; k < length; k++, cell += step) {
+            if (isSet(taken, cell)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Marks or clears the cells of a ship.
+     *
+     * @param start  first cell of the ship
+     * @param length ship length
+     * @param down   true if the ship runs down
+     * @param on     true to mark, false to clear
+     */
+    private void mark(final int start, final int length,
+                      final boolean down, final boolean on) {
+        final int step = down ? know.cols() : 1;
+        for (int k = 0, cell = start; k < length; k++, cell += step) {
+            if (on) {
+                taken[cell >>> WORD_SHIFT] |= 1L << cell;
+            } else {
+                taken[cell >>> WORD_SHIFT] &= ~(1L << cell);
+            }
+        }
+    }
+
+    /**
+     * Reads one bit from a mask.
+     *
+     * @param mask the mask to read
+     * @param cell the cell number
+     * @return true if the bit is set
+     */
+    private static boolean isSet(final long[] mask, final int cell) {
+        return (mask[cell >>> WORD_SHIFT] & (1L << cell)) != 0;
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Wraps another strategy and takes over with {@link EndgameSolver}
+ * once few enough fleets are left that fit what has been seen.
+ *
+ * Until then every shot comes from the wrapped strategy. Each move
+ * the fleets are listed again, which stops as soon as there are too
+ * many, so the check is cheap early in the game. The solver stops at
+ * the move's deadline. If a search runs out, the limit drops below
+ * the number of fleets it had: fleets only ever get fewer, and a
+ * search of as many would most likely run out again. Once the solver
+ * has a shot it is used, and when the solver gives up (too many
+ * fleets, none at all because a sunk ship was guessed wrongly, or too
+ * long a search) the wrapped strategy fires instead. Both are told
+ * every result, so either can carry on.
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class EndgameStrategy implements TargetingStrategy {
+
+    /** Most fleets left for the solver to take over. */
+    public static final int DEFAULT_FLEETS = 16;
+
+    /** Strategy used until the endgame. */
+    private final TargetingStrategy opening;
+
+    /** What has been learned about the target board. */
+    private final Knowledge know;
+
+    /** Most fleets left for the solver to take over. */
+    private int maxFleets;
+
+    /** Time allowed per move, in nanoseconds. */
+    private final long budgetNanos;
+
+    /** Shots picked by the solver so far. */
+    private int solved;
+
+    /**
+     * Wraps a strategy.
+     *
+     * @param inner  strategy to use until the endgame
+     * @param rows   number of rows
+     * @param cols   number of columns
+     * @param fleet  length of every ship on the target board
+     * @param fleets most fleets left for the solver to take over
+     * @param budget most time to spend per move, in nanoseconds
+     */
+    public EndgameStrategy(final TargetingStrategy inner, final int rows,
+                           final int cols, final int[] fleet,
+                           final int fleets, final long budget) {
+        if (budget < 1) {
+            throw new IllegalArgumentException(
+                    "Time budget must be positive");
+        }
+        this.opening = inner;
+        this.know = new Knowledge(rows, cols, fleet);
+        this.maxFleets = fleets;
+        this.budgetNanos = budget;
+    }
+
+    /**
+     * Gets how many shots the solver has picked.
+     *
+     * @return solved shots
+     */
+    public int solved() {
+        return solved;
+    }
+
+    @Override
+    public int nextShot() {
+        if (maxFleets > 0) {
+            final EndgameSolver solver = new EndgameSolver(know, maxFleets,
+                    System.nanoTime() + budgetNanos);
+            final int shot = solver.solve();
+            if (shot >= 0) {
+                solved++;
+                return shot;
+            }
+            if (solver.ranOut()) {
+                maxFleets = solver.fleetCount() - 1;
+            }
+        }
+        return opening.nextShot();
+    }
+
+    @Override
+    public int nextSalvo(final int[] cells, final int count) {
+        // The solver plans one shot at a time
+        return opening.nextSalvo(cells, count);
+    }
+
+    @Override
+    public void record(final int row, final int col,
+                       final ShotResult result, final int sunkLength) {
+        know.record(row, col, result, sunkLength);
+        opening.record(row, col, result, sunkLength);
+    }
+}
@@ -0,0 +1,121 @@
+import java.util.Arrays;
+
+/**
+ * Helpers for describing a fleet as an array of ship lengths.
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class Fleet {
+
+    /** Length of the carrier. */
+    public static final int CARRIER = 5;
+
+    /** Length of the battleship. */
+    public static final int BATTLESHIP = 4;
+
+    /** Length of the cruiser. */
+    public static final int CRUISER = 3;
+
+    /** Length of the submarine. */
+    public static final int SUBMARINE = 3;
+
+    /** Length of the destroyer. */
+    public static final int DESTROYER = 2;
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private Fleet() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Gets the classic fleet (carrier, battleship, cruiser, submarine
+     * and destroyer).
+     *
+     * @return new array of ship lengths
+     */
+    public static int[] classic() {
+        return new int[] {CARRIER, BATTLESHIP, CRUISER, SUBMARINE, DESTROYER};
+    }
+
+    /**
+     * Gets a fleet of single-cell ships, like the original game.
+     *
+     * @param ships number of ships
+     * @return new array of ship lengths
+     */
+    public static int[] singles(final int ships) {
+        final int[] fleet = new int[ships];
+        Arrays.fill(fleet, 1);
+        return fleet;
+    }
+
+    /**
+     * Reads a fleet from text: "classic", a list of lengths like
+     * "5,4,3,3,2", or a plain number of single-cell ships.
+     *
+     * @param text the fleet description
+     * @return new array of ship lengths
+     * @throws IllegalArgumentException if there are no ships or a
+     *         length is not a positive number
+     */
+    public static int[] parse(final String text) {
+        if (text.equalsIgnoreCase("classic")) {
+            return classic();
+        }
+        if (!text.contains(",")) {
+            final int ships = Integer.parseInt(text.trim());
+            if (ships < 1) {
+                throw new IllegalArgumentException(
+                        "Fleet needs at least one ship: " + text);
+            }
+            return singles(ships);
+        }
+        final String[] parts = text.split(",");
+        if (parts.length == 0) {
+            throw new IllegalArgumentException(
+                    "Fleet needs at least one ship: " + text);
+        }
+        final int[] fleet = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            fleet[i] = Integer.parseInt(parts[i].trim());
+            if (fleet[i] <= 0) {
+                throw new IllegalArgumentException(
+                        "Ship length must be positive: " + parts[i]);
+            }
+        }
+        return fleet;
+    }
+
+    /**
+     * Adds up the cells taken by a fleet.
+     *
+     * @param fleet ship lengths
+     * @return total ship cells
+     */
+    public static int cells(final int[] fleet) {
+        int total = 0;
+        for (int length : fleet) {
+            total += length;
+        }
+        return total;
+    }
+
+    /**
+     * Checks whether every ship in a fleet is a single cell.
+     *
+     * @param fleet ship lengths
+     * @return true if all lengths are 1
+     */
+    public static boolean allSingles(final int[] fleet) {
+        for (int length : fleet) {
+            if (length != 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
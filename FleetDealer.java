@@ -0,0 +1,238 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Deals random fleets that agree with what a shooter knows: none of
+ * the ships still afloat covers a miss or a sunk ship, no two
+ * overlap, and together they cover every live hit.
+ *
+ * Ships go on longest first. While a live hit is left uncovered, a
+ * ship picked at random from those not yet placed tries to go through
+ * it first, rather than waiting for a random fleet to happen to cover
+ * it. That leans the fleets a little towards those placements, but
+ * makes dealing around several live hits quick.
+ *
+ * Each dealer keeps its own scratch arrays, so give every thread its
+ * own. The knowledge must not change while fleets are being dealt.
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class FleetDealer {
+
+    /** Random tries to place one ship before giving up on a fleet. */
+    private static final int MAX_TRIES = 64;
+
+    /** Shift that turns a cell number into a word number (2^6 = 64). */
+    private static final int WORD_SHIFT = 6;
+
+    /** What has been learned about the target board. */
+    private final Knowledge know;
+
+    /** Lengths of the ships to place, longest first. */
+    private final int[] ships;
+
+    /** Live hits the fleet must cover. */
+    private final int[] hits;
+
+    /** Cells covered by the last fleet dealt. */
+    private final long[] taken;
+
+    /** Ship lengths in the order they were placed. */
+    private final int[] lengths;
+
+    /** First cell of each placed ship. */
+    private final int[] starts;
+
+    /** Whether each placed ship runs down. */
+    private final boolean[] vertical;
+
+    /**
+     * Creates a dealer for the ships still afloat.
+     *
+     * @param knowledge what is known about the board
+     * @param shipLengths lengths of the ships to place, longest first,
+     *                    as from {@link #remainingShips}
+     * @param liveHits    live hits to cover, as from {@link #liveHits}
+     */
+    public FleetDealer(final Knowledge knowledge, final int[] shipLengths,
+                       final int[] liveHits) {
+        this.know = knowledge;
+        this.ships = shipLengths;
+        this.hits = liveHits;
+        this.taken = new long[(knowledge.cells() + Long.SIZE - 1)
+                >>> WORD_SHIFT];
+        this.lengths = new int[shipLengths.length];
+        this.starts = new int[shipLengths.length];
+        this.vertical = new boolean[shipLengths.length];
+    }
+
+    /**
+     * Lists the length of every ship still afloat, longest first so
+     * the hardest ships to fit are placed while there is most room.
+     *
+     * @param know what is known about the board
+     * @return ship lengths
+     */
+    public static int[] remainingShips(final Knowledge know) {
+        final int[] ships = new int[know.shipsLeft()];
+        int count = 0;
+        for (int length = know.maxLength(); length >= 1; length--) {
+            for (int i = 0; i < know.fleetCount(length); i++) {
+                ships[count++] = length;
+            }
+        }
+        return ships;
+    }
+
+    /**
+     * Copies the live hits.
+     *
+     * @param know what is known about the board
+     * @return cells hit on ships still afloat
+     */
+    public static int[] liveHits(final Knowledge know) {
+        final int[] found = new int[know.liveHitCount()];
+        for (int i = 0; i < found.length; i++) {
+            found[i] = know.liveHit(i);
+        }
+        return found;
+    }
+
+    /**
+     * Deals one fleet.
+     *
+     * @param rng random number generator to deal with
+     * @return false if the fleet did not fit or missed a live hit, in
+     *         which case nothing else here means anything
+     */
+    public boolean deal(final SplittableRandom rng) {
+        final int cols = know.cols();
+        Arrays.fill(taken, 0);
+        System.arraycopy(ships, 0, lengths, 0, lengths.length);
+        for (int s = 0; s < lengths.length; s++) {
+            final int hit = uncoveredHit();
+            if (hit >= 0) {
+                final int pick = s + rng.nextInt(lengths.length - s);
+                final int swap = lengths[pick];
+                lengths[pick] = lengths[s];
+                lengths[s] = swap;
+            }
+            final int length = lengths[s];
+            boolean placed = false;
+            for (int t = 0; t < MAX_TRIES && !placed; t++) {
+                final boolean down = rng.nextBoolean();
+                final int start;
+                if (hit >= 0 && t < MAX_TRIES / 2) {
+                    // Slide the ship back from the hit
+                    start = hit - rng.nextInt(length) * (down ? cols : 1);
+                    if (start < 0 || !down && start / cols != hit / cols) {
+                        continue;
+                    }
+                } else {
+                    start = rng.nextInt(know.cells());
+                }
+                if (fitsOpen(start, length, down)) {
+                    starts[s] = start;
+                    vertical[s] = down;
+                    placed = true;
+                }
+            }
+            if (!placed) {
+                return false;
+            }
+            final int step = vertical[s] ? cols : 1;
+            for (int k = 0, cell = starts[s]; k < length;
+                    k++, cell += step) {
+                taken[cell >>> WORD_SHIFT] |= 1L << cell;
+            }
+        }
+        return uncoveredHit() < 0;
+    }
+
+    /**
+     * Gets the number of ships in each fleet.
+     *
+     * @return ships still afloat
+     */
+    public int shipCount() {
+        return ships.length;
+    }
+
+    /**
+     * Gets the length of a ship in the last fleet.
+     *
+     * @param s ship number, in the order placed
+     * @return ship length
+     */
+    public int length(final int s) {
+        return lengths[s];
+    }
+
+    /**
+     * Gets the first cell of a ship in the last fleet.
+     *
+     * @param s ship number, in the order placed
+     * @return cell number
+     */
+    public int start(final int s) {
+        return starts[s];
+    }
+
+    /**
+     * Checks which way a ship in the last fleet runs.
+     *
+     * @param s ship number, in the order placed
+     * @return true if it runs down
+     */
+    public boolean vertical(final int s) {
+        return vertical[s];
+    }
+
+    /**
+     * Copies the cells covered by the last fleet as a bitmask.
+     *
+     * @param into mask to fill, one bit per cell
+     */
+    public void copyCells(final long[] into) {
+        System.arraycopy(taken, 0, into, 0, taken.length);
+    }
+
+    /**
+     * Checks that a ship fits the board, avoids misses and sunk ships,
+     * and does not overlap the ships dealt so far.
+     *
+     * @param start  first cell of the ship
+     * @param length ship length
+     * @param down   true if the ship runs down
+     * @return true if it can go there
+     */
+    private boolean fitsOpen(final int start, final int length,
+                             final boolean down) {
+        if (!know.fits(start, length, down)) {
+            return false;
+        }
+        final int step = down ? know.cols() : 1;
+        for (int k = 0, cell = start; k < length; k++, cell += step) {
+            if ((taken[cell >>> WORD_SHIFT] & (1L << cell)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds a live hit the fleet does not cover yet.
+     *
+     * @return cell number, or -1 if every live hit is covered
+     */
+    private int uncoveredHit() {
+        for (int hit : hits) {
+            if ((taken[hit >>> WORD_SHIFT] & (1L << hit)) == 0) {
+                return hit;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,231 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Battleship rules with no input or output.
+ *
+ * Holds one board per player and resolves shots. Nothing in here
+ * prints or reads, so the same rules can drive the console game,
+ * simulations and tests.
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class GameEngine {
+
+    /** Player number for the human (or first) player. */
+    public static final int PLAYER = 0;
+
+    /** Player number for the computer (or second) player. */
+    public static final int ENEMY = 1;
+
+    /** Value of winner() while the game is still going. */
+    public static final int NO_WINNER = -1;
+
+    /** Board owned by each player, indexed by player number. */
+    private final Board[] boards;
+
+    /** Number of shots fired so far by both players. */
+    private int turn;
+
+    /** Player who won, or NO_WINNER. */
+    private int winner = NO_WINNER;
+
+    /** Length of the ship sunk by the last shot, or 0. */
+    private int lastSunkLength;
+
+    /**
+     * Creates a game from two boards that already have ships.
+     *
+     * @param playerBoard board owned by PLAYER
+     * @param enemyBoard  board owned by ENEMY
+     */
+    public GameEngine(final Board playerBoard, final Board enemyBoard) {
+        this(playerBoard, enemyBoard, 0);
+    }
+
+    /**
+     * Creates a game part way through, such as one loaded from a save.
+     *
+     * @param playerBoard board owned by PLAYER
+     * @param enemyBoard  board owned by ENEMY
+     * @param shotsFired  shots already fired by both players
+     */
+    public GameEngine(final Board playerBoard, final Board enemyBoard,
+                      final int shotsFired) {
+        this.boards = new Board[] {playerBoard, enemyBoard};
+        this.turn = shotsFired;
+        if (playerBoard.allSunk()) {
+            winner = ENEMY;
+        } else if (enemyBoard.allSunk()) {
+            winner = PLAYER;
+        }
+    }
+
+    /**
+     * Creates a game with random single-cell ships on both boards.
+     *
+     * @param rows  number of rows
+     * @param cols  number of columns
+     * @param ships number of ships per board
+     * @param rand  random number generator to use
+     * @return new game
+     */
+    public static GameEngine random(final int rows, final int cols,
+                                    final int ships,
+                                    final RandomGenerator rand) {
+        return new GameEngine(Board.random(rows, cols, ships, rand),
+                Board.random(rows, cols, ships, rand));
+    }
+
+    /**
+     * Creates a game with a random fleet on both boards.
+     *
+     * @param rows  number of rows
+     * @param cols  number of columns
+     * @param fleet length of every ship on each board
+     * @param rand  random number generator to use
+     * @return new game
+     */
+    public static GameEngine random(final int rows, final int cols,
+                                    final int[] fleet,
+                                    final RandomGenerator rand) {
+        return new GameEngine(Board.random(rows, cols, fleet, rand),
+                Board.random(rows, cols, fleet, rand));
+    }
+
+    /**
+     * Gets the other player's number.
+     *
+     * @param player PLAYER or ENEMY
+     * @return ENEMY or PLAYER
+     */
+    public static int opponent(final int player) {
+        return 1 - player;
+    }
+
+    /**
+     * Fires a shot from a player at the opponent's board.
+     *
+     * @param player player taking the shot
+     * @param row    row of attack
+     * @param col    column of attack
+     * @return what the shot did (WIN if it sank the last ship)
+     */
+    public ShotResult fire(final int player, final int row, final int col) {
+        if (winner != NO_WINNER) {
+            throw new IllegalStateException("Game is already over");
+        }
+        final Board target = boards[opponent(player)];
+        ShotResult result = target.fire(row, col);
+        turn++;
+        lastSunkLength = result == ShotResult.SUNK
+                ? target.shipLengthAt(row, col) : 0;
+
+        if (result == ShotResult.SUNK && target.allSunk()) {
+            winner = player;
+            result = ShotResult.WIN;
+        }
+        return result;
+    }
+
+    /**
+     * Fires a salvo from a player at the opponent's board. The shots
+     * all land before the board is checked for a win, and if the
+     * salvo wins, the last shot that sank a ship becomes WIN.
+     *
+     * @param player  player taking the shots
+     * @param cells   cell numbers (row * cols + col) to fire at
+     * @param count   number of cells to use from the array
+     * @param results filled with what each shot did
+     * @return true if the salvo won the game
+     */
+    public boolean fireSalvo(final int player, final int[] cells,
+                             final int count, final ShotResult[] results) {
+        if (winner != NO_WINNER) {
+            throw new IllegalStateException("Game is already over");
+        }
+        final Board target = boards[opponent(player)];
+        final int sunk = target.fireSalvo(cells, count, results);
+        turn += count;
+        lastSunkLength = 0;
+
+        if (sunk > 0 && target.allSunk()) {
+            winner = player;
+            for (int i = count - 1; i >= 0; i--) {
+                if (results[i] == ShotResult.SUNK) {
+                    results[i] = ShotResult.WIN;
+                    break;
+                }
+            }
+        }
+        return winner == player;
+    }
+
+    /**
+     * Fires the shot a targeting strategy picks and tells the
+     * strategy what happened.
+     *
+     * @param player   player taking the shot
+     * @param strategy strategy choosing the cell
+     * @return what the shot did
+     */
+    public ShotResult fire(final int player,
+                           final TargetingStrategy strategy) {
+        final int cols = boards[opponent(player)].cols();
+        final int cell = strategy.nextShot();
+        final int row = cell / cols;
+        final int col = cell % cols;
+        final ShotResult result = fire(player, row, col);
+        strategy.record(row, col, result, lastSunkLength);
+        return result;
+    }
+
+    /**
+     * Gets the length of the ship sunk by the last shot.
+     * A real game announces which ship went down, so strategies
+     * are allowed to know this.
+     *
+     * @return ship length, or 0 if the last shot sank nothing
+     */
+    public int lastSunkLength() {
+        return lastSunkLength;
+    }
+
+    /**
+     * Gets the board owned by a player.
+     *
+     * @param player PLAYER or ENEMY
+     * @return that player's board
+     */
+    public Board board(final int player) {
+        return boards[player];
+    }
+
+    /**
+     * Gets the number of shots fired so far by both players.
+     *
+     * @return shots fired
+     */
+    public int turn() {
+        return turn;
+    }
+
+    /**
+     * Checks whether someone has won.
+     *
+     * @return true once all of one player's ships are sunk
+     */
+    public boolean isOver() {
+        return winner != NO_WINNER;
+    }
+
+    /**
+     * Gets the winning player.
+     *
+     * @return PLAYER, ENEMY or NO_WINNER
+     */
+    public int winner() {
+        return winner;
+    }
+}
@@ -0,0 +1,239 @@
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Settings for a console game, read from the command line.
+ *
+ * Flags:
+ * <pre>
+ * --rows N, --cols N  board size (4x4 by default)
+ * --fleet SPEC        ships, anything Fleet.parse reads (four
+ *                     single-cell ships by default, the classic
+ *                     fleet on boards of 10x10 or more)
+ * --seed N            repeat the same boards and computer moves
+ * --diff              redraw the boards in place
+ * --salvo             fire one shot per ship still afloat each turn
+ * --load FILE         carry on a saved game
+ * --journal FILE      log every move for Replayer
+ * --ai NAME           how the computer fires, one of
+ *                     TargetingStrategy.NAMES (density, or random
+ *                     without repeats on huge boards, by default)
+ * --think MS          most time the computer spends on a move, for
+ *                     AIs that search (100 by default)
+ * </pre>
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class GameOptions {
+
+    /** Board size when none is given. */
+    private static final int DEFAULT_SIZE = 4;
+
+    /** Fleet on boards too small for the classic fleet. */
+    private static final String SMALL_FLEET = "4";
+
+    /** Redraw the boards in place. */
+    private boolean differential;
+
+    /** Salvo rules. */
+    private boolean salvo;
+
+    /** Random number generator for the boards and computer moves. */
+    private RandomGenerator rand;
+
+    /** Save file to load, or null. */
+    private Path savedGame;
+
+    /** Journal file, or null. */
+    private Path journal;
+
+    /** Computer's targeting strategy, or null for the default. */
+    private String ai;
+
+    /** Most time the computer spends on a move, in milliseconds. */
+    private long thinkMillis = MonteCarloStrategy.DEFAULT_BUDGET_MILLIS;
+
+    /** Number of rows. */
+    private int rows = DEFAULT_SIZE;
+
+    /** Number of columns. */
+    private int cols = DEFAULT_SIZE;
+
+    /** Length of every ship. */
+    private int[] fleet;
+
+    /**
+     * Use {@link #parse} to make options.
+     */
+    private GameOptions() {
+    }
+
+    /**
+     * Reads options from command line arguments.
+     *
+     * @param args        command line arguments
+     * @param defaultRand generator to use when no seed is given
+     * @return the options
+     * @throws IllegalArgumentException if a value is not valid
+     */
+    public static GameOptions parse(final String[] args,
+                                    final RandomGenerator defaultRand) {
+        final GameOptions options = new GameOptions();
+        final String seed = argValue(args, "--seed");
+        final String rowText = argValue(args, "--rows");
+        final String colText = argValue(args, "--cols");
+        final String fleetText = argValue(args, "--fleet");
+        final String load = argValue(args, "--load");
+        final String journal = argValue(args, "--journal");
+        final String ai = argValue(args, "--ai");
+        final String think = argValue(args, "--think");
+
+        options.differential = Arrays.asList(args).contains("--diff");
+        options.salvo = Arrays.asList(args).contains("--salvo");
+        options.rand = seed == null
+                ? defaultRand : new SplittableRandom(Long.parseLong(seed));
+        options.savedGame = load == null ? null : Paths.get(load);
+        options.journal = journal == null ? null : Paths.get(journal);
+        if (ai != null && !TargetingStrategy.NAMES.contains(ai)) {
+            throw new IllegalArgumentException("Unknown AI " + ai
+                    + ", try one of " + TargetingStrategy.NAMES);
+        }
+        options.ai = ai;
+        if (think != null) {
+            options.thinkMillis = Long.parseLong(think);
+            if (options.thinkMillis < 1) {
+                throw new IllegalArgumentException(
+                        "Thinking time must be at least 1 ms");
+            }
+        }
+        if (rowText != null) {
+            options.rows = Integer.parseInt(rowText);
+        }
+        if (colText != null) {
+            options.cols = Integer.parseInt(colText);
+        }
+        if (options.rows < 1 || options.cols < 1
+                || (long) options.rows * options.cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Board size must be at least"
+                    + " 1x1 and at most " + Integer.MAX_VALUE + " cells");
+        }
+
+        // The classic fleet is meant for a 10x10 board or bigger
+        final boolean roomy = Math.min(options.rows, options.cols)
+                >= 2 * Fleet.CARRIER;
+        options.fleet = Fleet.parse(fleetText != null ? fleetText
+                : roomy ? "classic" : SMALL_FLEET);
+        return options;
+    }
+
+    /**
+     * Finds the value after a command line flag.
+     *
+     * @param args command line arguments
+     * @param flag the flag, like "--seed"
+     * @return the value, or null if the flag is missing
+     */
+    static String argValue(final String[] args, final String flag) {
+        for (int i = 0; i + 1 < args.length; i++) {
+            if (args[i].equals(flag)) {
+                return args[i + 1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether the boards are redrawn in place.
+     *
+     * @return true for in place mode
+     */
+    public boolean differential() {
+        return differential;
+    }
+
+    /**
+     * Checks whether the game uses salvo rules.
+     *
+     * @return true for salvo rules
+     */
+    public boolean salvo() {
+        return salvo;
+    }
+
+    /**
+     * Gets the random number generator.
+     *
+     * @return generator for the boards and the computer's moves
+     */
+    public RandomGenerator rand() {
+        return rand;
+    }
+
+    /**
+     * Gets the save file to load.
+     *
+     * @return save file, or null for a new game
+     */
+    public Path savedGame() {
+        return savedGame;
+    }
+
+    /**
+     * Gets the journal file.
+     *
+     * @return journal file, or null if not logging
+     */
+    public Path journal() {
+        return journal;
+    }
+
+    /**
+     * Gets the computer's targeting strategy.
+     *
+     * @return strategy name, or null to pick one by board size
+     */
+    public String ai() {
+        return ai;
+    }
+
+    /**
+     * Gets the most time the computer spends on a move.
+     *
+     * @return milliseconds per move
+     */
+    public long thinkMillis() {
+        return thinkMillis;
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return rows on each board
+     */
+    public int rows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of columns.
+     *
+     * @return columns on each board
+     */
+    public int cols() {
+        return cols;
+    }
+
+    /**
+     * Gets the fleet.
+     *
+     * @return length of every ship on each board
+     */
+    public int[] fleet() {
+        return fleet.clone();
+    }
+}
@@ -0,0 +1,370 @@
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Line protocol for playing Battleship over a network connection.
+ *
+ * Knows nothing about sockets: a server makes a {@link Player} for
+ * each connection, passes in every line the client sends, and
+ * delivers whatever the protocol gives the player's {@link Output}.
+ * Shots are resolved by {@link GameEngine}, which fires at the board
+ * the same way {@link Battleship#handleAttacks(Board, int, int)}
+ * does, and the computer picks its shots the same way as in the
+ * console game.
+ *
+ * Client to server (rows and columns start at 1, as in the console
+ * game, and commands may be in any case):
+ * <pre>
+ * PLAY AI              start a game against the computer
+ * PLAY HUMAN           join a waiting player, or wait for one
+ * FIRE row col         fire at the opponent's board
+ * QUIT                 leave (a game in progress is lost)
+ * </pre>
+ * Server to client:
+ * <pre>
+ * HELLO rows cols ships  sent on connect
+ * WAITING                no opponent yet
+ * START FIRST|SECOND     a game has begun
+ * SHIP row col length ACROSS|DOWN
+ *                        one of your ships, sent after START
+ * TURN                   your move
+ * SHOT row col result    your shot: MISS, HIT, SUNK, WIN or REPEAT
+ * ENEMY row col result   the opponent's shot at your board
+ * OVER WON|LOST|LEFT     the game ended (LEFT: the opponent went)
+ * ERROR message          the line was not understood
+ * BYE                    the server is closing the connection
+ * </pre>
+ *
+ * Not thread safe: a server must not call it from two threads at
+ * once.
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class GameProtocol {
+
+    /** Number of rows on every board. */
+    private final int rows;
+
+    /** Number of columns on every board. */
+    private final int cols;
+
+    /** Length of every ship on each board. */
+    private final int[] fleet;
+
+    /** Seeds the random number generator of each game. */
+    private final RandomGenerator rand;
+
+    /** Player waiting for a human opponent, or null. */
+    private Player waiting;
+
+    /**
+     * Creates the protocol for games of one size and fleet.
+     *
+     * @param rowCount number of rows
+     * @param colCount number of columns
+     * @param ships    length of every ship on each board
+     * @param seeds    random number generator for seeding each game
+     * @throws IllegalArgumentException if the fleet does not fit
+     */
+    public GameProtocol(final int rowCount, final int colCount,
+                        final int[] ships, final RandomGenerator seeds) {
+        this.rows = rowCount;
+        this.cols = colCount;
+        this.fleet = ships.clone();
+        this.rand = seeds;
+
+        // Fail now rather than on the first PLAY
+        Board.random(rowCount, colCount, fleet, new SplittableRandom(0));
+    }
+
+    /**
+     * Something that can deliver lines to one client.
+     */
+    public interface Output {
+
+        /**
+         * Sends one line (the line ending is added by the transport).
+         *
+         * @param line text to send
+         */
+        void send(String line);
+    }
+
+    /**
+     * Registers a new client and greets it.
+     *
+     * @param out where the client's lines go
+     * @return the player, to pass to handle and disconnect
+     */
+    public Player connect(final Output out) {
+        final Player player = new Player(out);
+        out.send("HELLO " + rows + " " + cols + " " + fleet.length);
+        return player;
+    }
+
+    /**
+     * Acts on one line from a client.
+     *
+     * @param player the client
+     * @param line   the line, without its line ending
+     * @return false if the connection should be closed
+     */
+    public boolean handle(final Player player, final String line) {
+        final String[] words = line.trim().split("\\s+");
+        final String command = words[0].toUpperCase(Locale.ROOT);
+        switch (command) {
+            case "":
+                return true;
+            case "PLAY":
+                play(player, words.length > 1 ? words[1] : "");
+                return true;
+            case "FIRE":
+                if (words.length != 3) {
+                    player.out.send("ERROR Use FIRE row col");
+                } else {
+                    fire(player, words[1], words[2]);
+                }
+                return true;
+            case "QUIT":
+                disconnect(player);
+                player.out.send("BYE");
+                return false;
+            default:
+                player.out.send("ERROR Unknown command " + words[0]);
+                return true;
+        }
+    }
+
+    /**
+     * Forgets a client that has gone. A game it was in is over and
+     * a human opponent is told.
+     *
+     * @param player the client
+     */
+    public void disconnect(final Player player) {
+        if (waiting == player) {
+            waiting = null;
+        }
+        final Match match = player.match;
+        if (match != null) {
+            final Player other = match.seats[GameEngine.opponent(
+                    player.seat)];
+            if (other != null) {
+                other.out.send("OVER LEFT");
+                other.match = null;
+            }
+            player.match = null;
+        }
+    }
+
+    /**
+     * Starts a game against the computer or another client.
+     *
+     * @param player   the client
+     * @param opponent "AI" or "HUMAN"
+     */
+    private void play(final Player player, final String opponent) {
+        if (player.match != null || waiting == player) {
+            player.out.send("ERROR Already playing");
+            return;
+        }
+        final String kind = opponent.toUpperCase(Locale.ROOT);
+        if (kind.equals("AI")) {
+            start(player, null);
+        } else if (!kind.equals("HUMAN")) {
+            player.out.send("ERROR Use PLAY AI or PLAY HUMAN");
+        } else if (waiting == null) {
+            waiting = player;
+            player.out.send("WAITING");
+        } else {
+            final Player first = waiting;
+            waiting = null;
+            start(first, player);
+        }
+    }
+
+    /**
+     * Sets up a game and tells the players.
+     *
+     * @param first  player who moves first
+     * @param second human opponent, or null for the computer
+     */
+    private void start(final Player first, final Player second) {
+        final SplittableRandom gameRand = new SplittableRandom(
+                rand.nextLong());
+        final GameEngine engine = GameEngine.random(rows, cols, fleet,
+                gameRand);
+        final Match match = new Match(engine, first, second);
+        if (second == null) {
+            match.ai = Battleship.enemyStrategy(
+                    engine.board(GameEngine.PLAYER), gameRand);
+        }
+        for (int seat = 0; seat < 2; seat++) {
+            final Player player = match.seats[seat];
+            if (player == null) {
+                continue;
+            }
+            player.match = match;
+            player.seat = seat;
+            player.out.send(seat == GameEngine.PLAYER
+                    ? "START FIRST" : "START SECOND");
+            final Board own = engine.board(seat);
+            for (int s = 0; s < own.shipCount(); s++) {
+                final int start = own.shipStart(s);
+                player.out.send("SHIP " + (start / cols + 1) + " "
+                        + (start % cols + 1) + " " + own.shipLength(s)
+                        + (own.shipVertical(s) ? " DOWN" : " ACROSS"));
+            }
+        }
+        first.out.send("TURN");
+    }
+
+    /**
+     * Fires a client's shot, then lets the computer reply if it is
+     * the opponent.
+     *
+     * @param player  the client
+     * @param rowText row typed by the client (from 1)
+     * @param colText column typed by the client (from 1)
+     */
+    private void fire(final Player player, final String rowText,
+                      final String colText) {
+        final Match match = player.match;
+        if (match == null) {
+            player.out.send("ERROR Not in a game");
+            return;
+        }
+        if (match.toMove != player.seat) {
+            player.out.send("ERROR Not your turn");
+            return;
+        }
+        final int row;
+        final int col;
+        try {
+            row = Integer.parseInt(rowText) - 1;
+            col = Integer.parseInt(colText) - 1;
+        } catch (NumberFormatException e) {
+            player.out.send("ERROR Row and column must be numbers");
+            return;
+        }
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            player.out.send("ERROR Row must be 1-" + rows
+                    + " and column 1-" + cols);
+            return;
+        }
+
+        final int other = GameEngine.opponent(player.seat);
+        shoot(match, player.seat, row, col);
+        if (match.engine.isOver()) {
+            return;
+        }
+        if (match.ai == null) {
+            match.toMove = other;
+            match.seats[other].out.send("TURN");
+            return;
+        }
+
+        // Computer replies straight away
+        final int cell = match.ai.nextShot();
+        final ShotResult result = shoot(match, other, cell / cols,
+                cell % cols);
+        match.ai.record(cell / cols, cell % cols, result,
+                match.engine.lastSunkLength());
+        if (!match.engine.isOver()) {
+            player.out.send("TURN");
+        }
+    }
+
+    /**
+     * Fires one shot and reports it to both players, ending the game
+     * if it was the winning shot.
+     *
+     * @param match   the game
+     * @param shooter seat of the player firing
+     * @param row     row of attack (from 0)
+     * @param col     column of attack (from 0)
+     * @return what the shot did
+     */
+    private static ShotResult shoot(final Match match, final int shooter,
+                                    final int row, final int col) {
+        final ShotResult result = match.engine.fire(shooter, row, col);
+        final String where = (row + 1) + " " + (col + 1) + " " + result;
+        final Player from = match.seats[shooter];
+        final Player to = match.seats[GameEngine.opponent(shooter)];
+        if (from != null) {
+            from.out.send("SHOT " + where);
+        }
+        if (to != null) {
+            to.out.send("ENEMY " + where);
+        }
+        if (result == ShotResult.WIN) {
+            if (from != null) {
+                from.out.send("OVER WON");
+                from.match = null;
+            }
+            if (to != null) {
+                to.out.send("OVER LOST");
+                to.match = null;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * One connected client.
+     */
+    public static final class Player {
+
+        /** Where this client's lines go. */
+        private final Output out;
+
+        /** Game this client is in, or null. */
+        private Match match;
+
+        /** Seat in the game (GameEngine.PLAYER or ENEMY). */
+        private int seat;
+
+        /**
+         * Creates a client with no game.
+         *
+         * @param output where the client's lines go
+         */
+        private Player(final Output output) {
+            this.out = output;
+        }
+    }
+
+    /**
+     * One game in progress.
+     */
+    private static final class Match {
+
+        /** Rules and boards. */
+        private final GameEngine engine;
+
+        /** Client in each seat, null for the computer. */
+        private final Player[] seats;
+
+        /** Computer's targeting, or null between two clients. */
+        private TargetingStrategy ai;
+
+        /** Seat whose move it is. */
+        private int toMove = GameEngine.PLAYER;
+
+        /**
+         * Creates a game between two seats.
+         *
+         * @param game   rules and boards
+         * @param first  client moving first
+         * @param second second client, or null for the computer
+         */
+        private Match(final GameEngine game, final Player first,
+                      final Player second) {
+            this.engine = game;
+            this.seats = new Player[] {first, second};
+        }
+    }
+}
@@ -0,0 +1,356 @@
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+
+/**
+ * Hosts Battleship games over TCP on this computer, speaking the line
+ * protocol in {@link GameProtocol}.
+ *
+ * One thread serves every connection: a selector says which sockets
+ * can be read or written without waiting, so thousands of clients
+ * cost a couple of small buffers each rather than a thread each.
+ * Replies are queued per connection and written once the lines that
+ * caused them have been handled. A client that sends lines without
+ * reading the replies is not read from while more than
+ * PENDING_BYTES of its replies are waiting, so it cannot make the
+ * server hold an ever growing buffer.
+ *
+ * Try it with:
+ * <pre>
+ * java GameServer --port 4040 --rows 10 --cols 10
+ * nc localhost 4040
+ * </pre>
+ *
+ * Not taught:
+ * Non-blocking I/O with selectors:
+ * https://docs.oracle.com/javase/8/docs/api/java/nio/channels/Selector.html
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class GameServer implements AutoCloseable {
+
+    /** Port used when none is given. */
+    public static final int DEFAULT_PORT = 4040;
+
+    /** Longest line a client may send. */
+    private static final int LINE_BYTES = 256;
+
+    /** Starting size of each connection's reply buffer. */
+    private static final int REPLY_BYTES = 256;
+
+    /** Reply bytes waiting past which a client's lines are not read. */
+    private static final int PENDING_BYTES = 16 * 1024;
+
+    /** Connections allowed to wait to be accepted. */
+    private static final int BACKLOG = 4096;
+
+    /** Picks which sockets are ready. */
+    private final Selector selector;
+
+    /** Listening socket. */
+    private final ServerSocketChannel server;
+
+    /** Game rules and matchmaking. */
+    private final GameProtocol protocol;
+
+    /** Connections with replies not yet written. */
+    private final ArrayDeque<Connection> dirty = new ArrayDeque<>();
+
+    /** Cleared by close() to stop run(). */
+    private volatile boolean running = true;
+
+    /**
+     * Opens the listening socket on the loopback address.
+     *
+     * @param port  port to listen on (0 picks a free one)
+     * @param rules protocol to speak
+     * @throws IOException if the port cannot be opened
+     */
+    public GameServer(final int port, final GameProtocol rules)
+            throws IOException {
+        this.protocol = rules;
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                port), BACKLOG);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Starts a server from the command line.
+     *
+     * @param args "--port N" plus the board options of
+     *             {@link GameOptions}
+     * @throws IOException if the server cannot run
+     */
+    public static void main(final String[] args) throws IOException {
+        final String portText = GameOptions.argValue(args, "--port");
+        final int port = portText == null
+                ? DEFAULT_PORT : Integer.parseInt(portText);
+        final GameOptions options = GameOptions.parse(args,
+                new SplittableRandom());
+        final GameProtocol rules = new GameProtocol(options.rows(),
+                options.cols(), options.fleet(), options.rand());
+        try (GameServer gameServer = new GameServer(port, rules)) {
+            System.out.println("Listening on port " + gameServer.port());
+            gameServer.run();
+        }
+    }
+
+    /**
+     * Gets the port the server is listening on.
+     *
+     * @return local port
+     * @throws IOException if the socket is closed
+     */
+    public int port() throws IOException {
+        return ((InetSocketAddress) server.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Serves clients until {@link #close()} is called.
+     *
+     * @throws IOException if the selector fails
+     */
+    public void run() throws IOException {
+        try {
+            while (running) {
+                selector.select();
+                final Iterator<SelectionKey> ready =
+                        selector.selectedKeys().iterator();
+                while (ready.hasNext()) {
+                    final SelectionKey key = ready.next();
+                    ready.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    final Connection conn = (Connection) key.attachment();
+                    if (key.isReadable()) {
+                        read(conn);
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        write(conn);
+                    }
+                }
+
+                // Replies, including those to opponents, go out together
+                while (!dirty.isEmpty()) {
+                    final Connection conn = dirty.poll();
+                    conn.queued = false;
+                    write(conn);
+                }
+            }
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+            selector.close();
+        }
+    }
+
+    /**
+     * Stops {@link #run()} and closes every connection. Safe to call
+     * from any thread.
+     */
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+
+    /**
+     * Accepts every connection waiting.
+     *
+     * @throws IOException if accepting fails
+     */
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        while (channel != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            final Connection conn = new Connection(channel);
+            conn.key = channel.register(selector, SelectionKey.OP_READ,
+                    conn);
+            conn.player = protocol.connect(conn);
+            channel = server.accept();
+        }
+    }
+
+    /**
+     * Reads what a client has sent and handles each whole line.
+     *
+     * @param conn the connection
+     */
+    private void read(final Connection conn) {
+        final ByteBuffer in = conn.in;
+        final int count;
+        try {
+            count = conn.channel.read(in);
+        } catch (IOException e) {
+            drop(conn);
+            return;
+        }
+        if (count < 0) {
+            drop(conn);
+            return;
+        }
+
+        int lineStart = 0;
+        for (int i = 0; i < in.position() && !conn.closing; i++) {
+            if (in.get(i) == '\n') {
+                int end = i;
+                if (end > lineStart && in.get(end - 1) == '\r') {
+                    end--;
+                }
+                final String line = new String(in.array(), lineStart,
+                        end - lineStart, StandardCharsets.US_ASCII);
+                lineStart = i + 1;
+                conn.closing = !protocol.handle(conn.player, line);
+            }
+        }
+        if (!conn.closing) {
+            in.limit(in.position()).position(lineStart);
+            in.compact();
+            if (!in.hasRemaining()) {
+                conn.send("ERROR Line too long");
+                protocol.disconnect(conn.player);
+                conn.closing = true;
+            }
+        }
+        if (conn.closing) {
+            // Stop reading; the replies are written, then it closes
+            conn.key.interestOps(0);
+        }
+    }
+
+    /**
+     * Writes as much of a connection's replies as the socket takes,
+     * watching for room to write the rest. Reading stops while too
+     * many replies are waiting and starts again once they drain.
+     *
+     * @param conn the connection
+     */
+    private void write(final Connection conn) {
+        if (!conn.key.isValid()) {
+            return;
+        }
+        final ByteBuffer out = conn.out;
+        out.flip();
+        try {
+            conn.channel.write(out);
+        } catch (IOException e) {
+            out.clear();
+            drop(conn);
+            return;
+        }
+        out.compact();
+        if (out.position() > 0) {
+            final boolean reading = !conn.closing
+                    && out.position() <= PENDING_BYTES;
+            conn.key.interestOps(SelectionKey.OP_WRITE
+                    | (reading ? SelectionKey.OP_READ : 0));
+        } else if (conn.closing) {
+            close(conn);
+        } else {
+            conn.key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    /**
+     * Closes a connection the client dropped.
+     *
+     * @param conn the connection
+     */
+    private void drop(final Connection conn) {
+        if (!conn.closing) {
+            protocol.disconnect(conn.player);
+        }
+        conn.closing = true;
+        close(conn);
+    }
+
+    /**
+     * Closes a connection's socket.
+     *
+     * @param conn the connection
+     */
+    private void close(final Connection conn) {
+        conn.key.cancel();
+        try {
+            conn.channel.close();
+        } catch (IOException e) {
+            // Already gone, nothing left to do
+        }
+    }
+
+    /**
+     * One client socket and its buffers.
+     */
+    private final class Connection implements GameProtocol.Output {
+
+        /** The socket. */
+        private final SocketChannel channel;
+
+        /** Bytes read but not yet handled. */
+        private final ByteBuffer in = ByteBuffer.allocate(LINE_BYTES);
+
+        /** Replies not yet written. */
+        private ByteBuffer out = ByteBuffer.allocate(REPLY_BYTES);
+
+        /** Registration with the selector. */
+        private SelectionKey key;
+
+        /** The client as the protocol knows it. */
+        private GameProtocol.Player player;
+
+        /** Whether the connection is on the dirty list. */
+        private boolean queued;
+
+        /** Whether to close once the replies are written. */
+        private boolean closing;
+
+        /**
+         * Wraps a newly accepted socket.
+         *
+         * @param socket the socket
+         */
+        private Connection(final SocketChannel socket) {
+            this.channel = socket;
+        }
+
+        @Override
+        public void send(final String line) {
+            final byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+            if (out.remaining() < bytes.length + 1) {
+                final ByteBuffer bigger = ByteBuffer.allocate(
+                        Math.max(out.capacity() * 2,
+                                out.position() + bytes.length + 1));
+                out.flip();
+                bigger.put(out);
+                out = bigger;
+            }
+            out.put(bytes).put((byte) '\n');
+            if (!queued) {
+                queued = true;
+                dirty.add(this);
+            }
+        }
+    }
+}
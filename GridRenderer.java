@@ -0,0 +1,154 @@
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Draws a board into a reusable byte buffer.
+ *
+ * The colored text for each kind of cell is worked out once, and a
+ * whole frame is copied into one buffer and written with a single
+ * call, instead of one print per cell. Not thread safe: use one
+ * renderer per thread.
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class GridRenderer {
+
+    /** Starting size of the frame buffer. */
+    private static final int INITIAL_BYTES = 1024;
+
+    /** Colored text for each cell code, including the trailing space. */
+    private static final byte[][] TOKENS = {
+        token(Battleship.CYAN, Battleship.EMPTY),
+        token(Battleship.GREEN, Battleship.SHIP),
+        token(Battleship.RED, Battleship.HIT),
+        token(Battleship.YELLOW, Battleship.MISS),
+    };
+
+    /** Longest token, used to size the buffer. */
+    private static final int MAX_TOKEN = Math.max(
+            Math.max(TOKENS[Board.CODE_EMPTY].length,
+                    TOKENS[Board.CODE_SHIP].length),
+            Math.max(TOKENS[Board.CODE_HIT].length,
+                    TOKENS[Board.CODE_MISS].length));
+
+    /** Bytes that end a row. */
+    private static final byte[] NEWLINE =
+            System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+
+    /** The frame being built. */
+    private byte[] buffer = new byte[INITIAL_BYTES];
+
+    /** Bytes of the frame used so far. */
+    private int length;
+
+    /**
+     * Builds the colored text for one kind of cell.
+     *
+     * @param color  color code
+     * @param symbol cell symbol
+     * @return the bytes to print
+     */
+    private static byte[] token(final String color, final String symbol) {
+        return (color + symbol + Battleship.RESET + " ")
+                .getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Gets the colored text for a cell code. The array is shared, so
+     * callers must not change it.
+     *
+     * @param code one of the Board.CODE_ values
+     * @return the bytes to print
+     */
+    static byte[] token(final int code) {
+        return TOKENS[code];
+    }
+
+    /**
+     * Draws a board into the buffer, replacing the last frame.
+     *
+     * @param board     the board to draw
+     * @param showShips true if ships should be visible
+     * @return this renderer, so writeTo can be chained
+     */
+    public GridRenderer render(final Board board, final boolean showShips) {
+        return render(board, showShips, 0, 0, board.rows(), board.cols());
+    }
+
+    /**
+     * Draws part of a board into the buffer, replacing the last frame.
+     * Only the cells in the window are read, so a window onto a huge
+     * board costs the same as a small board.
+     *
+     * @param board     the board to draw
+     * @param showShips true if ships should be visible
+     * @param firstRow  top row of the window
+     * @param firstCol  left column of the window
+     * @param rowCount  rows in the window
+     * @param colCount  columns in the window
+     * @return this renderer, so writeTo can be chained
+     */
+    public GridRenderer render(final Board board, final boolean showShips,
+                               final int firstRow, final int firstCol,
+                               final int rowCount, final int colCount) {
+        final int lastRow = Math.min(board.rows(), firstRow + rowCount);
+        final int lastCol = Math.min(board.cols(), firstCol + colCount);
+        ensure((long) rowCount
+                * (colCount * (long) MAX_TOKEN + NEWLINE.length));
+
+        int pos = 0;
+        for (int i = firstRow; i < lastRow; i++) {
+            for (int j = firstCol; j < lastCol; j++) {
+                int code = board.codeAt(i, j);
+                // Only show ships on player’s grid, not enemy’s grid
+                if (code == Board.CODE_SHIP && !showShips) {
+                    code = Board.CODE_EMPTY;
+                }
+                final byte[] token = TOKENS[code];
+                System.arraycopy(token, 0, buffer, pos, token.length);
+                pos += token.length;
+            }
+            System.arraycopy(NEWLINE, 0, buffer, pos, NEWLINE.length);
+            pos += NEWLINE.length;
+        }
+        length = pos;
+        return this;
+    }
+
+    /**
+     * Writes the last frame with one call.
+     *
+     * @param out where to write
+     */
+    public void writeTo(final PrintStream out) {
+        out.write(buffer, 0, length);
+        out.flush();
+    }
+
+    /**
+     * Gets the number of bytes in the last frame.
+     *
+     * @return frame size in bytes
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Grows the buffer if a frame needs more room.
+     *
+     * @param needed bytes needed
+     */
+    private void ensure(final long needed) {
+        if (needed > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Board too big to draw");
+        }
+        if (needed > buffer.length) {
+            buffer = Arrays.copyOf(buffer, (int) Math.min(Integer.MAX_VALUE,
+                    Math.max(needed, 2L * buffer.length)));
+        }
+    }
+}
@@ -0,0 +1,116 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Hunts at random cells it has not tried, then targets the cells
+ * beside each hit until the ship sinks.
+ *
+ * Untried cells are kept in a pool array with a second array saying
+ * where each cell sits in it. Removing a cell moves the last cell of
+ * the pool into its place, so picking and removing are both O(1) and
+ * no cell is ever fired at twice.
+ *
+ * Not taught:
+ * Hunt/target strategy:
+ * https://www.datagenetics.com/blog/december32011/
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class HuntTargetStrategy implements TargetingStrategy {
+
+    /** Value of slot[] for a cell that has been tried. */
+    private static final int TRIED = -1;
+
+    /** Untried cells, in the first untried entries. */
+    private final int[] pool;
+
+    /** Where each cell is in the pool, or TRIED. */
+    private final int[] slot;
+
+    /** Number of untried cells. */
+    private int untried;
+
+    /** Cells beside hits, to try before hunting again. */
+    private final TargetStack targets;
+
+    /** Hits on ships not yet sunk. */
+    private int liveHits;
+
+    /** Number of columns on the board. */
+    private final int cols;
+
+    /** Random number generator for hunting. */
+    private final RandomGenerator rand;
+
+    /**
+     * Creates a hunt/target shooter for a board size.
+     *
+     * @param rows       number of rows
+     * @param colCount   number of columns
+     * @param randomizer random number generator for hunting
+     */
+    public HuntTargetStrategy(final int rows, final int colCount,
+                              final RandomGenerator randomizer) {
+        this.cols = colCount;
+        this.pool = new int[rows * colCount];
+        this.slot = new int[rows * colCount];
+        for (int cell = 0; cell < pool.length; cell++) {
+            pool[cell] = cell;
+            slot[cell] = cell;
+        }
+        this.untried = pool.length;
+        this.targets = new TargetStack(rows, colCount);
+        this.rand = randomizer;
+    }
+
+    @Override
+    public int nextShot() {
+        while (!targets.isEmpty()) {
+            final int cell = targets.pop();
+            if (slot[cell] != TRIED) {
+                return cell;
+            }
+        }
+        if (untried == 0) {
+            throw new IllegalStateException("Every cell has been tried");
+        }
+        return pool[rand.nextInt(untried)];
+    }
+
+    @Override
+    public void record(final int row, final int col,
+                       final ShotResult result, final int sunkLength) {
+        final int cell = row * cols + col;
+        if (slot[cell] == TRIED) {
+            return;
+        }
+        remove(cell);
+        if (result == ShotResult.HIT) {
+            liveHits++;
+            targets.pushNeighbors(cell);
+        } else if (result == ShotResult.SUNK || result == ShotResult.WIN) {
+            // The sinking hit and the ship's other hits are done with
+            liveHits = Math.max(0, liveHits + 1 - sunkLength);
+            if (liveHits == 0) {
+                targets.clear();
+            } else {
+                targets.pushNeighbors(cell);
+            }
+        }
+    }
+
+    /**
+     * Takes a cell out of the pool by moving the last untried cell
+     * into its place.
+     *
+     * @param cell cell number
+     */
+    private void remove(final int cell) {
+        final int at = slot[cell];
+        final int last = pool[--untried];
+        pool[at] = last;
+        slot[last] = at;
+        slot[cell] = TRIED;
+    }
+}
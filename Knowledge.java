@@ -0,0 +1,384 @@
+import java.util.Arrays;
+
+/**
+ * What a shooter knows about the board it is firing at.
+ *
+ * Keeps misses, hits on ships still afloat ("live" hits) and cells of
+ * sunk ships as bitmasks, plus how many ships of each length are left.
+ * Cells are numbered row by row, like {@link Board}.
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class Knowledge {
+
+    /** Shift that turns a cell number into a word number (2^6 = 64). */
+    private static final int WORD_SHIFT = 6;
+
+    /** Number of rows on the board. */
+    private final int rows;
+
+    /** Number of columns on the board. */
+    private final int cols;
+
+    /** Cells fired at that were water. */
+    private final long[] misses;
+
+    /** Cells hit on ships that are still afloat. */
+    private final long[] hits;
+
+    /** Cells of ships that have been sunk. */
+    private final long[] sunk;
+
+    /** Ships left afloat of each length, indexed by length. */
+    private final int[] fleetCount;
+
+    /** Live hit cells, in the order they were hit. */
+    private int[] liveHits;
+
+    /** Number of entries used in liveHits. */
+    private int liveHitCount;
+
+    /** Ships left afloat. */
+    private int shipsLeft;
+
+    /**
+     * Creates knowledge of a board where nothing has been fired at.
+     *
+     * @param rowCount number of rows
+     * @param colCount number of columns
+     * @param fleet    length of every ship on the board
+     */
+    public Knowledge(final int rowCount, final int colCount,
+                     final int[] fleet) {
+        this.rows = rowCount;
+        this.cols = colCount;
+        final int words = (int) (((long) rowCount * colCount
+                + Long.SIZE - 1) >>> WORD_SHIFT);
+        this.misses = new long[words];
+        this.hits = new long[words];
+        this.sunk = new long[words];
+
+        int longest = 0;
+        for (int length : fleet) {
+            longest = Math.max(longest, length);
+        }
+        this.fleetCount = new int[longest + 1];
+        for (int length : fleet) {
+            fleetCount[length]++;
+        }
+        this.shipsLeft = fleet.length;
+        this.liveHits = new int[Math.max(1, longest)];
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return rows on the board
+     */
+    public int rows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of columns.
+     *
+     * @return columns on the board
+     */
+    public int cols() {
+        return cols;
+    }
+
+    /**
+     * Gets the number of cells.
+     *
+     * @return rows * cols
+     */
+    public int cells() {
+        return rows * cols;
+    }
+
+    /**
+     * Checks whether a cell has never been fired at.
+     *
+     * @param cell cell number
+     * @return true if nothing is known about the cell
+     */
+    public boolean isUnknown(final int cell) {
+        final int word = cell >>> WORD_SHIFT;
+        return ((misses[word] | hits[word] | sunk[word])
+                & (1L << cell)) == 0;
+    }
+
+    /**
+     * Gets every cell that has been fired at.
+     *
+     * @return misses, live hits and sunk cells as a bitmask, one bit
+     *         per cell
+     */
+    public long[] firedMask() {
+        final long[] fired = misses.clone();
+        for (int i = 0; i < fired.length; i++) {
+            fired[i] |= hits[i] | sunk[i];
+        }
+        return fired;
+    }
+
+    /**
+     * Checks whether a cell was a miss.
+     *
+     * @param cell cell number
+     * @return true if the cell is known water
+     */
+    public boolean isMiss(final int cell) {
+        return isSet(misses, cell);
+    }
+
+    /**
+     * Checks whether a cell is a hit on a ship still afloat.
+     *
+     * @param cell cell number
+     * @return true if the cell is a live hit
+     */
+    public boolean isLiveHit(final int cell) {
+        return isSet(hits, cell);
+    }
+
+    /**
+     * Checks whether no remaining ship can cover a cell.
+     *
+     * @param cell cell number
+     * @return true for misses and sunk ship cells
+     */
+    public boolean isBlocked(final int cell) {
+        final int word = cell >>> WORD_SHIFT;
+        return ((misses[word] | sunk[word]) & (1L << cell)) != 0;
+    }
+
+    /**
+     * Gets how many ships of a length are still afloat.
+     *
+     * @param length ship length
+     * @return ships of that length left
+     */
+    public int fleetCount(final int length) {
+        return length < fleetCount.length ? fleetCount[length] : 0;
+    }
+
+    /**
+     * Gets the longest ship length the fleet started with.
+     *
+     * @return longest length
+     */
+    public int maxLength() {
+        return fleetCount.length - 1;
+    }
+
+    /**
+     * Gets the number of ships still afloat.
+     *
+     * @return ships left
+     */
+    public int shipsLeft() {
+        return shipsLeft;
+    }
+
+    /**
+     * Gets the number of live hits.
+     *
+     * @return hits on ships still afloat
+     */
+    public int liveHitCount() {
+        return liveHitCount;
+    }
+
+    /**
+     * Gets one of the live hits.
+     *
+     * @param i which live hit (0 is the oldest)
+     * @return cell number
+     */
+    public int liveHit(final int i) {
+        return liveHits[i];
+    }
+
+    /**
+     * Checks whether a ship fits at a position without covering a
+     * miss or a sunk ship.
+     *
+     * @param start    first cell of the ship
+     * @param length   ship length
+     * @param vertical true if the ship runs down instead of across
+     * @return true if it fits on the board and in the open
+     */
+    public boolean fits(final int start, final int length,
+                        final boolean vertical) {
+        final int row = start / cols;
+        final int col = start % cols;
+        if (vertical ? row + length > rows : col + length > cols) {
+            return false;
+        }
+        final int step = vertical ? cols : 1;
+        for (int k = 0, cell = start; k < length; k++, cell += step) {
+            if (isBlocked(cell)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Updates the knowledge with a shot result.
+     *
+     * @param row        row that was fired at
+     * @param col        column that was fired at
+     * @param result     what the shot did
+     * @param sunkLength length of the ship sunk, or 0 if none
+     */
+    public void record(final int row, final int col,
+                       final ShotResult result, final int sunkLength) {
+        final int cell = row * cols + col;
+        if (result == ShotResult.MISS) {
+            markMiss(cell);
+        } else if (result == ShotResult.HIT) {
+            markHit(cell);
+        } else if (result == ShotResult.SUNK || result == ShotResult.WIN) {
+            markHit(cell);
+            for (int part : sunkCells(cell, sunkLength)) {
+                markSunk(part);
+            }
+            removeShip(sunkLength);
+        }
+    }
+
+    /**
+     * Records a miss.
+     *
+     * @param cell cell number
+     */
+    public void markMiss(final int cell) {
+        misses[cell >>> WORD_SHIFT] |= 1L << cell;
+    }
+
+    /**
+     * Records a hit on a ship that is still afloat.
+     *
+     * @param cell cell number
+     */
+    public void markHit(final int cell) {
+        if (isLiveHit(cell)) {
+            return;
+        }
+        hits[cell >>> WORD_SHIFT] |= 1L << cell;
+        if (liveHitCount == liveHits.length) {
+            liveHits = Arrays.copyOf(liveHits, liveHitCount * 2);
+        }
+        liveHits[liveHitCount++] = cell;
+    }
+
+    /**
+     * Turns a live hit into a sunk ship cell.
+     *
+     * @param cell cell number
+     */
+    public void markSunk(final int cell) {
+        hits[cell >>> WORD_SHIFT] &= ~(1L << cell);
+        sunk[cell >>> WORD_SHIFT] |= 1L << cell;
+        for (int i = 0; i < liveHitCount; i++) {
+            if (liveHits[i] == cell) {
+                liveHits[i] = liveHits[--liveHitCount];
+                break;
+            }
+        }
+    }
+
+    /**
+     * Takes one ship of a length off the fleet.
+     *
+     * @param length length of the sunk ship
+     */
+    public void removeShip(final int length) {
+        if (fleetCount(length) > 0) {
+            fleetCount[length]--;
+            shipsLeft--;
+        }
+    }
+
+    /**
+     * Guesses which live hits made up a ship that just sank.
+     *
+     * Only the sinking cell and the length are announced, so this
+     * takes a straight run of live hits through that cell, trying
+     * across first and then down. If no run is long enough only the
+     * sinking cell is returned.
+     *
+     * @param cell   cell of the sinking shot (already a live hit)
+     * @param length length of the sunk ship
+     * @return cells of the sunk ship
+     */
+    public int[] sunkCells(final int cell, final int length) {
+        final int[] across = run(cell, length, false);
+        if (across != null) {
+            return across;
+        }
+        final int[] down = run(cell, length, true);
+        if (down != null) {
+            return down;
+        }
+        return new int[] {cell};
+    }
+
+    /**
+     * Finds a straight run of live hits of a length through a cell.
+     * Cells before the sinking cell are taken first.
+     *
+     * @param cell     cell the run must include
+     * @param length   run length wanted
+     * @param vertical true to look down instead of across
+     * @return cells of the run, or null if there is no such run
+     */
+    private int[] run(final int cell, final int length,
+                      final boolean vertical) {
+        final int step = vertical ? cols : 1;
+        final int line = vertical ? cell % cols : cell / cols;
+        final int[] found = new int[length];
+        int count = 0;
+        found[count++] = cell;
+
+        // Walk backwards, then forwards, while cells are live hits
+        for (int c = cell - step; count < length && c >= 0
+                && sameLine(c, line, vertical) && isLiveHit(c); c -= step) {
+            found[count++] = c;
+        }
+        for (int c = cell + step; count < length && c < cells()
+                && sameLine(c, line, vertical) && isLiveHit(c); c += step) {
+            found[count++] = c;
+        }
+        return count == length ? found : null;
+    }
+
+    /**
+     * Checks that a cell is still in the same row (or column).
+     *
+     * @param cell     cell number
+     * @param line     row number (across) or column number (down)
+     * @param vertical true if line is a column
+     * @return true if the cell is on that line
+     */
+    private boolean sameLine(final int cell, final int line,
+                             final boolean vertical) {
+        return (vertical ? cell % cols : cell / cols) == line;
+    }
+
+    /**
+     * Reads one bit from a mask.
+     *
+     * @param mask the mask to read
+     * @param cell the cell number
+     * @return true if the bit is set
+     */
+    private static boolean isSet(final long[] mask, final int cell) {
+        return (mask[cell >>> WORD_SHIFT] & (1L << cell)) != 0;
+    }
+}
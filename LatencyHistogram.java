@@ -0,0 +1,262 @@
+import java.io.PrintStream;
+
+/**
+ * Histogram of latencies with log-sized buckets, in the style of
+ * HdrHistogram.
+ *
+ * Values below 256 get a bucket each. Above that, every power of two
+ * is split into 128 equal buckets, so any value is known to within
+ * 1% however big it is, and the whole range of a long fits in about
+ * 7,300 counters. Recording is a couple of shifts and an add.
+ *
+ * A load test that waits for each reply before sending the next
+ * request quietly skips the requests a stall would have delayed, so
+ * the slow times are under-counted ("coordinated omission").
+ * {@link #recordCorrected} puts the skipped requests back.
+ *
+ * Not thread safe: give each thread its own and {@link #add} them.
+ *
+ * Not taught:
+ * HdrHistogram and coordinated omission:
+ * http://hdrhistogram.org/
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class LatencyHistogram {
+
+    /** Bits of precision kept within each power of two. */
+    private static final int SUB_BITS = 8;
+
+    /** Buckets per power of two above the exact range. */
+    private static final int HALF = 1 << (SUB_BITS - 1);
+
+    /** Largest bucket number needed for any long. */
+    private static final int BUCKETS = (Long.SIZE - SUB_BITS + 1) * HALF
+            + 2 * HALF;
+
+    /** Percent in a whole. */
+    private static final double PERCENT = 100.0;
+
+    /** Percentile lines printed per halving of the distance to 100%. */
+    private static final int TICKS_PER_HALF = 5;
+
+    /** Count of values in each bucket. */
+    private final long[] counts = new long[BUCKETS];
+
+    /** Number of values recorded. */
+    private long total;
+
+    /** Largest value recorded. */
+    private long max;
+
+    /** Sum of the values, for the mean. */
+    private double sum;
+
+    /**
+     * Records one value.
+     *
+     * @param value the value (not negative)
+     */
+    public void record(final long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value " + value);
+        }
+        counts[bucket(value)]++;
+        total++;
+        sum += value;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Records one value, plus the values that requests sent every
+     * expected interval would have seen while this one was held up:
+     * value - interval, value - 2 * interval, and so on down to the
+     * interval.
+     *
+     * @param value            the value (not negative)
+     * @param expectedInterval time between requests, or 0 for none
+     */
+    public void recordCorrected(final long value,
+                                final long expectedInterval) {
+        record(value);
+        if (expectedInterval <= 0) {
+            return;
+        }
+        for (long missed = value - expectedInterval;
+                missed >= expectedInterval; missed -= expectedInterval) {
+            record(missed);
+        }
+    }
+
+    /**
+     * Adds every value of another histogram to this one.
+     *
+     * @param other histogram to add
+     */
+    public void add(final LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Gets the number of values recorded.
+     *
+     * @return count
+     */
+    public long count() {
+        return total;
+    }
+
+    /**
+     * Gets the largest value recorded.
+     *
+     * @return largest value, or 0 if empty
+     */
+    public long max() {
+        return max;
+    }
+
+    /**
+     * Gets the mean of the values.
+     *
+     * @return mean, or 0 if empty
+     */
+    public double mean() {
+        return total == 0 ? 0 : sum / total;
+    }
+
+    /**
+     * Gets the value that a percentage of the values are at or below.
+     * Reported as the top of its bucket, so it is never too low.
+     *
+     * @param percentile percentage, 0 to 100
+     * @return the value, or 0 if empty
+     */
+    public long valueAt(final double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        final long wanted = Math.max(1,
+                (long) Math.ceil(percentile / PERCENT * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= wanted) {
+                return Math.min(max, highest(i));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Writes the percentile distribution in the text format of
+     * HdrHistogram, which its online plotter reads. Lines get closer
+     * together towards 100%, the way HdrHistogram prints them.
+     *
+     * @param out   where to write
+     * @param scale divide values by this (1000 for nanoseconds shown
+     *              as microseconds)
+     */
+    public void writePercentiles(final PrintStream out, final double scale) {
+        out.println("       Value     Percentile TotalCount 1/(1-Percentile)");
+        out.println();
+        if (total == 0) {
+            return;
+        }
+        double percentile = 0;
+        double step = PERCENT / (2 * TICKS_PER_HALF);
+        int ticks = 0;
+        long lastValue = -1;
+        while (percentile < PERCENT) {
+            final long value = valueAt(percentile);
+            if (value != lastValue || percentile == 0) {
+                writeLine(out, value / scale, percentile, countAtOrBelow(
+                        value));
+                lastValue = value;
+            }
+            if (countAtOrBelow(value) == total) {
+                break;
+            }
+            percentile += step;
+            if (++ticks == TICKS_PER_HALF) {
+                ticks = 0;
+                step /= 2;
+            }
+        }
+        writeLine(out, max / scale, PERCENT, total);
+        out.printf("#[Mean    = %12.3f, Max      = %12.3f]%n",
+                mean() / scale, max / scale);
+        out.printf("#[Total count    = %12d]%n", total);
+    }
+
+    /**
+     * Writes one line of the percentile distribution.
+     *
+     * @param out        where to write
+     * @param value      scaled value
+     * @param percentile percentage at or below the value
+     * @param count      values at or below the value
+     */
+    private static void writeLine(final PrintStream out, final double value,
+                                  final double percentile, final long count) {
+        final double fraction = percentile / PERCENT;
+        if (fraction < 1) {
+            out.printf("%12.3f %14.12f %10d %14.2f%n", value, fraction,
+                    count, 1 / (1 - fraction));
+        } else {
+            out.printf("%12.3f %14.12f %10d%n", value, fraction, count);
+        }
+    }
+
+    /**
+     * Counts the values in buckets up to the one holding a value.
+     *
+     * @param value the value
+     * @return values at or below its bucket
+     */
+    private long countAtOrBelow(final long value) {
+        final int last = bucket(value);
+        long seen = 0;
+        for (int i = 0; i <= last; i++) {
+            seen += counts[i];
+        }
+        return seen;
+    }
+
+    /**
+     * Finds the bucket for a value.
+     *
+     * @param value the value (not negative)
+     * @return bucket number
+     */
+    private static int bucket(final long value) {
+        if (value < 2 * HALF) {
+            return (int) value;
+        }
+        // Keep the top SUB_BITS bits: the shift picks the power of two
+        final int shift = Long.SIZE - Long.numberOfLeadingZeros(value)
+                - SUB_BITS;
+        return shift * HALF + (int) (value >>> shift);
+    }
+
+    /**
+     * Gets the largest value that lands in a bucket.
+     *
+     * @param bucket bucket number
+     * @return largest value in it
+     */
+    private static long highest(final int bucket) {
+        if (bucket < 2 * HALF) {
+            return bucket;
+        }
+        final int shift = bucket / HALF - 1;
+        final long sub = bucket - (long) shift * HALF;
+        return ((sub + 1) << shift) - 1;
+    }
+}
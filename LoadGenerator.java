@@ -0,0 +1,426 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives many simulated players against a local game server and
+ * measures how long each move takes.
+ *
+ * Every player plays the computer over the {@link GameProtocol} line
+ * protocol, so the server resolves each shot with the same rules as
+ * the console game. Players fire at the cells in a random order, at
+ * a fixed rate each, and start a new game when one ends. One thread
+ * runs every player with a selector, so the generator itself is not
+ * short of threads.
+ *
+ * Each move is timed from sending FIRE to the next TURN (or the end
+ * of the game). When a reply comes back later than the player meant
+ * to fire next, the moves that should have been sent in the meantime
+ * are added to the corrected histogram (see
+ * {@link LatencyHistogram#recordCorrected}).
+ *
+ * Flags:
+ * <pre>
+ * --players N     simulated players (100)
+ * --rate N        moves per second per player, 0 for flat out (10)
+ * --seconds N     how long to run (10)
+ * --server KIND   selector or threaded to start one in this process,
+ *                 none to use a running server (selector)
+ * --port N        port of a running server (4040)
+ * --rows N, --cols N, --fleet SPEC, --seed N  as for the game
+ * --out FILE      corrected percentile distribution (latency.hgrm)
+ * </pre>
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class LoadGenerator {
+
+    /** Simulated players when none is given. */
+    private static final int DEFAULT_PLAYERS = 100;
+
+    /** Moves per second per player when none is given. */
+    private static final int DEFAULT_RATE = 10;
+
+    /** Run time in seconds when none is given. */
+    private static final int DEFAULT_SECONDS = 10;
+
+    /** Percentile file when none is given. */
+    private static final String DEFAULT_OUTPUT = "latency.hgrm";
+
+    /** Longest line the server sends. */
+    private static final int LINE_BYTES = 256;
+
+    /** Nanoseconds in a microsecond. */
+    private static final double NANOS_PER_MICRO = 1e3;
+
+    /** Percentiles shown in the summary. */
+    private static final double[] SUMMARY = {50, 90, 99, 99.9, 99.99};
+
+    /** Picks which players have replies waiting. */
+    private final Selector selector;
+
+    /** Players waiting to fire, soonest first. */
+    private final PriorityQueue<Player> due = new PriorityQueue<>(
+            (a, b) -> Long.compare(a.dueAt, b.dueAt));
+
+    /** Move times as measured. */
+    private final LatencyHistogram raw = new LatencyHistogram();
+
+    /** Move times with coordinated omission corrected. */
+    private final LatencyHistogram corrected = new LatencyHistogram();
+
+    /** Nanoseconds between one player's moves, or 0 for flat out. */
+    private final long interval;
+
+    /** Number of rows on the server's boards. */
+    private int rows;
+
+    /** Number of columns on the server's boards. */
+    private int cols;
+
+    /** Games played to the end. */
+    private long games;
+
+    /** ERROR lines from the server. */
+    private long errors;
+
+    /**
+     * Creates a generator.
+     *
+     * @param rate moves per second per player, or 0 for flat out
+     * @throws IOException if the selector cannot be opened
+     */
+    private LoadGenerator(final int rate) throws IOException {
+        this.selector = Selector.open();
+        this.interval = rate > 0 ? TimeUnit.SECONDS.toNanos(1) / rate : 0;
+    }
+
+    /**
+     * Runs the load test from the command line.
+     *
+     * @param args flags, see the class comment
+     * @throws Exception if the server cannot be reached
+     */
+    public static void main(final String[] args) throws Exception {
+        final int players = intFlag(args, "--players", DEFAULT_PLAYERS);
+        final int rate = intFlag(args, "--rate", DEFAULT_RATE);
+        final int seconds = intFlag(args, "--seconds", DEFAULT_SECONDS);
+        final String kind = GameOptions.argValue(args, "--server");
+        final String outText = GameOptions.argValue(args, "--out");
+        final Path output = Paths.get(outText == null
+                ? DEFAULT_OUTPUT : outText);
+        final GameOptions options = GameOptions.parse(args,
+                new SplittableRandom());
+
+        AutoCloseable server = null;
+        int port = intFlag(args, "--port", GameServer.DEFAULT_PORT);
+        if (!"none".equals(kind)) {
+            final GameProtocol rules = new GameProtocol(options.rows(),
+                    options.cols(), options.fleet(),
+                    new SplittableRandom(options.rand().nextLong()));
+            final Thread thread;
+            if ("threaded".equals(kind)) {
+                final ThreadedGameServer threaded =
+                        new ThreadedGameServer(0, rules);
+                port = threaded.port();
+                server = threaded;
+                thread = new Thread(
+                        () -> SessionLoadTest.runQuietly(threaded::run));
+            } else {
+                final GameServer nio = new GameServer(0, rules);
+                port = nio.port();
+                server = nio;
+                thread = new Thread(
+                        () -> SessionLoadTest.runQuietly(nio::run));
+            }
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        final LoadGenerator generator = new LoadGenerator(rate);
+        generator.run(port, players, TimeUnit.SECONDS.toNanos(seconds),
+                new SplittableRandom(options.rand().nextLong()));
+        if (server != null) {
+            server.close();
+        }
+
+        generator.printSummary(System.out, players, rate, seconds);
+        try (PrintStream out = new PrintStream(
+                Files.newOutputStream(output), false, "UTF-8")) {
+            generator.corrected.writePercentiles(out, NANOS_PER_MICRO);
+        }
+        System.out.println("Percentile distribution (us) written to "
+                + output);
+    }
+
+    /**
+     * Connects the players and plays until the time is up.
+     *
+     * @param port     server port
+     * @param players  number of players
+     * @param duration run time in nanoseconds
+     * @param rand     random number generator for shot orders
+     * @throws IOException if a player cannot connect
+     */
+    private void run(final int port, final int players, final long duration,
+                     final SplittableRandom rand) throws IOException {
+        final InetSocketAddress address = new InetSocketAddress(
+                InetAddress.getLoopbackAddress(), port);
+        for (int i = 0; i < players; i++) {
+            final SocketChannel channel = SocketChannel.open(address);
+            channel.configureBlocking(false);
+            channel.register(selector, SelectionKey.OP_READ,
+                    new Player(channel, rand.split()));
+        }
+
+        final long end = System.nanoTime() + duration;
+        long now = System.nanoTime();
+        while (now < end) {
+            final Player next = due.peek();
+            final long wait = Math.min(end, next == null
+                    ? end : next.dueAt) - now;
+            if (wait > 0) {
+                selector.select(Math.max(1,
+                        TimeUnit.NANOSECONDS.toMillis(wait)));
+            } else {
+                selector.selectNow();
+            }
+            now = System.nanoTime();
+            final Iterator<SelectionKey> ready =
+                    selector.selectedKeys().iterator();
+            while (ready.hasNext()) {
+                final SelectionKey key = ready.next();
+                ready.remove();
+                read((Player) key.attachment(), now);
+            }
+            while (!due.isEmpty() && due.peek().dueAt <= now) {
+                fire(due.poll(), now);
+            }
+        }
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+    }
+
+    /**
+     * Reads a player's replies and acts on each whole line.
+     *
+     * @param player the player
+     * @param now    current time
+     * @throws IOException if the connection fails
+     */
+    private void read(final Player player, final long now)
+            throws IOException {
+        final ByteBuffer in = player.in;
+        if (player.channel.read(in) < 0) {
+            throw new IOException("Server closed a connection");
+        }
+        int lineStart = 0;
+        for (int i = 0; i < in.position(); i++) {
+            if (in.get(i) == '\n') {
+                handle(player, new String(in.array(), lineStart,
+                        i - lineStart, StandardCharsets.US_ASCII), now);
+                lineStart = i + 1;
+            }
+        }
+        in.limit(in.position()).position(lineStart);
+        in.compact();
+    }
+
+    /**
+     * Acts on one line from the server.
+     *
+     * @param player the player it was sent to
+     * @param line   the line
+     * @param now    time it was read
+     * @throws IOException if a reply cannot be sent
+     */
+    private void handle(final Player player, final String line,
+                        final long now) throws IOException {
+        if (line.startsWith("HELLO")) {
+            final String[] words = line.split(" ");
+            rows = Integer.parseInt(words[1]);
+            cols = Integer.parseInt(words[2]);
+            player.newGame(rows * cols);
+            SessionLoadTest.send(player.channel, "PLAY AI");
+        } else if (line.equals("TURN") || line.startsWith("OVER")) {
+            long ready = now;
+            if (player.waiting) {
+                final long latency = now - player.sentAt;
+                raw.record(latency);
+                corrected.recordCorrected(latency, interval);
+                // Fire on schedule, or now if the reply was late
+                ready = Math.max(now, player.sentAt + interval);
+                player.waiting = false;
+            }
+            if (line.equals("TURN")) {
+                player.dueAt = ready;
+                due.add(player);
+            } else {
+                games++;
+                player.newGame(rows * cols);
+                SessionLoadTest.send(player.channel, "PLAY AI");
+            }
+        } else if (line.startsWith("ERROR")) {
+            errors++;
+        }
+    }
+
+    /**
+     * Fires a player's next shot.
+     *
+     * @param player the player
+     * @param now    current time
+     * @throws IOException if the line cannot be sent
+     */
+    private void fire(final Player player, final long now)
+            throws IOException {
+        final int cell = player.nextCell();
+        player.sentAt = now;
+        player.waiting = true;
+        SessionLoadTest.send(player.channel,
+                "FIRE " + (cell / cols + 1) + " " + (cell % cols + 1));
+    }
+
+    /**
+     * Prints the counts and latency percentiles.
+     *
+     * @param out     where to print
+     * @param players number of players
+     * @param rate    moves per second per player
+     * @param seconds run time
+     */
+    private void printSummary(final PrintStream out, final int players,
+                              final int rate, final int seconds) {
+        out.printf("Players: %d at %s moves/s each for %d s%n", players,
+                rate > 0 ? Integer.toString(rate) : "max", seconds);
+        out.printf("Moves: %d (%.0f/s), games finished: %d, errors: %d%n",
+                raw.count(), (double) raw.count() / seconds, games, errors);
+        printLatency(out, "Measured ", raw);
+        printLatency(out, "Corrected", corrected);
+    }
+
+    /**
+     * Prints one histogram's percentiles on a line.
+     *
+     * @param out       where to print
+     * @param label     name of the histogram
+     * @param histogram the histogram
+     */
+    private static void printLatency(final PrintStream out,
+                                     final String label,
+                                     final LatencyHistogram histogram) {
+        final StringBuilder line = new StringBuilder(label + " (us):");
+        for (double percentile : SUMMARY) {
+            line.append(String.format(" p%s %.1f",
+                    percentile == (long) percentile
+                            ? Long.toString((long) percentile)
+                            : Double.toString(percentile),
+                    histogram.valueAt(percentile) / NANOS_PER_MICRO));
+        }
+        line.append(String.format(" max %.1f mean %.1f",
+                histogram.max() / NANOS_PER_MICRO,
+                histogram.mean() / NANOS_PER_MICRO));
+        out.println(line);
+    }
+
+    /**
+     * Reads a whole number flag.
+     *
+     * @param args     command line arguments
+     * @param flag     the flag
+     * @param fallback value if the flag is missing
+     * @return the value
+     */
+    private static int intFlag(final String[] args, final String flag,
+                               final int fallback) {
+        final String text = GameOptions.argValue(args, flag);
+        return text == null ? fallback : Integer.parseInt(text);
+    }
+
+    /**
+     * One simulated player.
+     */
+    private static final class Player {
+
+        /** Connection to the server. */
+        private final SocketChannel channel;
+
+        /** Bytes read but not yet handled. */
+        private final ByteBuffer in = ByteBuffer.allocate(LINE_BYTES);
+
+        /** Random number generator for the shot order. */
+        private final SplittableRandom rand;
+
+        /** Cells in the order they will be fired at. */
+        private int[] order = new int[0];
+
+        /** Shots fired this game. */
+        private int fired;
+
+        /** When the player means to fire next. */
+        private long dueAt;
+
+        /** When the last shot was sent. */
+        private long sentAt;
+
+        /** Whether a shot is waiting for its reply. */
+        private boolean waiting;
+
+        /**
+         * Creates a player.
+         *
+         * @param socket     connection to the server
+         * @param randomizer random number generator for shot orders
+         */
+        private Player(final SocketChannel socket,
+                       final SplittableRandom randomizer) {
+            this.channel = socket;
+            this.rand = randomizer;
+        }
+
+        /**
+         * Gets ready for a new game.
+         *
+         * @param cells number of cells on the board
+         */
+        private void newGame(final int cells) {
+            if (order.length != cells) {
+                order = new int[cells];
+                for (int i = 0; i < cells; i++) {
+                    order[i] = i;
+                }
+            }
+            fired = 0;
+        }
+
+        /**
+         * Picks the next cell, shuffling as it goes.
+         *
+         * @return cell number
+         */
+        private int nextCell() {
+            final int pick = fired + rand.nextInt(order.length - fired);
+            final int cell = order[pick];
+            order[pick] = order[fired];
+            order[fired++] = cell;
+            return cell;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+import java.util.Arrays;
+
+/**
+ * Small hash map from long keys to int values.
+ *
+ * Uses open addressing with linear probing over plain arrays, so there
+ * is no boxing and no per-entry object. Keys must not be negative.
+ *
+ * Not taught:
+ * Open addressing:
+ * https://en.wikipedia.org/wiki/Open_addressing
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class LongIntMap {
+
+    /** Value returned by get when a key is not in the map. */
+    public static final int MISSING = -1;
+
+    /** Marks a free slot in the key array. */
+    private static final long FREE = Long.MIN_VALUE;
+
+    /** Smallest table size used. */
+    private static final int MIN_CAPACITY = 16;
+
+    /** First multiplier for the hash mixer (from MurmurHash3). */
+    private static final long MIX_1 = 0xff51afd7ed558ccdL;
+
+    /** Second multiplier for the hash mixer (from MurmurHash3). */
+    private static final long MIX_2 = 0xc4ceb9fe1a85ec53L;
+
+    /** Shift used by the hash mixer. */
+    private static final int MIX_SHIFT = 33;
+
+    /** Key stored in each slot, or FREE. */
+    private long[] keys;
+
+    /** Value stored in each slot. */
+    private int[] values;
+
+    /** Number of keys stored. */
+    private int size;
+
+    /**
+     * Creates an empty map.
+     */
+    public LongIntMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates an empty map sized for an expected number of keys.
+     *
+     * @param expected number of keys expected
+     */
+    public LongIntMap(final int expected) {
+        int capacity = MIN_CAPACITY;
+        // Keep the table at most half full
+        while (capacity < 2L * expected) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * Gets the value for a key.
+     *
+     * @param key the key to look up
+     * @return the value, or MISSING if the key is not there
+     */
+    public int get(final long key) {
+        final int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != FREE) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    /**
+     * Stores a value for a key, replacing any old value.
+     *
+     * @param key   the key (not negative)
+     * @param value the value to store
+     */
+    public void put(final long key, final int value) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Key must not be negative");
+        }
+        if (2 * (size + 1) > keys.length) {
+            grow();
+        }
+        final int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != FREE) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    /**
+     * Gets the number of keys stored.
+     *
+     * @return number of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of slots in the table, for walking every entry
+     * with keyAt and valueAt.
+     *
+     * @return number of slots
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Gets the key stored in a slot.
+     *
+     * @param slot slot number (0 to capacity - 1)
+     * @return the key, or a negative number if the slot is free
+     */
+    public long keyAt(final int slot) {
+        return keys[slot];
+    }
+
+    /**
+     * Gets the value stored in a slot.
+     *
+     * @param slot slot number (0 to capacity - 1)
+     * @return the value (meaningless if the slot is free)
+     */
+    public int valueAt(final int slot) {
+        return values[slot];
+    }
+
+    /**
+     * Removes every key.
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+    }
+
+    /**
+     * Doubles the table and re-inserts every key.
+     */
+    private void grow() {
+        final long[] oldKeys = keys;
+        final int[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     * Makes new empty arrays of the given size.
+     *
+     * @param capacity number of slots (a power of two)
+     */
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, FREE);
+    }
+
+    /**
+     * Spreads the bits of a key so nearby keys land in different slots.
+     *
+     * @param key the key
+     * @return mixed hash
+     */
+    private static int hash(final long key) {
+        return (int) mix(key);
+    }
+
+    /**
+     * Scrambles the bits of a number with the MurmurHash3 finalizer,
+     * so nearby numbers give unrelated results.
+     *
+     * @param z the number
+     * @return scrambled number
+     */
+    static long mix(final long z) {
+        long h = z;
+        h ^= h >>> MIX_SHIFT;
+        h *= MIX_1;
+        h ^= h >>> MIX_SHIFT;
+        h *= MIX_2;
+        h ^= h >>> MIX_SHIFT;
+        return h;
+    }
+}
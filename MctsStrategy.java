@@ -0,0 +1,682 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks each shot by playing the rest of the game many times over in
+ * its head, from what it knows now, and keeping the first shot that
+ * finished soonest on average.
+ *
+ * Each move starts by dealing up to a thousand fleets that fit what
+ * is known ({@link FleetDealer}), for at most half the move's time,
+ * and keeping the cells covered nearly as often as the most covered
+ * one as candidate shots. Then, until the move's time is up, every
+ * playout deals a fresh fleet, picks a candidate with the UCB1 rule
+ * (try the candidates that have done well, but give the little-tried
+ * ones a chance), fires it, and finishes the game with quick
+ * hunt/target shots on bitboards. Fewer shots to sink the fleet is a
+ * better score. The most played candidate is fired for real.
+ *
+ * The hidden fleet is dealt again for every playout, so the search
+ * tree stops at the candidate shots: deeper nodes would belong to a
+ * different fleet each time.
+ *
+ * The n-th playout of every candidate deals the same fleet and uses
+ * the same random numbers, so candidates are compared on the same
+ * games and far fewer playouts tell them apart.
+ *
+ * As many workers as the pool has threads run playouts on the same
+ * candidates at once (root parallelism), one of them on the calling
+ * thread, so a single-threaded pool never hands the move to another
+ * thread and back. Visit counts and scores are atomic counters, so
+ * workers never wait for each other.
+ *
+ * Usage: {@code java MctsStrategy [size] [millis] [seed]} plays one
+ * game with the classic fleet and prints the playouts per second.
+ *
+ * Not taught:
+ * Monte Carlo tree search and UCB1:
+ * https://en.wikipedia.org/wiki/Monte_Carlo_tree_search
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class MctsStrategy implements TargetingStrategy {
+
+    /** Fleets dealt to pick the candidate shots. */
+    private static final int PRIOR_FLEETS = 1000;
+
+    /** Most candidate shots searched each move. */
+    private static final int CANDIDATES = 16;
+
+    /**
+     * Least share of the best cell's coverage a cell needs to be a
+     * candidate.
+     */
+    private static final double CLOSE_SHARE = 0.9;
+
+    /** Weight of trying less played candidates in UCB1. */
+    private static final double EXPLORATION = 0.15;
+
+    /** Fixed-point scale for the scores kept in atomic longs. */
+    private static final double SCORE_SCALE = 1 << 20;
+
+    /** Playout shots between looks at the clock, less one. */
+    private static final int CLOCK_MASK = 1023;
+
+    /** Random cells tried while hunting before searching in order. */
+    private static final int HUNT_TRIES = 64;
+
+    /** Fleets tried for one playout before giving it up. */
+    private static final int DEAL_TRIES = 8;
+
+    /** Shift that turns a cell number into a word number (2^6 = 64). */
+    private static final int WORD_SHIFT = 6;
+
+    /** Board side for main when none is given. */
+    private static final int DEFAULT_SIZE = 10;
+
+    /** Nanoseconds in a second. */
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /** What has been learned about the target board. */
+    private final Knowledge know;
+
+    /** Time allowed per move, in nanoseconds. */
+    private final long budgetNanos;
+
+    /** Pool the playouts run on. */
+    private final ForkJoinPool pool;
+
+    /** Random number generator for seeding moves. */
+    private final RandomGenerator rand;
+
+    /** Playouts run for the last move. */
+    private long lastPlayouts;
+
+    /** Playouts run over every move so far. */
+    private long totalPlayouts;
+
+    /** Time spent over every move so far, in nanoseconds. */
+    private long totalNanos;
+
+    /**
+     * Creates a tree search shooter.
+     *
+     * @param rows       number of rows
+     * @param cols       number of columns
+     * @param fleet      length of every ship on the target board
+     * @param randomizer random number generator to use
+     * @param budget     time to spend per move, in nanoseconds
+     * @param workers    pool to run the playouts on
+     */
+    public MctsStrategy(final int rows, final int cols, final int[] fleet,
+                        final RandomGenerator randomizer,
+                        final long budget, final ForkJoinPool workers) {
+        if (budget < 1) {
+            throw new IllegalArgumentException(
+                    "Time budget must be positive");
+        }
+        this.know = new Knowledge(rows, cols, fleet);
+        this.budgetNanos = budget;
+        this.pool = workers;
+        this.rand = randomizer;
+    }
+
+    /**
+     * Plays one game against a random board and prints how fast the
+     * search runs.
+     *
+     * @param args board side, milliseconds per move and seed
+     */
+    public static void main(final String[] args) {
+        final int size = args.length > 0
+                ? Integer.parseInt(args[0]) : DEFAULT_SIZE;
+        final long millis = args.length > 1 ? Long.parseLong(args[1])
+                : MonteCarloStrategy.DEFAULT_BUDGET_MILLIS;
+        final SplittableRandom seeds = args.length > 2
+                ? new SplittableRandom(Long.parseLong(args[2]))
+                : new SplittableRandom();
+        final int[] fleet = Fleet.classic();
+        final Board board = Board.random(size, size, fleet, seeds);
+        final MctsStrategy ai = new MctsStrategy(size, size, fleet, seeds,
+                TimeUnit.MILLISECONDS.toNanos(millis),
+                ForkJoinPool.commonPool());
+        int shots = 0;
+        while (!board.allSunk()) {
+            final int cell = ai.nextShot();
+            final int row = cell / size;
+            final int col = cell % size;
+            final ShotResult result = board.fire(row, col);
+            ai.record(row, col, result, result == ShotResult.SUNK
+                    || result == ShotResult.WIN
+                    ? board.shipLengthAt(row, col) : 0);
+            shots++;
+        }
+        System.out.println("Board:            " + size + "x" + size);
+        System.out.println("Time per move:    " + millis + " ms");
+        System.out.println("Workers:          "
+                + ForkJoinPool.commonPool().getParallelism());
+        System.out.println("Shots to win:     " + shots);
+        System.out.printf("Playouts/move:    %.0f%n",
+                (double) ai.totalPlayouts / shots);
+        System.out.printf("Playouts/second:  %.0f%n",
+                ai.playoutsPerSecond());
+    }
+
+    /**
+     * Gets how many playouts the last move ran.
+     *
+     * @return playouts for the last shot
+     */
+    public long lastPlayouts() {
+        return lastPlayouts;
+    }
+
+    /**
+     * Gets the search speed over every move so far, the number to
+     * watch when tuning.
+     *
+     * @return playouts per second, or 0 before the first move
+     */
+    public double playoutsPerSecond() {
+        return totalNanos == 0
+                ? 0 : totalPlayouts * NANOS_PER_SECOND / totalNanos;
+    }
+
+    @Override
+    public int nextShot() {
+        final long started = System.nanoTime();
+        final long deadline = started + budgetNanos;
+        final Search search = new Search(FleetDealer.remainingShips(know),
+                FleetDealer.liveHits(know), deadline, rand.nextLong());
+        final int[] candidates = candidates(search,
+                new SplittableRandom(rand.nextLong()),
+                started + budgetNanos / 2);
+        if (candidates.length == 0) {
+            throw new IllegalStateException("Every cell has been tried");
+        }
+        if (candidates.length == 1) {
+            lastPlayouts = 0;
+            return candidates[0];
+        }
+        search.start(candidates);
+
+        final int workers = Math.max(1, pool.getParallelism());
+        final List<ForkJoinTask<Long>> running = new ArrayList<>();
+        for (int w = 1; w < workers; w++) {
+            running.add(pool.submit(new Worker(search)));
+        }
+        long playouts = new Worker(search).call();
+        for (ForkJoinTask<Long> done : running) {
+            playouts += done.join();
+        }
+
+        // Most played candidate; the first (most covered) wins ties
+        int best = 0;
+        for (int i = 1; i < candidates.length; i++) {
+            if (search.visits.get(i) > search.visits.get(best)) {
+                best = i;
+            }
+        }
+        lastPlayouts = playouts;
+        totalPlayouts += playouts;
+        totalNanos += System.nanoTime() - started;
+        return candidates[best];
+    }
+
+    @Override
+    public void record(final int row, final int col,
+                       final ShotResult result, final int sunkLength) {
+        know.record(row, col, result, sunkLength);
+    }
+
+    /**
+     * Picks the candidate shots: the unknown cells covered by random
+     * fleets nearly as often as the most covered one, most covered
+     * first. If no fleet can be
+     * dealt, every unknown cell next to a live hit, or failing that
+     * every unknown cell, is a candidate.
+     *
+     * @param search what the move shares
+     * @param rng    random number generator
+     * @param stopAt System.nanoTime() at which to stop dealing
+     * @return candidate cells
+     */
+    private int[] candidates(final Search search,
+                             final SplittableRandom rng,
+                             final long stopAt) {
+        final int[] heat = new int[know.cells()];
+        final FleetDealer dealer = new FleetDealer(know, search.ships,
+                search.hits);
+        for (int n = 0; n < PRIOR_FLEETS; n++) {
+            if (System.nanoTime() - stopAt >= 0) {
+                break;
+            }
+            if (!dealer.deal(rng)) {
+                continue;
+            }
+            for (int s = 0; s < dealer.shipCount(); s++) {
+                final int step = dealer.vertical(s) ? know.cols() : 1;
+                for (int k = 0, cell = dealer.start(s);
+                        k < dealer.length(s); k++, cell += step) {
+                    heat[cell]++;
+                }
+            }
+        }
+        final int[] top = new int[CANDIDATES];
+        int count = 0;
+        for (int cell = 0; cell < know.cells(); cell++) {
+            if (!know.isUnknown(cell) || heat[cell] == 0) {
+                continue;
+            }
+            // Insertion into the short list, most covered first
+            int at = Math.min(count, CANDIDATES - 1);
+            if (count == CANDIDATES && heat[cell] <= heat[top[at]]) {
+                continue;
+            }
+            while (at > 0 && heat[top[at - 1]] < heat[cell]) {
+                top[at] = top[at - 1];
+                at--;
+            }
+            top[at] = cell;
+            count = Math.min(count + 1, CANDIDATES);
+        }
+        if (count == 0) {
+            return fallbackCandidates();
+        }
+
+        // Only cells nearly as likely as the best are worth searching
+        int close = 1;
+        while (close < count
+                && heat[top[close]] >= CLOSE_SHARE * heat[top[0]]) {
+            close++;
+        }
+        return Arrays.copyOf(top, close);
+    }
+
+    /**
+     * Lists unknown cells next to live hits, or every unknown cell if
+     * there are none, up to the candidate limit.
+     *
+     * @return candidate cells
+     */
+    private int[] fallbackCandidates() {
+        final int cols = know.cols();
+        final int[] found = new int[CANDIDATES];
+        int count = 0;
+        for (int i = 0; i < know.liveHitCount() && count < CANDIDATES;
+                i++) {
+            final int hit = know.liveHit(i);
+            final int[] around = {hit - cols, hit + cols,
+                hit % cols > 0 ? hit - 1 : -1,
+                hit % cols + 1 < cols ? hit + 1 : -1};
+            for (int cell : around) {
+                if (cell >= 0 && cell < know.cells()
+                        && know.isUnknown(cell) && count < CANDIDATES) {
+                    found[count++] = cell;
+                }
+            }
+        }
+        for (int cell = 0; cell < know.cells() && count == 0; cell++) {
+            if (know.isUnknown(cell)) {
+                found[count++] = cell;
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    /**
+     * What every worker of one move shares.
+     */
+    private final class Search {
+
+        /** Lengths of the ships still afloat. */
+        private final int[] ships;
+
+        /** Live hits. */
+        private final int[] hits;
+
+        /** System.nanoTime() at which to stop. */
+        private final long deadline;
+
+        /** Seed the n-th playout of every candidate starts from. */
+        private final long seed;
+
+        /** Cells fired at before this move. */
+        private final long[] fired;
+
+        /** Cells not fired at before this move. */
+        private final int unknown;
+
+        /** Candidate shots. */
+        private int[] candidates;
+
+        /** Playouts of each candidate. */
+        private AtomicLongArray visits;
+
+        /** Sum of the scores of each candidate, fixed point. */
+        private AtomicLongArray scores;
+
+        /** Playouts of every candidate together. */
+        private final AtomicLong total = new AtomicLong();
+
+        /**
+         * Gathers what the workers of one move need.
+         *
+         * @param lengths  lengths of the ships still afloat
+         * @param liveHits live hits
+         * @param stopAt   System.nanoTime() at which to stop
+         * @param base     seed for the playouts
+         */
+        private Search(final int[] lengths, final int[] liveHits,
+                       final long stopAt, final long base) {
+            this.ships = lengths;
+            this.hits = liveHits;
+            this.deadline = stopAt;
+            this.seed = base;
+            this.fired = know.firedMask();
+            int count = 0;
+            for (long word : fired) {
+                count += Long.bitCount(word);
+            }
+            this.unknown = know.cells() - count;
+        }
+
+        /**
+         * Sets the candidates and clears their counts, before any
+         * worker starts.
+         *
+         * @param shots candidate cells
+         */
+        private void start(final int[] shots) {
+            this.candidates = shots;
+            this.visits = new AtomicLongArray(shots.length);
+            this.scores = new AtomicLongArray(shots.length);
+        }
+
+        /**
+         * Picks the candidate to play out next by UCB1. Unplayed
+         * candidates go first.
+         *
+         * @return candidate index
+         */
+        private int select() {
+            final double logTotal = Math.log(Math.max(1, total.get()));
+            int best = 0;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < candidates.length; i++) {
+                final long n = visits.get(i);
+                if (n == 0) {
+                    return i;
+                }
+                final double value = scores.get(i) / SCORE_SCALE / n
+                        + EXPLORATION * Math.sqrt(logTotal / n);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = i;
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Runs playouts until the move's time is up. Each worker has its
+     * own dealer and bitboards; each playout its own random numbers.
+     */
+    private final class Worker implements Callable<Long> {
+
+        /** What the move shares. */
+        private final Search search;
+
+        /** Random number generator for the current playout. */
+        private SplittableRandom rng;
+
+        /** Deals the hidden fleet for each playout. */
+        private final FleetDealer dealer;
+
+        /** Cells fired at during the playout. */
+        private final long[] shot;
+
+        /** Cells of the fleet dealt for the playout. */
+        private final long[] fleetCells;
+
+        /** Cells to try next after hits in the playout. */
+        private final int[] stack;
+
+        /** Number of cells on the stack. */
+        private int stackSize;
+
+        /** Dealt ship on each cell in the playout, or -1 for water. */
+        private final int[] owner;
+
+        /** Cells of each dealt ship not hit yet in the playout. */
+        private final int[] unhit;
+
+        /** Checkerboard colour hunted in the playout, 0 or 1. */
+        private int parity;
+
+        /**
+         * Creates a worker.
+         *
+         * @param shared what the move shares
+         */
+        private Worker(final Search shared) {
+            this.search = shared;
+            this.dealer = new FleetDealer(know, shared.ships, shared.hits);
+            this.shot = new long[shared.fired.length];
+            this.fleetCells = new long[shared.fired.length];
+            int shipCells = shared.hits.length;
+            for (int length : shared.ships) {
+                shipCells += length;
+            }
+            // Each hit pushes at most four neighbours
+            this.stack = new int[4 * shipCells + 4];
+            this.owner = new int[know.cells()];
+            Arrays.fill(owner, -1);
+            this.unhit = new int[shared.ships.length];
+        }
+
+        @Override
+        public Long call() {
+            long playouts = 0;
+            while (System.nanoTime() - search.deadline < 0) {
+                // Counted now so other workers see it is being played
+                final int arm = search.select();
+                final long n = search.visits.getAndIncrement(arm);
+                rng = new SplittableRandom(LongIntMap.mix(search.seed + n));
+                if (!dealFleet()) {
+                    search.visits.decrementAndGet(arm);
+                    continue;
+                }
+                final int shots = playOut(search.candidates[arm]);
+                if (shots < 0) {
+                    // Cut short by the deadline
+                    search.visits.decrementAndGet(arm);
+                    break;
+                }
+                final double score = 1.0 - (double) shots / search.unknown;
+                search.scores.addAndGet(arm, (long) (score * SCORE_SCALE));
+                search.total.incrementAndGet();
+                playouts++;
+            }
+            return playouts;
+        }
+
+        /**
+         * Deals the hidden fleet for a playout.
+         *
+         * @return false if no fleet could be dealt
+         */
+        private boolean dealFleet() {
+            for (int t = 0; t < DEAL_TRIES; t++) {
+                if (dealer.deal(rng)) {
+                    dealer.copyCells(fleetCells);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Fires a first shot, then hunts and targets until the dealt
+         * fleet is sunk. Like a real game, a sunk ship is announced,
+         * so the cells left around it are dropped once no damaged
+         * ship is left.
+         *
+         * @param first the candidate shot to fire first
+         * @return shots fired in the playout, or -1 if the move's time
+         *         ran out first
+         */
+        private int playOut(final int first) {
+            System.arraycopy(search.fired, 0, shot, 0, shot.length);
+            int afloat = 0;
+            int damaged = 0;
+            for (int s = 0; s < dealer.shipCount(); s++) {
+                final int step = dealer.vertical(s) ? know.cols() : 1;
+                unhit[s] = 0;
+                for (int k = 0, cell = dealer.start(s);
+                        k < dealer.length(s); k++, cell += step) {
+                    owner[cell] = s;
+                    if (!isShot(cell)) {
+                        unhit[s]++;
+                    }
+                }
+                afloat += unhit[s];
+                if (unhit[s] < dealer.length(s)) {
+                    damaged++;
+                }
+            }
+            stackSize = 0;
+            for (int hit : search.hits) {
+                pushNeighbors(hit);
+            }
+            parity = rng.nextInt(2);
+            int shots = 0;
+            int cell = first;
+            while (afloat > 0) {
+                shot[cell >>> WORD_SHIFT] |= 1L << cell;
+                shots++;
+                final int s = owner[cell];
+                if (s >= 0) {
+                    afloat--;
+                    if (unhit[s]-- == dealer.length(s)) {
+                        damaged++;
+                    }
+                    if (unhit[s] == 0 && --damaged == 0) {
+                        stackSize = 0;
+                    } else {
+                        pushNeighbors(cell);
+                    }
+                }
+                if (afloat > 0) {
+                    if ((shots & CLOCK_MASK) == 0
+                            && System.nanoTime() - search.deadline >= 0) {
+                        clearOwners();
+                        return -1;
+                    }
+                    cell = nextCell();
+                }
+            }
+            clearOwners();
+            return shots;
+        }
+
+        /**
+         * Marks every cell of the dealt fleet as water again.
+         */
+        private void clearOwners() {
+            for (int s = 0; s < dealer.shipCount(); s++) {
+                final int step = dealer.vertical(s) ? know.cols() : 1;
+                for (int k = 0, cell = dealer.start(s);
+                        k < dealer.length(s); k++, cell += step) {
+                    owner[cell] = -1;
+                }
+            }
+        }
+
+        /**
+         * Picks the next playout shot: the newest cell beside a hit,
+         * or else a random cell of the hunted colour not fired at.
+         *
+         * @return cell number
+         */
+        private int nextCell() {
+            while (stackSize > 0) {
+                final int cell = stack[--stackSize];
+                if (!isShot(cell)) {
+                    return cell;
+                }
+            }
+            final int cols = know.cols();
+            for (int t = 0; t < HUNT_TRIES; t++) {
+                final int cell = rng.nextInt(know.cells());
+                if (!isShot(cell) && (cell / cols + cell % cols) % 2
+                        == parity) {
+                    return cell;
+                }
+            }
+            final int start = rng.nextInt(know.cells());
+            for (int i = 0; i < know.cells(); i++) {
+                final int cell = (start + i) % know.cells();
+                if (!isShot(cell)) {
+                    return cell;
+                }
+            }
+            throw new IllegalStateException("Playout ran out of cells");
+        }
+
+        /**
+         * Pushes the cells beside a hit that are not fired at yet.
+         *
+         * @param cell the hit
+         */
+        private void pushNeighbors(final int cell) {
+            final int cols = know.cols();
+            final int col = cell % cols;
+            if (col > 0) {
+                push(cell - 1);
+            }
+            if (col + 1 < cols) {
+                push(cell + 1);
+            }
+            if (cell >= cols) {
+                push(cell - cols);
+            }
+            if (cell + cols < know.cells()) {
+                push(cell + cols);
+            }
+        }
+
+        /**
+         * Pushes one cell if it has not been fired at.
+         *
+         * @param cell cell number
+         */
+        private void push(final int cell) {
+            if (!isShot(cell) && stackSize < stack.length) {
+                stack[stackSize++] = cell;
+            }
+        }
+
+        /**
+         * Checks whether a cell has been fired at in the playout.
+         *
+         * @param cell cell number
+         * @return true if fired at
+         */
+        private boolean isShot(final int cell) {
+            return (shot[cell >>> WORD_SHIFT] & (1L << cell)) != 0;
+        }
+    }
+}
@@ -0,0 +1,430 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.random.RandomGenerator;
+
+/**
+ * Fires where the remaining ships turn up most often in random
+ * fleets that agree with everything seen so far.
+ *
+ * Each move deals out a few thousand fleets of the ships still
+ * afloat with {@link FleetDealer}, and counts how often each unknown
+ * cell is covered. The most covered cell is fired at. Unlike
+ * {@link DensityStrategy}, which counts each ship on its own, the
+ * ships of a fleet may not overlap, so crowded corners of the board
+ * are scored fairly.
+ *
+ * Fleets are dealt on a fork-join pool. The work splits in halves
+ * into at most 16 pieces; every piece has its own random number
+ * generator, split from one made for the move, and its own counts,
+ * so threads never write to the same memory. The counts are added
+ * together as the pieces join. They are an array on normal boards.
+ * On huge ones, where an array per piece would cost more than the
+ * dealing, a piece just lists the cells its fleets covered; the lists
+ * are joined end to end and counted once at the end. Sums do not
+ * depend on order, so a seed gives the same shots however many
+ * threads there are, as long as the time budget is not reached. When
+ * it is, pieces stop splitting and dealing, and the move uses the
+ * fleets dealt so far.
+ *
+ * Not taught:
+ * Fork/join:
+ * https://docs.oracle.com/javase/tutorial/essential/concurrency/forkjoin.html
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class MonteCarloStrategy implements TargetingStrategy {
+
+    /** Fleets dealt per move when no count is given. */
+    public static final int DEFAULT_SAMPLES = 2000;
+
+    /** Time allowed per move when none is given, in milliseconds. */
+    public static final long DEFAULT_BUDGET_MILLIS = 100;
+
+    /** Fewest fleets worth giving a piece of work of its own. */
+    private static final int CHUNK = 128;
+
+    /**
+     * Most pieces a move's work is cut into. Fixed rather than taken
+     * from the pool size, so the pieces and their random numbers are
+     * the same on any computer.
+     */
+    private static final int MAX_PIECES = 16;
+
+    /** Most cells for a piece to count into an array, not a list. */
+    private static final int DENSE_CELLS = 1 << 16;
+
+    /** Starting size of a piece's list of covered cells. */
+    private static final int INITIAL_COVERED = 1024;
+
+    /** Nanoseconds in a millisecond. */
+    private static final long NANOS_PER_MILLI = 1_000_000;
+
+    /** What has been learned about the target board. */
+    private final Knowledge know;
+
+    /** Fleets dealt per move. */
+    private final int samples;
+
+    /** Time allowed per move, in nanoseconds. */
+    private final long budgetNanos;
+
+    /** Pool the fleets are dealt on. */
+    private final ForkJoinPool pool;
+
+    /** Random number generator for seeding moves and breaking ties. */
+    private final RandomGenerator rand;
+
+    /** Fleets dealt for the last move (for reports and checks). */
+    private int lastSamples;
+
+    /**
+     * Creates a Monte Carlo shooter with the default fleet count and
+     * time budget, dealing on the common pool.
+     *
+     * @param rows       number of rows
+     * @param cols       number of columns
+     * @param fleet      length of every ship on the target board
+     * @param randomizer random number generator to use
+     */
+    public MonteCarloStrategy(final int rows, final int cols,
+                              final int[] fleet,
+                              final RandomGenerator randomizer) {
+        this(rows, cols, fleet, randomizer, DEFAULT_SAMPLES,
+                DEFAULT_BUDGET_MILLIS * NANOS_PER_MILLI,
+                ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a Monte Carlo shooter.
+     *
+     * @param rows       number of rows
+     * @param cols       number of columns
+     * @param fleet      length of every ship on the target board
+     * @param randomizer random number generator to use
+     * @param fleets     fleets to deal per move
+     * @param budget     most time to spend per move, in nanoseconds
+     * @param workers    pool to deal the fleets on
+     */
+    public MonteCarloStrategy(final int rows, final int cols,
+                              final int[] fleet,
+                              final RandomGenerator randomizer,
+                              final int fleets, final long budget,
+                              final ForkJoinPool workers) {
+        if (fleets < 1 || budget < 1) {
+            throw new IllegalArgumentException(
+                    "Fleet count and time budget must be positive");
+        }
+        this.know = new Knowledge(rows, cols, fleet);
+        this.samples = fleets;
+        this.budgetNanos = budget;
+        this.pool = workers;
+        this.rand = randomizer;
+    }
+
+    /**
+     * Gets how many fleets the last move was based on. Fewer than
+     * asked for means the time budget ran out.
+     *
+     * @return fleets dealt for the last shot
+     */
+    public int lastSamples() {
+        return lastSamples;
+    }
+
+    @Override
+    public int nextShot() {
+        final long deadline = System.nanoTime() + budgetNanos;
+        final Deal deal = new Deal(know, FleetDealer.remainingShips(know),
+                FleetDealer.liveHits(know),
+                deadline);
+        final int pieces = Math.min(MAX_PIECES,
+                (samples + CHUNK - 1) / CHUNK);
+        final Heat heat = pool.invoke(new Dealer(deal,
+                new SplittableRandom(rand.nextLong()), samples, pieces));
+        lastSamples = heat == null ? 0 : heat.dealt;
+        if (lastSamples == 0) {
+            return fallback();
+        }
+        final int[] counts = heat.counts(know.cells());
+
+        // Most covered unknown cell, ties broken at random
+        int best = -1;
+        int bestHeat = 0;
+        int ties = 0;
+        for (int cell = 0; cell < know.cells(); cell++) {
+            final int cellHeat = counts[cell];
+            if (!know.isUnknown(cell) || cellHeat < bestHeat) {
+                continue;
+            }
+            if (cellHeat > bestHeat) {
+                bestHeat = cellHeat;
+                ties = 0;
+            }
+            ties++;
+            if (rand.nextInt(ties) == 0) {
+                best = cell;
+            }
+        }
+        return best >= 0 ? best : fallback();
+    }
+
+    @Override
+    public void record(final int row, final int col,
+                       final ShotResult result, final int sunkLength) {
+        know.record(row, col, result, sunkLength);
+    }
+
+    /**
+     * Picks a shot when no fleet could be dealt: an unknown cell next
+     * to a live hit if there is one, otherwise any unknown cell.
+     *
+     * @return cell number
+     */
+    private int fallback() {
+        final int cols = know.cols();
+        for (int i = 0; i < know.liveHitCount(); i++) {
+            final int hit = know.liveHit(i);
+            final int[] around = {hit - cols, hit + cols,
+                hit % cols > 0 ? hit - 1 : -1,
+                hit % cols + 1 < cols ? hit + 1 : -1};
+            for (int cell : around) {
+                if (cell >= 0 && cell < know.cells()
+                        && know.isUnknown(cell)) {
+                    return cell;
+                }
+            }
+        }
+        final int start = rand.nextInt(know.cells());
+        for (int i = 0; i < know.cells(); i++) {
+            final int cell = (start + i) % know.cells();
+            if (know.isUnknown(cell)) {
+                return cell;
+            }
+        }
+        throw new IllegalStateException("Every cell has been tried");
+    }
+
+    /**
+     * What every piece of work for one move shares. Read only while
+     * the pieces run.
+     */
+    private static final class Deal {
+
+        /** What has been learned about the target board. */
+        private final Knowledge know;
+
+        /** Lengths of the ships to place. */
+        private final int[] ships;
+
+        /** Live hits the fleet must cover. */
+        private final int[] hits;
+
+        /** System.nanoTime() at which to stop dealing. */
+        private final long deadline;
+
+        /**
+         * Gathers what the pieces of one move need.
+         *
+         * @param knowledge what is known about the board
+         * @param lengths   lengths of the ships to place
+         * @param liveHits  live hits the fleet must cover
+         * @param stopAt    System.nanoTime() at which to stop
+         */
+        private Deal(final Knowledge knowledge, final int[] lengths,
+                     final int[] liveHits, final long stopAt) {
+            this.know = knowledge;
+            this.ships = lengths;
+            this.hits = liveHits;
+            this.deadline = stopAt;
+        }
+
+        /**
+         * Checks whether the move's time is up.
+         *
+         * @return true once the deadline has passed
+         */
+        private boolean late() {
+            return System.nanoTime() - deadline >= 0;
+        }
+    }
+
+    /**
+     * How often each cell was covered by one piece's fleets, and then
+     * by the pieces merged into it.
+     */
+    private static final class Heat {
+
+        /** Count for each cell, or null on a huge board. */
+        private final int[] counts;
+
+        /**
+         * On a huge board, every cell covered, once for each fleet
+         * covering it; otherwise null.
+         */
+        private int[] covered;
+
+        /** Cells listed in covered. */
+        private int size;
+
+        /** Fleets dealt. */
+        private int dealt;
+
+        /**
+         * Creates empty counts for a board.
+         *
+         * @param cells number of cells on the board
+         */
+        private Heat(final int cells) {
+            this.counts = cells <= DENSE_CELLS ? new int[cells] : null;
+            this.covered = counts == null ? new int[INITIAL_COVERED] : null;
+        }
+
+        /**
+         * Counts a cell as covered once more.
+         *
+         * @param cell cell number
+         */
+        private void add(final int cell) {
+            if (counts != null) {
+                counts[cell]++;
+                return;
+            }
+            if (size == covered.length) {
+                covered = Arrays.copyOf(covered, size * 2);
+            }
+            covered[size++] = cell;
+        }
+
+        /**
+         * Adds another piece's counts to these.
+         *
+         * @param other counts to add, or null if that piece dealt none
+         * @return these counts
+         */
+        private Heat merge(final Heat other) {
+            if (other == null) {
+                return this;
+            }
+            if (counts != null) {
+                for (int cell = 0; cell < counts.length; cell++) {
+                    counts[cell] += other.counts[cell];
+                }
+            } else {
+                if (size + other.size > covered.length) {
+                    covered = Arrays.copyOf(covered, size + other.size);
+                }
+                System.arraycopy(other.covered, 0, covered, size,
+                        other.size);
+                size += other.size;
+            }
+            dealt += other.dealt;
+            return this;
+        }
+
+        /**
+         * Gets the count for every cell, counting up the list on a
+         * huge board.
+         *
+         * @param cells number of cells on the board
+         * @return count for each cell
+         */
+        private int[] counts(final int cells) {
+            if (counts != null) {
+                return counts;
+            }
+            final int[] tally = new int[cells];
+            for (int i = 0; i < size; i++) {
+                tally[covered[i]]++;
+            }
+            return tally;
+        }
+    }
+
+    /**
+     * Deals some fleets and adds up the cells they cover.
+     */
+    private static final class Dealer extends RecursiveTask<Heat> {
+
+        /** Serialization version. */
+        private static final long serialVersionUID = 1L;
+
+        /** What the move shares. */
+        private final transient Deal deal;
+
+        /** This piece's own random number generator. */
+        private final SplittableRandom rng;
+
+        /** Fleets to deal. */
+        private final int quota;
+
+        /** Pieces to cut the work into. */
+        private final int pieces;
+
+        /**
+         * Creates a piece of work.
+         *
+         * @param shared    what the move shares
+         * @param generator random number generator for this piece
+         * @param fleets    fleets to deal
+         * @param parts     pieces to cut the work into
+         */
+        private Dealer(final Deal shared, final SplittableRandom generator,
+                       final int fleets, final int parts) {
+            this.deal = shared;
+            this.rng = generator;
+            this.quota = fleets;
+            this.pieces = parts;
+        }
+
+        @Override
+        protected Heat compute() {
+            if (deal.late()) {
+                return null;
+            }
+            if (pieces == 1) {
+                return dealAll();
+            }
+            final int leftPieces = pieces / 2;
+            final int leftQuota = (int) ((long) quota * leftPieces / pieces);
+            final Dealer left = new Dealer(deal, rng.split(), leftQuota,
+                    leftPieces);
+            left.fork();
+            final Heat right = new Dealer(deal, rng, quota - leftQuota,
+                    pieces - leftPieces).compute();
+            final Heat joined = left.join();
+            return right == null ? joined : right.merge(joined);
+        }
+
+        /**
+         * Deals this piece's fleets one after another.
+         *
+         * @return how often each cell was covered
+         */
+        private Heat dealAll() {
+            final Knowledge know = deal.know;
+            final FleetDealer dealer = new FleetDealer(know, deal.ships,
+                    deal.hits);
+            final Heat heat = new Heat(know.cells());
+            for (int n = 0; n < quota && !deal.late(); n++) {
+                if (!dealer.deal(rng)) {
+                    continue;
+                }
+                for (int s = 0; s < dealer.shipCount(); s++) {
+                    final int step = dealer.vertical(s) ? know.cols() : 1;
+                    for (int k = 0, cell = dealer.start(s);
+                            k < dealer.length(s); k++, cell += step) {
+                        if (know.isUnknown(cell)) {
+                            heat.add(cell);
+                        }
+                    }
+                }
+                heat.dealt++;
+            }
+            return heat;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only log of every move in every game, for auditing and
+ * replaying games later (see {@link Replayer}).
+ *
+ * Every record is the same size (big-endian):
+ * <pre>
+ * long  game id
+ * int   turn (shots fired before this one), or -1 for shots fired
+ *       before the game was journaled
+ * int   row, int col
+ * byte  player (shooter, or owner for a ship)
+ * byte  kind (a ShotResult ordinal, START, SHIP_ACROSS, SHIP_DOWN)
+ * short ship length (ships only)
+ * </pre>
+ * A game starts with a START record (row and col hold the board
+ * size, turn holds the shots already fired), then one record per
+ * ship, then one per shot.
+ *
+ * Records are collected in memory and written in batches, so a move
+ * costs a copy into a buffer rather than a system call. A full batch
+ * is handed to the system but not forced to disk, which can take
+ * milliseconds; only {@link #flush()} and {@link #close()} wait for
+ * the disk. A crash of the program loses at most the batch in memory,
+ * a crash of the machine anything since the last flush, so call
+ * flush at points that must be safe.
+ *
+ * Not taught:
+ * Event sourcing:
+ * https://martinfowler.com/eaaDev/EventSourcing.html
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class MoveJournal implements AutoCloseable {
+
+    /** Bytes in every record. */
+    static final int RECORD_BYTES = 24;
+
+    /** Kind of the record that starts a game. */
+    static final byte START = 16;
+
+    /** Kind of a ship record for a ship going across. */
+    static final byte SHIP_ACROSS = 17;
+
+    /** Kind of a ship record for a ship going down. */
+    static final byte SHIP_DOWN = 18;
+
+    /** Turn of a shot fired before the game was journaled. */
+    static final int BEFORE_START = -1;
+
+    /** Records written to the file at once. */
+    private static final int BATCH_RECORDS = 2048;
+
+    /** File being appended to. */
+    private final FileChannel channel;
+
+    /** Records waiting to be written. */
+    private final ByteBuffer batch =
+            ByteBuffer.allocateDirect(BATCH_RECORDS * RECORD_BYTES);
+
+    /** Id the next game will get. */
+    private long nextGame;
+
+    /**
+     * Opens a journal, creating the file if needed. New games are
+     * numbered after the last game already in the file.
+     *
+     * @param path journal file
+     * @throws IOException if the file cannot be opened or read
+     */
+    public MoveJournal(final Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        // Drop a record cut short by a crash, then carry on numbering
+        final long records = channel.size() / RECORD_BYTES;
+        channel.truncate(records * RECORD_BYTES);
+        channel.position(records * RECORD_BYTES);
+        if (records > 0) {
+            final ByteBuffer last = ByteBuffer.allocate(Long.BYTES);
+            channel.read(last, (records - 1) * RECORD_BYTES);
+            nextGame = last.flip().getLong() + 1;
+        }
+    }
+
+    /**
+     * Starts journaling a game: its size, every ship and any shots
+     * that were fired before (for a loaded game).
+     *
+     * @param engine game that is about to be played
+     * @return id of the game in the journal
+     * @throws IOException if a ship is too long to journal (nothing
+     *                     is written then) or a full batch cannot be
+     *                     written
+     */
+    public long startGame(final GameEngine engine) throws IOException {
+        // Check every ship first, so a game is never half written
+        for (int owner = 0; owner < 2; owner++) {
+            final Board board = engine.board(owner);
+            for (int s = 0; s < board.shipCount(); s++) {
+                if (board.shipLength(s) > Short.MAX_VALUE) {
+                    throw new IOException("Ship too long to journal");
+                }
+            }
+        }
+
+        final long game = nextGame++;
+        final Board first = engine.board(GameEngine.PLAYER);
+        append(game, engine.turn(), GameEngine.PLAYER, first.rows(),
+                first.cols(), START, 0);
+        for (int owner = 0; owner < 2; owner++) {
+            final Board board = engine.board(owner);
+            for (int s = 0; s < board.shipCount(); s++) {
+                final int start = board.shipStart(s);
+                append(game, 0, owner, start / board.cols(),
+                        start % board.cols(),
+                        board.shipVertical(s) ? SHIP_DOWN : SHIP_ACROSS,
+                        board.shipLength(s));
+            }
+        }
+        for (int owner = 0; owner < 2 && engine.turn() > 0; owner++) {
+            final Board board = engine.board(owner);
+            for (int r = 0; r < board.rows(); r++) {
+                for (int c = 0; c < board.cols(); c++) {
+                    if (board.isHit(r, c) || board.isMiss(r, c)) {
+                        append(game, BEFORE_START,
+                                GameEngine.opponent(owner), r, c,
+                                (byte) (board.isHit(r, c)
+                                        ? ShotResult.HIT
+                                        : ShotResult.MISS).ordinal(), 0);
+                    }
+                }
+            }
+        }
+        return game;
+    }
+
+    /**
+     * Records one shot. Call it right after {@link GameEngine#fire},
+     * or for every shot of a salvo after {@link GameEngine#fireSalvo},
+     * shots after the winning one included.
+     *
+     * @param game   id from {@link #startGame}
+     * @param turn   shots fired before this one
+     * @param player player who fired
+     * @param row    row fired at
+     * @param col    column fired at
+     * @param result what the shot did
+     * @throws IOException if a full batch cannot be written
+     */
+    public void recordShot(final long game, final int turn,
+                           final int player, final int row, final int col,
+                           final ShotResult result) throws IOException {
+        append(game, turn, player, row, col, (byte) result.ordinal(), 0);
+    }
+
+    /**
+     * Writes every waiting record and forces the file to disk.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void flush() throws IOException {
+        writeBatch();
+        channel.force(false);
+    }
+
+    /**
+     * Flushes the journal and closes the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Adds one record to the batch, writing the batch out if full.
+     *
+     * @param game   game id
+     * @param turn   turn number
+     * @param player player number
+     * @param row    row
+     * @param col    column
+     * @param kind   record kind
+     * @param length ship length, or 0
+     * @throws IOException if a full batch cannot be written
+     */
+    private void append(final long game, final int turn, final int player,
+                        final int row, final int col, final byte kind,
+                        final int length) throws IOException {
+        batch.putLong(game).putInt(turn).putInt(row).putInt(col)
+                .put((byte) player).put(kind).putShort((short) length);
+        if (!batch.hasRemaining()) {
+            writeBatch();
+        }
+    }
+
+    /**
+     * Writes every waiting record to the file, without waiting for
+     * the disk.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    private void writeBatch() throws IOException {
+        batch.flip();
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        batch.clear();
+    }
+}
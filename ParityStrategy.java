@@ -0,0 +1,215 @@
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Hunts only on a lattice of cells spaced by the shortest ship still
+ * afloat, then targets the cells beside each hit until the ship
+ * sinks.
+ *
+ * A ship of length k lying across or down always covers one cell
+ * with (row + col) % k equal to any given value, so firing only at
+ * those cells still finds every ship of length k or more. With a
+ * shortest ship of 2 this is a checkerboard, and half the board never
+ * needs hunting.
+ *
+ * The cells left to hunt are a bitmask. Picking a random one counts
+ * set bits a word at a time and then steps through the bits of one
+ * word, so a 10x10 board takes two popcounts rather than a scan of
+ * 100 cells.
+ *
+ * Not taught:
+ * Parity hunting:
+ * https://www.datagenetics.com/blog/december32011/
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class ParityStrategy implements TargetingStrategy {
+
+    /** Shift that turns a cell number into a word number (2^6 = 64). */
+    private static final int WORD_SHIFT = 6;
+
+    /** Number of rows on the board. */
+    private final int rows;
+
+    /** Number of columns on the board. */
+    private final int cols;
+
+    /** Cells not fired at yet. */
+    private final long[] untried;
+
+    /** Untried cells on the current lattice. */
+    private final long[] candidates;
+
+    /** Number of bits set in candidates. */
+    private int candidateCount;
+
+    /** Spacing of the current lattice. */
+    private int spacing;
+
+    /** What has been learned about the target board. */
+    private final Knowledge know;
+
+    /** Cells beside live hits, to try before hunting again. */
+    private final TargetStack targets;
+
+    /** Random number generator for hunting. */
+    private final RandomGenerator rand;
+
+    /**
+     * Creates a parity shooter for a board and fleet.
+     *
+     * @param rowCount   number of rows
+     * @param colCount   number of columns
+     * @param fleet      length of every ship on the target board
+     * @param randomizer random number generator for hunting
+     */
+    public ParityStrategy(final int rowCount, final int colCount,
+                          final int[] fleet,
+                          final RandomGenerator randomizer) {
+        this.rows = rowCount;
+        this.cols = colCount;
+        final int cells = rowCount * colCount;
+        final int words = (int) (((long) cells + Long.SIZE - 1)
+                >>> WORD_SHIFT);
+        this.untried = new long[words];
+        for (int cell = 0; cell < cells; cell++) {
+            untried[cell >>> WORD_SHIFT] |= 1L << cell;
+        }
+        this.candidates = new long[words];
+        this.know = new Knowledge(rowCount, colCount, fleet);
+        this.targets = new TargetStack(rowCount, colCount);
+        this.rand = randomizer;
+        relayLattice();
+    }
+
+    @Override
+    public int nextShot() {
+        while (!targets.isEmpty()) {
+            final int cell = targets.pop();
+            if (isSet(untried, cell)) {
+                return cell;
+            }
+        }
+        if (candidateCount > 0) {
+            return select(candidates, rand.nextInt(candidateCount));
+        }
+
+        // Only if a sunk ship was guessed wrongly: hunt anywhere left
+        int left = 0;
+        for (long word : untried) {
+            left += Long.bitCount(word);
+        }
+        if (left == 0) {
+            throw new IllegalStateException("Every cell has been tried");
+        }
+        return select(untried, rand.nextInt(left));
+    }
+
+    @Override
+    public void record(final int row, final int col,
+                       final ShotResult result, final int sunkLength) {
+        final int cell = row * cols + col;
+        if (result == ShotResult.REPEAT || !isSet(untried, cell)) {
+            return;
+        }
+        untried[cell >>> WORD_SHIFT] &= ~(1L << cell);
+        if (isSet(candidates, cell)) {
+            candidates[cell >>> WORD_SHIFT] &= ~(1L << cell);
+            candidateCount--;
+        }
+        know.record(row, col, result, sunkLength);
+        if (result == ShotResult.HIT) {
+            targets.pushNeighbors(cell);
+        } else if (result == ShotResult.SUNK) {
+            if (know.liveHitCount() == 0) {
+                targets.clear();
+            } else {
+                targets.pushNeighbors(cell);
+            }
+            if (shortestLeft() != spacing) {
+                relayLattice();
+            }
+        }
+    }
+
+    /**
+     * Gets the spacing of the lattice being hunted.
+     *
+     * @return length of the shortest ship when the lattice was laid
+     */
+    public int spacing() {
+        return spacing;
+    }
+
+    /**
+     * Lays a new lattice for the shortest ship still afloat, at a
+     * random offset, keeping only cells not yet tried.
+     */
+    private void relayLattice() {
+        spacing = shortestLeft();
+        final int offset = rand.nextInt(spacing);
+        Arrays.fill(candidates, 0);
+        candidateCount = 0;
+        for (int row = 0; row < rows; row++) {
+            // First column on the lattice in this row
+            int col = Math.floorMod(offset - row, spacing);
+            for (int cell = row * cols + col; col < cols;
+                    col += spacing, cell += spacing) {
+                if (isSet(untried, cell)) {
+                    candidates[cell >>> WORD_SHIFT] |= 1L << cell;
+                    candidateCount++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the length of the shortest ship still afloat.
+     *
+     * @return shortest length, or 1 if no ships are left
+     */
+    private int shortestLeft() {
+        for (int length = 1; length <= know.maxLength(); length++) {
+            if (know.fleetCount(length) > 0) {
+                return length;
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Finds the cell of the n-th set bit of a mask.
+     *
+     * @param mask the mask
+     * @param n    which set bit, counting from 0
+     * @return cell number
+     */
+    private static int select(final long[] mask, final int n) {
+        int skip = n;
+        for (int w = 0; w < mask.length; w++) {
+            final int count = Long.bitCount(mask[w]);
+            if (skip < count) {
+                long word = mask[w];
+                for (int i = 0; i < skip; i++) {
+                    word &= word - 1;
+                }
+                return (w << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+            }
+            skip -= count;
+        }
+        throw new IllegalArgumentException("Mask has no bit " + n);
+    }
+
+    /**
+     * Reads one bit from a mask.
+     *
+     * @param mask the mask to read
+     * @param cell the cell number
+     * @return true if the bit is set
+     */
+    private static boolean isSet(final long[] mask, final int cell) {
+        return (mask[cell >>> WORD_SHIFT] & (1L << cell)) != 0;
+    }
+}
@@ -0,0 +1,113 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Fires at any random cell, even ones already fired at.
+ * This is how the computer played in the first version of the game.
+ *
+ * It can also be told to skip cells it has fired at, for boards too
+ * big for the other strategies. The cells fired at, and any it is
+ * told about (such as shots from before a load), are kept in a
+ * map, so memory grows with the shots rather than the board, and a
+ * fresh cell is found by drawing again. On a huge board that is
+ * almost never needed; if many draws in a row miss, the cells are
+ * searched in order from a random one.
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class RandomStrategy implements TargetingStrategy {
+
+    /** Random draws tried before searching for a fresh cell. */
+    private static final int MAX_DRAWS = 64;
+
+    /** Number of cells on the board. */
+    private final int cells;
+
+    /** Number of columns on the board. */
+    private final int cols;
+
+    /** Random number generator to use. */
+    private final RandomGenerator rand;
+
+    /** Cells fired at, or null if repeats are allowed. */
+    private final LongIntMap fired;
+
+    /**
+     * Creates a random shooter that may fire at a cell twice.
+     *
+     * @param rows       number of rows
+     * @param colCount   number of columns
+     * @param randomizer random number generator to use
+     */
+    public RandomStrategy(final int rows, final int colCount,
+                          final RandomGenerator randomizer) {
+        this(rows, colCount, randomizer, false);
+    }
+
+    /**
+     * Creates a random shooter.
+     *
+     * @param rows       number of rows
+     * @param colCount   number of columns
+     * @param randomizer random number generator to use
+     * @param fresh      true to never fire at a cell twice
+     */
+    public RandomStrategy(final int rows, final int colCount,
+                          final RandomGenerator randomizer,
+                          final boolean fresh) {
+        this.cells = rows * colCount;
+        this.cols = colCount;
+        this.rand = randomizer;
+        this.fired = fresh ? new LongIntMap() : null;
+    }
+
+    @Override
+    public int nextShot() {
+        if (fired == null) {
+            return rand.nextInt(cells);
+        }
+        for (int draw = 0; draw < MAX_DRAWS; draw++) {
+            final int cell = rand.nextInt(cells);
+            if (fired.get(cell) == LongIntMap.MISSING) {
+                return take(cell);
+            }
+        }
+        final int start = rand.nextInt(cells);
+        for (int i = 0; i < cells; i++) {
+            final int cell = (int) (((long) start + i) % cells);
+            if (fired.get(cell) == LongIntMap.MISSING) {
+                return take(cell);
+            }
+        }
+        throw new IllegalStateException("Every cell has been tried");
+    }
+
+    @Override
+    public int nextSalvo(final int[] shots, final int count) {
+        for (int i = 0; i < count; i++) {
+            shots[i] = nextShot();
+        }
+        return count;
+    }
+
+    @Override
+    public void record(final int row, final int col,
+                       final ShotResult result, final int sunkLength) {
+        if (fired != null) {
+            fired.put(row * cols + col, 1);
+        }
+    }
+
+    /**
+     * Notes a cell as fired at, so a salvo never picks it twice
+     * either.
+     *
+     * @param cell the cell picked
+     * @return the same cell
+     */
+    private int take(final int cell) {
+        fired.put(cell, 1);
+        return cell;
+    }
+}
@@ -0,0 +1,388 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only view of many finished games, memory-mapped so any game
+ * can be looked at directly and all of them can be scanned without
+ * copying (written by {@link ArchiveWriter}).
+ *
+ * Layout (big-endian, every part starts on an 8-byte boundary):
+ * <pre>
+ * header: int magic ("BARC"), short version, short 0,
+ *         long games, long index offset, long 0
+ * games:  int rows, int cols, int shots, byte winner, 3 bytes 0
+ *         long[] player board codes, long[] enemy board codes
+ *           (2 bits per cell, see Board.packCodes)
+ *         int[] shots, each cell * 2 + player who fired (padded
+ *           to a whole number of longs)
+ * index:  long offset of each game, by game number
+ * </pre>
+ * The file is mapped in 1 GiB segments and no game crosses from one
+ * segment into the next, so any size of archive can be read.
+ *
+ * Usage: java ReplayArchive archive [game]
+ *
+ * Not taught:
+ * Memory-mapped files:
+ * https://docs.oracle.com/javase/8/docs/api/java/nio/MappedByteBuffer.html
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class ReplayArchive implements AutoCloseable {
+
+    /** First four bytes of every archive ("BARC"). */
+    static final int MAGIC = 0x42415243;
+
+    /** Version of the file layout. */
+    static final short VERSION = 1;
+
+    /** Bytes in the file header. */
+    static final int HEADER_BYTES = 32;
+
+    /** Position of the game count in the header. */
+    static final int GAMES_AT = 8;
+
+    /** Position of the index offset in the header. */
+    static final int INDEX_AT = 16;
+
+    /** Bytes in the header of each game. */
+    static final int GAME_HEADER_BYTES = 16;
+
+    /** Offset of the shot count in a game's header. */
+    private static final int SHOTS_AT = 2 * Integer.BYTES;
+
+    /** Offset of the winner in a game's header. */
+    private static final int WINNER_AT = SHOTS_AT + Integer.BYTES;
+
+    /** Shift that turns a file offset into a segment number. */
+    static final int SEGMENT_SHIFT = 30;
+
+    /** Index entry of a game number that was never written. */
+    static final long NO_GAME = -1L;
+
+    /** Mask that turns a file offset into a segment position. */
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    /** Shift that turns a cell number into a packed long number. */
+    private static final int CELLS_SHIFT = 5;
+
+    /** Mask that turns a cell number into a place in a packed long. */
+    private static final int CELLS_MASK = (1 << CELLS_SHIFT) - 1;
+
+    /** Even bits of a packed long (the low bit of each code). */
+    private static final long LOW_BITS = 0x5555555555555555L;
+
+    /** Nanoseconds in one second. */
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /** File being read. */
+    private final FileChannel channel;
+
+    /** Game data, one mapping per segment. */
+    private final MappedByteBuffer[] segments;
+
+    /** Offset of each game. */
+    private final LongBuffer index;
+
+    /** Number of games. */
+    private final long games;
+
+    /**
+     * Opens and maps an archive.
+     *
+     * @param path archive file
+     * @throws IOException if the file cannot be read or is not an
+     *                     archive
+     */
+    public ReplayArchive(final Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                continue;
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES
+                    || header.getInt() != MAGIC
+                    || header.getShort() != VERSION) {
+                throw new IOException("Not a replay archive");
+            }
+            games = header.getLong(GAMES_AT);
+            final long indexAt = header.getLong(INDEX_AT);
+            if (games < 0 || games > Integer.MAX_VALUE / Long.BYTES
+                    || indexAt < HEADER_BYTES
+                    || indexAt + games * Long.BYTES > channel.size()) {
+                throw new IOException("Replay archive is damaged");
+            }
+
+            index = channel.map(FileChannel.MapMode.READ_ONLY, indexAt,
+                    games * Long.BYTES).asLongBuffer();
+            segments = new MappedByteBuffer[
+                    (int) ((indexAt + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+            for (int s = 0; s < segments.length; s++) {
+                final long start = (long) s << SEGMENT_SHIFT;
+                segments[s] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        start, Math.min(SEGMENT_MASK + 1, indexAt - start));
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Entry point: sums up a whole archive, or shows one game.
+     *
+     * @param args archive file, then an optional game number
+     * @throws IOException if the archive cannot be read
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: java ReplayArchive archive [game]");
+            return;
+        }
+        try (ReplayArchive archive = new ReplayArchive(Paths.get(args[0]))) {
+            if (args.length > 1) {
+                final long game = Long.parseLong(args[1]);
+                System.out.println("Game " + game + ": "
+                        + archive.rows(game) + "x" + archive.cols(game)
+                        + ", " + archive.shots(game) + " shots, won by "
+                        + (archive.winner(game) == GameEngine.PLAYER
+                        ? "player" : "enemy"));
+                System.out.println("\nPlayer grid:");
+                Battleship.displayGrid(
+                        archive.board(game, GameEngine.PLAYER), true);
+                System.out.println("\nEnemy grid:");
+                Battleship.displayGrid(
+                        archive.board(game, GameEngine.ENEMY), true);
+                return;
+            }
+
+            // Count every code on every board in one pass
+            final long start = System.nanoTime();
+            final long[] codes = new long[Board.CODE_MISS + 1];
+            final long[] wins = new long[2];
+            long shots = 0;
+            for (long g = 0; g < archive.games(); g++) {
+                wins[archive.winner(g)]++;
+                shots += archive.shots(g);
+                for (int p = 0; p < 2; p++) {
+                    archive.addCodeCounts(g, p, codes);
+                }
+            }
+            final double seconds =
+                    (System.nanoTime() - start) / NANOS_PER_SECOND;
+            System.out.println("Games:       " + archive.games());
+            System.out.println("Player wins: " + wins[GameEngine.PLAYER]);
+            System.out.println("Enemy wins:  " + wins[GameEngine.ENEMY]);
+            System.out.printf("Mean length: %.2f shots%n",
+                    (double) shots / Math.max(1, archive.games()));
+            System.out.println("Ship cells left: " + codes[Board.CODE_SHIP]
+                    + ", hits: " + codes[Board.CODE_HIT]
+                    + ", misses: " + codes[Board.CODE_MISS]);
+            System.out.printf("Scanned in %.3f s (%.0f games/s)%n", seconds,
+                    archive.games() / seconds);
+        }
+    }
+
+    /**
+     * Gets the number of games in the archive.
+     *
+     * @return game count
+     */
+    public long games() {
+        return games;
+    }
+
+    /**
+     * Gets the number of rows on a game's boards.
+     *
+     * @param game game number
+     * @return rows
+     */
+    public int rows(final long game) {
+        final long at = offset(game);
+        return segment(at).getInt(position(at));
+    }
+
+    /**
+     * Gets the number of columns on a game's boards.
+     *
+     * @param game game number
+     * @return columns
+     */
+    public int cols(final long game) {
+        final long at = offset(game);
+        return segment(at).getInt(position(at) + Integer.BYTES);
+    }
+
+    /**
+     * Gets the number of shots fired in a game.
+     *
+     * @param game game number
+     * @return shots by both players
+     */
+    public int shots(final long game) {
+        final long at = offset(game);
+        return segment(at).getInt(position(at) + SHOTS_AT);
+    }
+
+    /**
+     * Gets the winner of a game.
+     *
+     * @param game game number
+     * @return PLAYER or ENEMY
+     */
+    public int winner(final long game) {
+        final long at = offset(game);
+        return segment(at).get(position(at) + WINNER_AT);
+    }
+
+    /**
+     * Gets the 2-bit code of a cell on a finished board.
+     *
+     * @param game   game number
+     * @param player owner of the board
+     * @param cell   cell number
+     * @return Board.CODE_EMPTY, CODE_SHIP, CODE_HIT or CODE_MISS
+     */
+    public int code(final long game, final int player, final int cell) {
+        final long at = offset(game);
+        final ByteBuffer data = segment(at);
+        final int board = codesAt(data, position(at), player);
+        final long packed = data.getLong(
+                board + (cell >>> CELLS_SHIFT) * Long.BYTES);
+        return (int) (packed >>> ((cell & CELLS_MASK) * 2)) & Board.CODE_MISS;
+    }
+
+    /**
+     * Adds up how many cells of each code a finished board has,
+     * reading whole packed longs at a time.
+     *
+     * @param game   game number
+     * @param player owner of the board
+     * @param counts totals to add to, indexed by code (EMPTY is not
+     *               counted)
+     */
+    public void addCodeCounts(final long game, final int player,
+                              final long[] counts) {
+        final long at = offset(game);
+        final ByteBuffer data = segment(at);
+        final int board = codesAt(data, position(at), player);
+        final int words = packedLength(data, position(at));
+        for (int w = 0; w < words; w++) {
+            final long packed = data.getLong(board + w * Long.BYTES);
+            final long low = packed & LOW_BITS;
+            final long high = (packed >>> 1) & LOW_BITS;
+            counts[Board.CODE_SHIP] += Long.bitCount(low & ~high);
+            counts[Board.CODE_HIT] += Long.bitCount(high & ~low);
+            counts[Board.CODE_MISS] += Long.bitCount(low & high);
+        }
+    }
+
+    /**
+     * Rebuilds a finished board. Every ship comes back as single
+     * cells, since only the cell codes are archived.
+     *
+     * @param game   game number
+     * @param player owner of the board
+     * @return the board
+     */
+    public Board board(final long game, final int player) {
+        final long at = offset(game);
+        final ByteBuffer data = segment(at);
+        final long[] counts = new long[Board.CODE_MISS + 1];
+        addCodeCounts(game, player, counts);
+        final Board board = Board.create(rows(game), cols(game),
+                counts[Board.CODE_SHIP] + counts[Board.CODE_HIT]);
+        final long[] packed = new long[board.packedLength()];
+        final int start = codesAt(data, position(at), player);
+        for (int w = 0; w < packed.length; w++) {
+            packed[w] = data.getLong(start + w * Long.BYTES);
+        }
+        board.unpackCodes(packed);
+        return board;
+    }
+
+    /**
+     * Unmaps nothing (mappings go when they are garbage collected)
+     * but closes the file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Finds where a board's codes start in a game.
+     *
+     * @param data   segment holding the game
+     * @param game   position of the game in the segment
+     * @param player owner of the board (2 gives the shot list)
+     * @return position of the codes in the segment
+     */
+    private static int codesAt(final ByteBuffer data, final int game,
+                               final int player) {
+        return game + GAME_HEADER_BYTES
+                + player * packedLength(data, game) * Long.BYTES;
+    }
+
+    /**
+     * Reads a game's board size and works out its packed length.
+     *
+     * @param data segment holding the game
+     * @param game position of the game in the segment
+     * @return packed longs per board
+     */
+    private static int packedLength(final ByteBuffer data, final int game) {
+        return Board.packedLength(data.getInt(game),
+                data.getInt(game + Integer.BYTES));
+    }
+
+    /**
+     * Looks up where a game starts in the file.
+     *
+     * @param game game number
+     * @return file offset
+     */
+    private long offset(final long game) {
+        if (game < 0 || game >= games) {
+            throw new IllegalArgumentException("No game " + game);
+        }
+        final long at = index.get((int) game);
+        if (at == NO_GAME) {
+            throw new IllegalArgumentException("No game " + game);
+        }
+        return at;
+    }
+
+    /**
+     * Gets the mapping that holds a file offset.
+     *
+     * @param at file offset
+     * @return mapped segment
+     */
+    private ByteBuffer segment(final long at) {
+        return segments[(int) (at >>> SEGMENT_SHIFT)];
+    }
+
+    /**
+     * Turns a file offset into a position in its segment.
+     *
+     * @param at file offset
+     * @return position in the segment
+     */
+    private static int position(final long at) {
+        return (int) (at & SEGMENT_MASK);
+    }
+}
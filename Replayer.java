@@ -0,0 +1,298 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Rebuilds games from a {@link MoveJournal}.
+ *
+ * A game is replayed by placing the journaled ships on empty boards
+ * and firing the journaled shots through a {@link GameEngine}, so the
+ * state at any turn is exactly what the players saw. Shots in a row
+ * from one player are fired together as the salvo they were, so shots
+ * after the winning one still land. Every replayed shot is checked
+ * against the result in the journal.
+ *
+ * Usage: java Replayer journal [game [turn]]
+ * With only the file it lists the games; with a game it shows both
+ * boards after that many shots (default: the end of the game).
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class Replayer {
+
+    /** Records read from the file at once. */
+    private static final int READ_RECORDS = 4096;
+
+    /** Starting size of the list of games. */
+    private static final int INITIAL_GAMES = 8;
+
+    /** Every possible shot result, indexed by ordinal. */
+    private static final ShotResult[] RESULTS = ShotResult.values();
+
+    /** Journal file. */
+    private final Path path;
+
+    /**
+     * Creates a replayer for a journal file.
+     *
+     * @param journal journal file to read
+     */
+    public Replayer(final Path journal) {
+        this.path = journal;
+    }
+
+    /**
+     * Entry point of the replayer.
+     *
+     * @param args journal file, then optional game id and turn
+     * @throws IOException if the journal cannot be read
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: java Replayer journal [game [turn]]");
+            return;
+        }
+        final Replayer replayer = new Replayer(Paths.get(args[0]));
+        if (args.length == 1) {
+            final long[] games = replayer.games();
+            System.out.println(games.length + " games: "
+                    + Arrays.toString(games));
+            return;
+        }
+
+        final long game = Long.parseLong(args[1]);
+        final int turn = args.length > 2
+                ? Integer.parseInt(args[2]) : Integer.MAX_VALUE;
+        final GameEngine engine = replayer.replay(game, turn);
+        System.out.println("Game " + game + " after " + engine.turn()
+                + " shots");
+        System.out.println("\nPlayer grid:");
+        Battleship.displayGrid(engine.board(GameEngine.PLAYER), true);
+        System.out.println("\nEnemy grid:");
+        Battleship.displayGrid(engine.board(GameEngine.ENEMY), true);
+    }
+
+    /**
+     * Lists the games in the journal.
+     *
+     * @return game ids in the order the games started
+     * @throws IOException if the journal cannot be read
+     */
+    public long[] games() throws IOException {
+        long[] games = new long[INITIAL_GAMES];
+        int count = 0;
+        try (Cursor cursor = new Cursor(path)) {
+            while (cursor.next()) {
+                if (cursor.kind == MoveJournal.START) {
+                    if (count == games.length) {
+                        games = Arrays.copyOf(games, count * 2);
+                    }
+                    games[count++] = cursor.game;
+                }
+            }
+        }
+        return Arrays.copyOf(games, count);
+    }
+
+    /**
+     * Rebuilds a game as it was after some number of shots.
+     *
+     * @param game  game id
+     * @param turns shots fired by both players (more than the game
+     *              had gives the end of the game)
+     * @return the game at that point
+     * @throws IOException if the journal cannot be read, or a shot
+     *                     does not give the result it was logged with
+     */
+    public GameEngine replay(final long game, final int turns)
+            throws IOException {
+        Board[] boards = null;
+        GameEngine engine = null;
+        int startTurn = 0;
+
+        // Shots of the salvo being read, not yet fired
+        int[] cells = new int[1];
+        ShotResult[] logged = new ShotResult[1];
+        int count = 0;
+        int shooter = 0;
+        int firstTurn = 0;
+        try (Cursor cursor = new Cursor(path)) {
+            while (cursor.next()) {
+                if (cursor.game != game) {
+                    continue;
+                }
+                if (cursor.kind == MoveJournal.START) {
+                    // Ships come later, so only the size picks the storage
+                    boards = new Board[] {
+                        Board.create(cursor.row, cursor.col, 0),
+                        Board.create(cursor.row, cursor.col, 0),
+                    };
+                    startTurn = cursor.turn;
+                } else if (boards == null) {
+                    throw new IOException("Game " + game
+                            + " has records before its start");
+                } else if (cursor.kind == MoveJournal.SHIP_ACROSS
+                        || cursor.kind == MoveJournal.SHIP_DOWN) {
+                    boards[cursor.player].placeShip(cursor.row, cursor.col,
+                            cursor.length,
+                            cursor.kind == MoveJournal.SHIP_DOWN);
+                } else if (cursor.turn == MoveJournal.BEFORE_START) {
+                    boards[GameEngine.opponent(cursor.player)]
+                            .fire(cursor.row, cursor.col);
+                } else if (cursor.turn >= turns) {
+                    break;
+                } else {
+                    if (engine == null) {
+                        engine = new GameEngine(boards[GameEngine.PLAYER],
+                                boards[GameEngine.ENEMY], startTurn);
+                    }
+                    if (count > 0 && cursor.player != shooter) {
+                        fireSalvo(engine, shooter, cells, logged, count,
+                                game, firstTurn);
+                        count = 0;
+                    }
+                    if (cursor.kind >= RESULTS.length) {
+                        throw new IOException("Game " + game + " turn "
+                                + cursor.turn + " has no result");
+                    }
+                    if (count == cells.length) {
+                        cells = Arrays.copyOf(cells, count * 2);
+                        logged = Arrays.copyOf(logged, count * 2);
+                    }
+                    if (count == 0) {
+                        shooter = cursor.player;
+                        firstTurn = cursor.turn;
+                    }
+                    cells[count] = cursor.row * boards[0].cols() + cursor.col;
+                    logged[count++] = RESULTS[cursor.kind];
+                }
+            }
+            if (count > 0) {
+                fireSalvo(engine, shooter, cells, logged, count, game,
+                        firstTurn);
+            }
+        } catch (IllegalArgumentException | IllegalStateException
+                | IndexOutOfBoundsException e) {
+            throw new IOException("Journal is damaged", e);
+        }
+        if (boards == null) {
+            throw new IllegalArgumentException("No game " + game
+                    + " in " + path);
+        }
+        return engine != null ? engine
+                : new GameEngine(boards[GameEngine.PLAYER],
+                        boards[GameEngine.ENEMY], startTurn);
+    }
+
+    /**
+     * Fires a journaled salvo and checks every shot gave the result
+     * it was logged with.
+     *
+     * @param engine    game to fire in
+     * @param player    player who fired
+     * @param cells     cells fired at
+     * @param logged    result logged for each shot
+     * @param count     number of shots
+     * @param game      game id, for the error message
+     * @param firstTurn turn of the first shot, for the error message
+     * @throws IOException if a shot does not give its logged result
+     */
+    private static void fireSalvo(final GameEngine engine, final int player,
+                                  final int[] cells,
+                                  final ShotResult[] logged,
+                                  final int count, final long game,
+                                  final int firstTurn) throws IOException {
+        final ShotResult[] results = new ShotResult[count];
+        engine.fireSalvo(player, cells, count, results);
+        for (int i = 0; i < count; i++) {
+            if (results[i] != logged[i]) {
+                throw new IOException("Game " + game + " turn "
+                        + (firstTurn + i) + " does not replay");
+            }
+        }
+    }
+
+    /**
+     * Reads journal records one at a time, a batch at a time from
+     * the file. The fields hold the record last read.
+     */
+    private static final class Cursor implements AutoCloseable {
+
+        /** File being read. */
+        private final FileChannel channel;
+
+        /** Records read from the file but not yet returned. */
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(
+                READ_RECORDS * MoveJournal.RECORD_BYTES);
+
+        /** Game id. */
+        private long game;
+
+        /** Turn number. */
+        private int turn;
+
+        /** Row. */
+        private int row;
+
+        /** Column. */
+        private int col;
+
+        /** Player number. */
+        private int player;
+
+        /** Record kind. */
+        private byte kind;
+
+        /** Ship length. */
+        private int length;
+
+        /**
+         * Opens a journal for reading.
+         *
+         * @param file journal file
+         * @throws IOException if the file cannot be opened
+         */
+        Cursor(final Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            buffer.flip();
+        }
+
+        /**
+         * Reads the next record.
+         *
+         * @return false at the end of the journal
+         * @throws IOException if the file cannot be read
+         */
+        boolean next() throws IOException {
+            if (buffer.remaining() < MoveJournal.RECORD_BYTES) {
+                buffer.compact();
+                while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+                    continue;
+                }
+                buffer.flip();
+                if (buffer.remaining() < MoveJournal.RECORD_BYTES) {
+                    return false;
+                }
+            }
+            game = buffer.getLong();
+            turn = buffer.getInt();
+            row = buffer.getInt();
+            col = buffer.getInt();
+            player = buffer.get();
+            kind = buffer.get();
+            length = buffer.getShort();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,256 @@
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Saves and loads a game in a compact binary file.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * int   magic ("BSAV")
+ * short version
+ * int   rows, cols, shots fired
+ * then for each board (player, then enemy):
+ *   int  number of ships longer than one cell
+ *   each: int first cell, int length, byte 1 if vertical
+ *   long[] cell codes, 2 bits per cell (see Board.packCodes)
+ * </pre>
+ * Single-cell ships are not listed, any SHIP or HIT cell not covered
+ * by a listed ship is one. A 1000x1000 board takes about 250 KB.
+ *
+ * Not taught:
+ * NIO file channels:
+ * https://docs.oracle.com/javase/tutorial/essential/io/file.html#channels
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class SaveGame {
+
+    /** First four bytes of every save file ("BSAV"). */
+    private static final int MAGIC = 0x42534156;
+
+    /** Version of the file layout. */
+    private static final short VERSION = 1;
+
+    /** Bytes in the file header. */
+    private static final int HEADER_BYTES = Integer.BYTES * 4 + Short.BYTES;
+
+    /** Bytes in each listed ship. */
+    private static final int SHIP_BYTES = Integer.BYTES * 2 + 1;
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private SaveGame() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Writes a game to a file, replacing it if it exists.
+     *
+     * The game is written to a new file next to it, forced to disk,
+     * then moved over the old one in one step, so a crash or a full
+     * disk part way through leaves the old save as it was.
+     *
+     * @param path   file to write
+     * @param engine game to save
+     * @throws IOException if the file cannot be written
+     */
+    public static void save(final Path path, final GameEngine engine)
+            throws IOException {
+        final Board first = engine.board(GameEngine.PLAYER);
+        long size = HEADER_BYTES;
+        for (int p = 0; p < 2; p++) {
+            size += Integer.BYTES + (long) SHIP_BYTES
+                    * longShips(engine.board(p))
+                    + (long) Long.BYTES * engine.board(p).packedLength();
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Game too big to save");
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        buffer.putInt(MAGIC).putShort(VERSION)
+                .putInt(first.rows()).putInt(first.cols())
+                .putInt(engine.turn());
+        for (int p = 0; p < 2; p++) {
+            final Board board = engine.board(p);
+            buffer.putInt(longShips(board));
+            for (int s = 0; s < board.shipCount(); s++) {
+                if (board.shipLength(s) > 1) {
+                    buffer.putInt(board.shipStart(s))
+                            .putInt(board.shipLength(s))
+                            .put((byte) (board.shipVertical(s) ? 1 : 0));
+                }
+            }
+            board.writeCodes(buffer);
+        }
+        buffer.flip();
+
+        final Path dir = path.toAbsolutePath().getParent();
+        final Path temp = Files.createTempFile(dir,
+                path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp,
+                    StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads a game from a file.
+     *
+     * @param path file to read
+     * @return the game, ready to carry on
+     * @throws IOException if the file cannot be read or is not a save
+     */
+    public static GameEngine load(final Path path) throws IOException {
+        final ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Save file too big");
+            }
+            buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                continue;
+            }
+        }
+        buffer.flip();
+
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+                throw new IOException("Not a Battleship save file");
+            }
+            final int rows = buffer.getInt();
+            final int cols = buffer.getInt();
+            final int turn = buffer.getInt();
+            final Board[] boards = new Board[2];
+            for (int p = 0; p < 2; p++) {
+                boards[p] = readBoard(buffer, rows, cols);
+            }
+            return new GameEngine(boards[GameEngine.PLAYER],
+                    boards[GameEngine.ENEMY], turn);
+        } catch (BufferUnderflowException
+                | IllegalArgumentException
+                | IndexOutOfBoundsException e) {
+            throw new IOException("Save file is damaged", e);
+        }
+    }
+
+    /**
+     * Tells a targeting strategy about every shot already fired at a
+     * board, so a computer player can carry on after a load.
+     * Ships that are sunk are reported with their last cell as the
+     * sinking shot.
+     *
+     * @param strategy strategy to teach
+     * @param board    board it has been firing at
+     */
+    public static void teach(final TargetingStrategy strategy,
+                             final Board board) {
+        final int cols = board.cols();
+        final LongIntMap sinking = new LongIntMap();
+        for (int s = 0; s < board.shipCount(); s++) {
+            if (board.shipSunk(s)) {
+                final int step = board.shipVertical(s) ? cols : 1;
+                sinking.put(board.shipStart(s)
+                        + step * (board.shipLength(s) - 1), s);
+            }
+        }
+
+        // Misses and hits first, then the sinking shots
+        for (int row = 0; row < board.rows(); row++) {
+            for (int col = 0; col < cols; col++) {
+                final int cell = row * cols + col;
+                if (board.isMiss(row, col)) {
+                    strategy.record(row, col, ShotResult.MISS, 0);
+                } else if (board.isHit(row, col)
+                        && sinking.get(cell) == LongIntMap.MISSING) {
+                    strategy.record(row, col, ShotResult.HIT, 0);
+                }
+            }
+        }
+        for (int s = 0; s < board.shipCount(); s++) {
+            if (board.shipSunk(s)) {
+                final int step = board.shipVertical(s) ? cols : 1;
+                final int cell = board.shipStart(s)
+                        + step * (board.shipLength(s) - 1);
+                strategy.record(cell / cols, cell % cols, ShotResult.SUNK,
+                        board.shipLength(s));
+            }
+        }
+    }
+
+    /**
+     * Counts the ships longer than one cell.
+     *
+     * @param board the board
+     * @return ships that have to be listed in the file
+     */
+    private static int longShips(final Board board) {
+        int count = 0;
+        for (int s = 0; s < board.shipCount(); s++) {
+            if (board.shipLength(s) > 1) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Reads one board from the buffer.
+     *
+     * @param buffer file contents, positioned at the board
+     * @param rows   number of rows
+     * @param cols   number of columns
+     * @return the board
+     */
+    private static Board readBoard(final ByteBuffer buffer, final int rows,
+                                   final int cols) {
+        final int listed = buffer.getInt();
+        if (listed < 0 || listed > buffer.remaining()) {
+            throw new IllegalArgumentException("Bad ship count " + listed);
+        }
+        final int[] starts = new int[listed];
+        final int[] lengths = new int[listed];
+        final boolean[] verticals = new boolean[listed];
+        for (int s = 0; s < listed; s++) {
+            starts[s] = buffer.getInt();
+            lengths[s] = buffer.getInt();
+            verticals[s] = buffer.get() == 1;
+        }
+        final long[] packed = new long[Board.packedLength(rows, cols)];
+        buffer.asLongBuffer().get(packed);
+        buffer.position(buffer.position() + Long.BYTES * packed.length);
+
+        // Count the ship cells first so a huge board can load sparse
+        final Board board = Board.create(rows, cols, Board.shipCells(packed));
+        for (int s = 0; s < listed; s++) {
+            board.placeShip(starts[s] / cols, starts[s] % cols, lengths[s],
+                    verticals[s]);
+        }
+        board.unpackCodes(packed);
+        return board;
+    }
+}
@@ -0,0 +1,355 @@
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Load test for the game servers: opens a crowd of idle loopback
+ * connections, then plays some games against the computer through the
+ * same server and times every move.
+ *
+ * Prints the memory each idle session costs (Java heap, and resident
+ * memory where Linux reports it, both ends of the connection
+ * included) and the move latency at a few percentiles.
+ *
+ * Usage: {@code java SessionLoadTest [sessions] [games]
+ * [threaded|selector]}. Each open connection needs two file handles,
+ * so raise {@code ulimit -n} for big runs.
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class SessionLoadTest {
+
+    /** Idle sessions to open when no count is given. */
+    private static final int DEFAULT_SESSIONS = 100_000;
+
+    /** Games to time when no count is given. */
+    private static final int DEFAULT_GAMES = 20;
+
+    /**
+     * Connections made from each loopback address. Past this the
+     * next address (127.0.0.2, 127.0.0.3, ...) is used so the
+     * client does not run out of local ports.
+     */
+    private static final int PER_ADDRESS = 20_000;
+
+    /** Board size for the games. */
+    private static final int SIZE = 10;
+
+    /** Nanoseconds in a microsecond. */
+    private static final double NANOS_PER_MICRO = 1e3;
+
+    /** Bytes in a kilobyte. */
+    private static final int KB = 1024;
+
+    /** Longest line the server sends. */
+    private static final int LINE_BYTES = 256;
+
+    /**
+     * Prevents instantiation.
+     * Throw an exception IllegalStateException when called.
+     *
+     * @throws IllegalStateException Utility class.
+     */
+    private SessionLoadTest() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args session count, game count and server kind
+     * @throws Exception if the server cannot start
+     */
+    public static void main(final String[] args) throws Exception {
+        final int sessions = args.length > 0
+                ? Integer.parseInt(args[0]) : DEFAULT_SESSIONS;
+        final int games = args.length > 1
+                ? Integer.parseInt(args[1]) : DEFAULT_GAMES;
+        final boolean selector = args.length > 2
+                && args[2].equals("selector");
+
+        final GameProtocol rules = new GameProtocol(SIZE, SIZE,
+                Fleet.classic(), new SplittableRandom(1));
+        final AutoCloseable server;
+        final int port;
+        final Thread serverThread;
+        if (selector) {
+            final GameServer nio = new GameServer(0, rules);
+            server = nio;
+            port = nio.port();
+            serverThread = new Thread(() -> runQuietly(nio::run));
+            System.out.println("Server: selector loop");
+        } else {
+            final ThreadedGameServer threaded =
+                    new ThreadedGameServer(0, rules);
+            server = threaded;
+            port = threaded.port();
+            serverThread = new Thread(() -> runQuietly(threaded::run));
+            System.out.println("Server: thread per session ("
+                    + (threaded.virtual() ? "virtual" : "platform")
+                    + " threads)");
+        }
+        serverThread.setDaemon(true);
+        serverThread.start();
+
+        final long heapBefore = usedHeap();
+        final long residentBefore = residentBytes();
+        final int threadsBefore = threadCount();
+        final SocketChannel[] idle = new SocketChannel[sessions];
+        int opened = 0;
+        final long openStart = System.nanoTime();
+        try {
+            for (; opened < sessions; opened++) {
+                idle[opened] = connect(port, opened);
+            }
+        } catch (IOException e) {
+            System.out.println("Stopped at " + opened + " sessions: "
+                    + e.getMessage());
+        }
+        final double openSeconds = (System.nanoTime() - openStart) / 1e9;
+        final long heapAfter = usedHeap();
+        final long residentAfter = residentBytes();
+
+        System.out.printf("Idle sessions: %d (opened in %.1f s)%n",
+                opened, openSeconds);
+        if (opened > 0) {
+            System.out.printf("Heap per session: %.0f bytes%n",
+                    (double) (heapAfter - heapBefore) / opened);
+            if (residentBefore >= 0) {
+                System.out.printf("Resident memory per session: %.1f KB%n",
+                        (double) (residentAfter - residentBefore)
+                                / opened / KB);
+            }
+        }
+        System.out.println("Platform threads added: "
+                + (threadCount() - threadsBefore));
+
+        final long[] latencies = timeGames(port, games);
+        Arrays.sort(latencies);
+        System.out.printf("Moves timed: %d%n", latencies.length);
+        if (latencies.length > 0) {
+            System.out.printf("Move latency (us): p50 %.1f, p99 %.1f,"
+                    + " p99.9 %.1f, max %.1f%n",
+                    percentile(latencies, 0.50), percentile(latencies, 0.99),
+                    percentile(latencies, 0.999),
+                    latencies[latencies.length - 1] / NANOS_PER_MICRO);
+        }
+
+        for (int i = 0; i < opened; i++) {
+            idle[i].close();
+        }
+        server.close();
+    }
+
+    /**
+     * Opens one connection and waits for the server's greeting, so
+     * the session is known to be set up.
+     *
+     * @param port   server port
+     * @param number which connection this is
+     * @return the open connection
+     * @throws IOException if it cannot connect
+     */
+    private static SocketChannel connect(final int port, final int number)
+            throws IOException {
+        final SocketChannel channel = SocketChannel.open();
+        try {
+            if (number >= PER_ADDRESS) {
+                final byte[] local = InetAddress.getLoopbackAddress()
+                        .getAddress();
+                local[local.length - 1] += (byte) (number / PER_ADDRESS);
+                channel.bind(new InetSocketAddress(
+                        InetAddress.getByAddress(local), 0));
+            }
+            channel.connect(new InetSocketAddress(
+                    InetAddress.getLoopbackAddress(), port));
+            readLine(channel, ByteBuffer.allocate(LINE_BYTES));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    /**
+     * Plays games against the computer, firing at every cell in
+     * order, and times each move from sending FIRE to getting the
+     * next TURN (or the end of the game).
+     *
+     * @param port  server port
+     * @param games number of games
+     * @return every move's latency in nanoseconds
+     * @throws IOException if a connection fails
+     */
+    private static long[] timeGames(final int port, final int games)
+            throws IOException {
+        long[] latencies = new long[games * SIZE * SIZE];
+        int moves = 0;
+        final ByteBuffer buffer = ByteBuffer.allocate(LINE_BYTES);
+        for (int g = 0; g < games; g++) {
+            try (SocketChannel channel = SocketChannel.open(
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                            port))) {
+                buffer.clear();
+                readLine(channel, buffer);
+                send(channel, "PLAY AI");
+                String line = readLine(channel, buffer);
+                int cell = 0;
+                while (!line.startsWith("OVER")) {
+                    if (line.equals("TURN")) {
+                        final long start = System.nanoTime();
+                        send(channel, "FIRE " + (cell / SIZE + 1) + " "
+                                + (cell % SIZE + 1));
+                        cell++;
+                        line = readLine(channel, buffer);
+                        while (!line.equals("TURN")
+                                && !line.startsWith("OVER")) {
+                            line = readLine(channel, buffer);
+                        }
+                        latencies[moves++] = System.nanoTime() - start;
+                    } else {
+                        line = readLine(channel, buffer);
+                    }
+                }
+            }
+        }
+        latencies = Arrays.copyOf(latencies, moves);
+        return latencies;
+    }
+
+    /**
+     * Sends one line. Lines are far smaller than a socket buffer, so
+     * on a non-blocking channel the write still completes.
+     *
+     * @param channel connection
+     * @param line    text without a line ending
+     * @throws IOException if writing fails
+     */
+    static void send(final SocketChannel channel, final String line)
+            throws IOException {
+        final ByteBuffer out = ByteBuffer.wrap((line + "\n")
+                .getBytes(StandardCharsets.US_ASCII));
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+    }
+
+    /**
+     * Reads one line, keeping any bytes after it in the buffer for
+     * the next call.
+     *
+     * @param channel connection (blocking)
+     * @param buffer  bytes read but not used yet, ready for writing
+     * @return the line without its ending
+     * @throws IOException if the connection ends first
+     */
+    private static String readLine(final SocketChannel channel,
+                                   final ByteBuffer buffer)
+            throws IOException {
+        int scanned = 0;
+        while (true) {
+            for (; scanned < buffer.position(); scanned++) {
+                if (buffer.get(scanned) == '\n') {
+                    final String line = new String(buffer.array(), 0,
+                            scanned, StandardCharsets.US_ASCII);
+                    buffer.flip().position(scanned + 1);
+                    buffer.compact();
+                    return line;
+                }
+            }
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Server closed the connection");
+            }
+        }
+    }
+
+    /**
+     * Works out a percentile of sorted latencies.
+     *
+     * @param sorted   latencies in nanoseconds, smallest first
+     * @param fraction percentile as a fraction (0.99 for p99)
+     * @return latency in microseconds
+     */
+    private static double percentile(final long[] sorted,
+                                     final double fraction) {
+        final int at = (int) Math.min(sorted.length - 1,
+                Math.ceil(fraction * sorted.length) - 1);
+        return sorted[Math.max(0, at)] / NANOS_PER_MICRO;
+    }
+
+    /**
+     * Gets the heap in use after a garbage collection.
+     *
+     * @return bytes in use
+     */
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Gets the resident memory of this process (Linux only).
+     *
+     * @return bytes resident, or -1 if not known
+     */
+    private static long residentBytes() {
+        final Path status = Paths.get("/proc/self/status");
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * KB;
+                }
+            }
+        } catch (IOException e) {
+            return -1;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the number of live platform threads.
+     *
+     * @return thread count
+     */
+    private static int threadCount() {
+        return ManagementFactory.getThreadMXBean().getThreadCount();
+    }
+
+    /**
+     * Something that runs and may throw, like a server's run method.
+     */
+    interface Task {
+
+        /**
+         * Runs the task.
+         *
+         * @throws IOException if it fails
+         */
+        void run() throws IOException;
+    }
+
+    /**
+     * Runs a server loop, printing any failure to standard error.
+     *
+     * @param task the loop
+     */
+    static void runQuietly(final Task task) {
+        try {
+            task.run();
+        } catch (IOException e) {
+            System.err.println("Server stopped: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,398 @@
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Random ship placement for a {@link Board}.
+ *
+ * Single-cell ships use a partial Fisher-Yates shuffle. Longer ships
+ * are placed from a bitmask of free cells per row: shifting a row and
+ * AND-ing it with itself leaves a bit only where a whole ship fits,
+ * so every legal anchor is known up front and one is picked at random
+ * with no trial and error.
+ *
+ * Not taught:
+ * Fisher-Yates shuffle:
+ * https://en.wikipedia.org/wiki/Fisher%E2%80%93Yates_shuffle
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class ShipPlacer {
+
+    /** Shift that turns a bit number into a word number (2^6 = 64). */
+    private static final int WORD_SHIFT = 6;
+
+    /** Mask that turns a bit number into a bit within its word. */
+    private static final int BIT_MASK = Long.SIZE - 1;
+
+    /**
+     * Fresh starts allowed when earlier ships leave no room for a
+     * later one.
+     */
+    private static final int MAX_ATTEMPTS = 1000;
+
+    /** Number of rows on the board. */
+    private final int rows;
+
+    /** Number of columns on the board. */
+    private final int cols;
+
+    /** Words of free-cell bits per row. */
+    private final int perRow;
+
+    /** Free-cell bits, perRow words per row. */
+    private final long[] free;
+
+    /** Scratch words for one row of anchors. */
+    private final long[] anchors;
+
+    /** Anchors going across in each row, for the current length. */
+    private final int[] across;
+
+    /** Anchors going down from each row, for the current length. */
+    private final int[] down;
+
+    /** Sum of across and down. */
+    private long total;
+
+    /**
+     * Creates a placer for one board size.
+     *
+     * @param rowCount number of rows
+     * @param colCount number of columns
+     */
+    private ShipPlacer(final int rowCount, final int colCount) {
+        this.rows = rowCount;
+        this.cols = colCount;
+        this.perRow = (colCount + BIT_MASK) >>> WORD_SHIFT;
+        this.free = new long[rowCount * perRow];
+        this.anchors = new long[perRow];
+        this.across = new int[rowCount];
+        this.down = new int[rowCount];
+    }
+
+    /**
+     * Places single-cell ships on an empty board.
+     *
+     * Uses a partial Fisher-Yates shuffle of the cell numbers, so
+     * every set of cells is equally likely and there are no retries
+     * however full the board gets. Only the swapped entries of the
+     * shuffle are stored (in a map), so it takes O(ships) time and
+     * memory instead of O(cells).
+     *
+     * @param board     empty board to fill
+     * @param shipCount number of ships to place
+     * @param rand      random number generator to use
+     */
+    public static void placeSingles(final Board board, final int shipCount,
+                                    final RandomGenerator rand) {
+        final int cols = board.cols();
+        final int cells = board.rows() * cols;
+        if (shipCount > cells) {
+            throw new IllegalArgumentException("Too many ships for board");
+        }
+
+        // swapped.get(i) is what slot i of the shuffled cells holds,
+        // or MISSING if slot i still holds cell i
+        final LongIntMap swapped = new LongIntMap(shipCount);
+        for (int i = 0; i < shipCount; i++) {
+            final int j = i + rand.nextInt(cells - i);
+            final int atI = swapped.get(i);
+            final int atJ = swapped.get(j);
+            final int picked = atJ == LongIntMap.MISSING ? j : atJ;
+            swapped.put(j, atI == LongIntMap.MISSING ? i : atI);
+            board.placeShip(picked / cols, picked % cols);
+        }
+    }
+
+    /**
+     * Places a fleet of any ship lengths on an empty board, longest
+     * ship first, with no overlaps.
+     *
+     * Anchors are counted in full once per ship length. After each
+     * ship only the rows it could have blocked are counted again, so
+     * a big fleet of the same few lengths stays cheap.
+     *
+     * @param board empty board to fill
+     * @param fleet length of every ship
+     * @param rand  random number generator to use
+     */
+    public static void placeFleet(final Board board, final int[] fleet,
+                                  final RandomGenerator rand) {
+        final ShipPlacer placer = new ShipPlacer(board.rows(), board.cols());
+        final int[] order = fleet.clone();
+        Arrays.sort(order);
+
+        // Each placement is {row, col, 1 if vertical}
+        final int[][] spots = new int[order.length][];
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            placer.fillFree();
+            boolean placed = true;
+            int counted = 0;
+            for (int i = order.length - 1; i >= 0 && placed; i--) {
+                if (order[i] != counted) {
+                    placer.countRows(order[i], 0, placer.rows - 1);
+                    counted = order[i];
+                }
+                spots[i] = placer.pickSpot(order[i], rand);
+                placed = spots[i] != null;
+            }
+            if (placed) {
+                for (int i = 0; i < order.length; i++) {
+                    board.placeShip(spots[i][0], spots[i][1], order[i],
+                            spots[i][2] == 1);
+                }
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Fleet does not fit on board");
+    }
+
+    /**
+     * Places a fleet on an empty board that is mostly water, without
+     * the free-cell bitmask (which is as big as the board).
+     *
+     * Each ship, longest first, picks one of the anchors it would
+     * have on an empty board at random and tries again if that spot
+     * overlaps a ship already placed. With so few ships that hardly
+     * ever happens, and the spot picked is just as random as the one
+     * placeFleet would pick.
+     *
+     * @param board empty board to fill
+     * @param fleet length of every ship
+     * @param rand  random number generator to use
+     */
+    public static void placeScattered(final Board board, final int[] fleet,
+                                      final RandomGenerator rand) {
+        final int rows = board.rows();
+        final int cols = board.cols();
+        final int[] order = fleet.clone();
+        Arrays.sort(order);
+        for (int i = order.length - 1; i >= 0; i--) {
+            final int length = order[i];
+            final long across = cols < length
+                    ? 0 : (long) rows * (cols - length + 1);
+            final long down = length == 1 || rows < length
+                    ? 0 : (long) (rows - length + 1) * cols;
+            boolean placed = false;
+            for (int attempt = 0; attempt < MAX_ATTEMPTS && !placed;
+                    attempt++) {
+                if (across + down == 0) {
+                    break;
+                }
+                final long pick = rand.nextLong(across + down);
+                final boolean vertical = pick >= across;
+                final long anchor = vertical ? pick - across : pick;
+                final int width = vertical ? cols : cols - length + 1;
+                final int row = (int) (anchor / width);
+                final int col = (int) (anchor % width);
+                placed = fits(board, row, col, length, vertical);
+                if (placed) {
+                    board.placeShip(row, col, length, vertical);
+                }
+            }
+            if (!placed) {
+                throw new IllegalArgumentException(
+                        "Fleet does not fit on board");
+            }
+        }
+    }
+
+    /**
+     * Checks that every cell a ship would cover is free.
+     *
+     * @param board    the board
+     * @param row      row of the first cell
+     * @param col      column of the first cell
+     * @param length   ship length
+     * @param vertical true if the ship runs down
+     * @return true if no ship is in the way
+     */
+    private static boolean fits(final Board board, final int row,
+                                final int col, final int length,
+                                final boolean vertical) {
+        for (int k = 0; k < length; k++) {
+            if (board.hasShip(vertical ? row + k : row,
+                    vertical ? col : col + k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts the anchors for a ship length in a range of rows,
+     * keeping the running total up to date.
+     *
+     * @param length ship length
+     * @param first  first row to count
+     * @param last   last row to count
+     */
+    private void countRows(final int length, final int first,
+                           final int last) {
+        for (int r = Math.max(0, first); r <= Math.min(rows - 1, last); r++) {
+            total -= across[r] + down[r];
+            across[r] = acrossAnchors(r, length);
+            // Single cells only go across so they are not counted twice
+            down[r] = length > 1 && r + length <= rows
+                    ? downAnchors(r, length) : 0;
+            total += across[r] + down[r];
+        }
+    }
+
+    /**
+     * Picks a random legal spot for one ship, marks its cells used and
+     * re-counts the rows it touched.
+     *
+     * @param length ship length
+     * @param rand   random number generator to use
+     * @return {row, col, 1 if vertical}, or null if nothing fits
+     */
+    private int[] pickSpot(final int length, final RandomGenerator rand) {
+        if (total == 0) {
+            return null;
+        }
+        long pick = rand.nextLong(total);
+        for (int r = 0; r < rows; r++) {
+            if (pick < across[r]) {
+                acrossAnchors(r, length);
+                final int col = selectBit(anchors, pick);
+                for (int k = 0; k < length; k++) {
+                    clear(r, col + k);
+                }
+                countRows(length, r - length + 1, r);
+                return new int[] {r, col, 0};
+            }
+            pick -= across[r];
+            if (pick < down[r]) {
+                downAnchors(r, length);
+                final int col = selectBit(anchors, pick);
+                for (int k = 0; k < length; k++) {
+                    clear(r + k, col);
+                }
+                countRows(length, r - length + 1, r + length - 1);
+                return new int[] {r, col, 1};
+            }
+            pick -= down[r];
+        }
+        return null;
+    }
+
+    /**
+     * Finds the columns in a row where a ship fits going across.
+     * Bit c is kept only if bits c to c + length - 1 are all free.
+     *
+     * The anchor bits are left in the scratch words.
+     *
+     * @param row    the row
+     * @param length ship length
+     * @return number of anchors
+     */
+    private int acrossAnchors(final int row, final int length) {
+        final long[] out = anchors;
+        final int base = row * perRow;
+        System.arraycopy(free, base, out, 0, perRow);
+        for (int k = 1; k < length; k++) {
+            final int wordShift = k >>> WORD_SHIFT;
+            final int bitShift = k & BIT_MASK;
+            for (int w = 0; w < perRow; w++) {
+                // Bit c of the shifted row is bit c + k of the row
+                final int src = w + wordShift;
+                long shifted = src < perRow ? free[base + src] : 0L;
+                if (bitShift != 0) {
+                    shifted >>>= bitShift;
+                    if (src + 1 < perRow) {
+                        shifted |= free[base + src + 1]
+                                << (Long.SIZE - bitShift);
+                    }
+                }
+                out[w] &= shifted;
+            }
+        }
+        return popCount(out);
+    }
+
+    /**
+     * Finds the columns where a ship fits going down from a row.
+     *
+     * The anchor bits are left in the scratch words.
+     *
+     * @param row    top row of the ship
+     * @param length ship length
+     * @return number of anchors
+     */
+    private int downAnchors(final int row, final int length) {
+        final long[] out = anchors;
+        System.arraycopy(free, row * perRow, out, 0, perRow);
+        for (int k = 1; k < length; k++) {
+            final int base = (row + k) * perRow;
+            for (int w = 0; w < perRow; w++) {
+                out[w] &= free[base + w];
+            }
+        }
+        return popCount(out);
+    }
+
+    /**
+     * Marks every cell on the board as free.
+     */
+    private void fillFree() {
+        Arrays.fill(free, -1L);
+        final int spare = cols & BIT_MASK;
+        if (spare != 0) {
+            // Columns past the edge are never free
+            final long lastWord = (1L << spare) - 1;
+            for (int r = 0; r < rows; r++) {
+                free[r * perRow + perRow - 1] = lastWord;
+            }
+        }
+    }
+
+    /**
+     * Counts the set bits in some words.
+     *
+     * @param words the words
+     * @return number of set bits
+     */
+    private static int popCount(final long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Finds the position of the n-th set bit (counting from 0).
+     *
+     * @param words the words
+     * @param n     which set bit
+     * @return bit position
+     */
+    private static int selectBit(final long[] words, final long n) {
+        long left = n;
+        for (int w = 0; w < words.length; w++) {
+            final int count = Long.bitCount(words[w]);
+            if (left < count) {
+                long word = words[w];
+                for (long i = 0; i < left; i++) {
+                    word &= word - 1; // drop the lowest set bit
+                }
+                return (w << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+            }
+            left -= count;
+        }
+        throw new IllegalStateException("Not enough set bits");
+    }
+
+    /**
+     * Marks one cell as used.
+     *
+     * @param row row of the cell
+     * @param col column of the cell
+     */
+    private void clear(final int row, final int col) {
+        free[row * perRow + (col >>> WORD_SHIFT)] &= ~(1L << col);
+    }
+}
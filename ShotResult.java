@@ -0,0 +1,24 @@
+/**
+ * Outcome of firing a single shot at a board.
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public enum ShotResult {
+
+    /** The shot landed in empty water. */
+    MISS,
+
+    /** The shot hit part of a ship. */
+    HIT,
+
+    /** The shot hit the last cell of a ship. */
+    SUNK,
+
+    /** The shot sank the last ship on the board, game over. */
+    WIN,
+
+    /** The cell had already been fired at, nothing changed. */
+    REPEAT
+}
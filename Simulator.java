@@ -0,0 +1,413 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+
+/**
+ * Plays many computer vs computer games and prints the results.
+ *
+ * Games are cut into fixed-size chunks that a pool of worker threads
+ * takes in turn. Each chunk gets its own random number generator,
+ * split from one seeded root before any thread starts, and each
+ * worker keeps its own totals. So the threads share nothing but a
+ * chunk counter, and a seed gives exactly the same games however many
+ * threads run them and in whatever order.
+ *
+ * Usage: java Simulator [games] [threads] [size] [fleet]
+ *        [player strategy] [enemy strategy] [seed] [archive]
+ *
+ * The fleet is anything {@link Fleet#parse} reads, such as "4"
+ * (four single-cell ships) or "classic". Strategies are the names
+ * taken by
+ * {@link TargetingStrategy#create}, "random" by default. Given an
+ * archive file, every game is also saved for {@link ReplayArchive}.
+ *
+ * Not taught:
+ * Thread pools (ExecutorService):
+ * https://docs.oracle.com/javase/tutorial/essential/concurrency/pools.html
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class Simulator {
+
+    /** Games played when no count is given. */
+    private static final int DEFAULT_GAMES = 1_000_000;
+
+    /** Board size used when none is given. */
+    private static final int DEFAULT_SIZE = 4;
+
+    /** Fleet used when none is given (four single-cell ships). */
+    private static final String DEFAULT_FLEET = "4";
+
+    /** Strategy used when none is given. */
+    private static final String DEFAULT_STRATEGY = "random";
+
+    /** Position of the first strategy name in the arguments. */
+    private static final int STRATEGY_ARG = 4;
+
+    /** Position of the seed in the arguments. */
+    private static final int SEED_ARG = 6;
+
+    /** Position of the archive file in the arguments. */
+    private static final int ARCHIVE_ARG = 7;
+
+    /** Games in each chunk of work. */
+    private static final int CHUNK = 1024;
+
+    /** Nanoseconds in one second. */
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /** Percentiles of game length to report. */
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    /** Percent in a whole. */
+    private static final double HUNDRED = 100.0;
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private Simulator() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Entry point of the simulator.
+     *
+     * @param args games, threads, size, fleet, the two strategy
+     *             names, a seed and an archive file (all optional)
+     * @throws InterruptedException if interrupted while waiting
+     * @throws ExecutionException   if a worker fails
+     * @throws IOException          if the archive cannot be written
+     */
+    public static void main(final String[] args)
+            throws InterruptedException, ExecutionException, IOException {
+        final int games = intArg(args, 0, DEFAULT_GAMES);
+        final int threads = intArg(args, 1,
+                Runtime.getRuntime().availableProcessors());
+        final int size = intArg(args, 2, DEFAULT_SIZE);
+        final int[] fleet = Fleet.parse(
+                args.length > 3 ? args[3] : DEFAULT_FLEET);
+        final String[] strategies = {
+            args.length > STRATEGY_ARG ? args[STRATEGY_ARG] : DEFAULT_STRATEGY,
+            args.length > STRATEGY_ARG + 1
+                ? args[STRATEGY_ARG + 1] : DEFAULT_STRATEGY,
+        };
+
+        final long seed = args.length > SEED_ARG
+                ? Long.parseLong(args[SEED_ARG])
+                : new SplittableRandom().nextLong();
+
+        final long start = System.nanoTime();
+        final Stats stats;
+        if (args.length > ARCHIVE_ARG) {
+            try (ArchiveWriter archive =
+                    new ArchiveWriter(Paths.get(args[ARCHIVE_ARG]))) {
+                stats = run(games, threads, size, fleet, strategies, seed,
+                        archive);
+            }
+        } else {
+            stats = run(games, threads, size, fleet, strategies, seed);
+        }
+        final double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+
+        System.out.println("Games:        " + stats.games());
+        System.out.println("Threads:      " + threads);
+        System.out.println("Seed:         " + seed);
+        System.out.println("Strategies:   " + strategies[GameEngine.PLAYER]
+                + " vs " + strategies[GameEngine.ENEMY]);
+        System.out.printf("Player wins:  %.2f%%%n",
+                HUNDRED * stats.wins(GameEngine.PLAYER) / stats.games());
+        System.out.printf("Enemy wins:   %.2f%%%n",
+                HUNDRED * stats.wins(GameEngine.ENEMY) / stats.games());
+        System.out.printf("Mean length:  %.2f shots%n", stats.meanLength());
+        for (double p : PERCENTILES) {
+            System.out.println("p" + p + " length: " + stats.percentile(p));
+        }
+        System.out.printf("Games/second: %.0f%n", stats.games() / seconds);
+    }
+
+    /**
+     * Plays games across a pool of worker threads.
+     *
+     * @param games   total games to play
+     * @param threads number of worker threads
+     * @param size    board size (size x size)
+     * @param fleet   length of every ship on each board
+     * @param strategies strategy name for each player
+     * @param seed    seed for every random choice in every game
+     * @return combined results of every game
+     * @throws InterruptedException if interrupted while waiting
+     * @throws ExecutionException   if a worker fails
+     */
+    public static Stats run(final int games, final int threads,
+                            final int size, final int[] fleet,
+                            final String[] strategies, final long seed)
+            throws InterruptedException, ExecutionException {
+        return run(games, threads, size, fleet, strategies, seed, null);
+    }
+
+    /**
+     * Plays games across a pool of worker threads, saving each one
+     * to an archive under its game number.
+     *
+     * @param games   total games to play
+     * @param threads number of worker threads
+     * @param size    board size (size x size)
+     * @param fleet   length of every ship on each board
+     * @param strategies strategy name for each player
+     * @param seed    seed for every random choice in every game
+     * @param archive archive to add every game to, or null
+     * @return combined results of every game
+     * @throws InterruptedException if interrupted while waiting
+     * @throws ExecutionException   if a worker fails
+     */
+    public static Stats run(final int games, final int threads,
+                            final int size, final int[] fleet,
+                            final String[] strategies, final long seed,
+                            final ArchiveWriter archive)
+            throws InterruptedException, ExecutionException {
+        // Split every chunk's generator up front, in order, so the
+        // games do not depend on which thread runs them
+        final int chunks = (games + CHUNK - 1) / CHUNK;
+        final SplittableRandom root = new SplittableRandom(seed);
+        final SplittableRandom[] chunkRands = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            chunkRands[c] = root.split();
+        }
+
+        final AtomicInteger nextChunk = new AtomicInteger();
+        final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<Stats>> parts = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final Callable<Stats> worker = () -> {
+                    final Stats local = new Stats();
+                    final ArchiveWriter.Shots shots = archive == null
+                            ? null : new ArchiveWriter.Shots();
+                    int c = nextChunk.getAndIncrement();
+                    while (c < chunks) {
+                        final int count = Math.min(CHUNK, games - c * CHUNK);
+                        for (int g = 0; g < count; g++) {
+                            final GameEngine engine = playGame(size, fleet,
+                                    strategies, chunkRands[c], shots);
+                            local.add(engine);
+                            if (archive != null) {
+                                archive.add((long) c * CHUNK + g, engine,
+                                        shots);
+                            }
+                        }
+                        c = nextChunk.getAndIncrement();
+                    }
+                    return local;
+                };
+                parts.add(pool.submit(worker));
+            }
+
+            final Stats total = new Stats();
+            for (Future<Stats> part : parts) {
+                total.merge(part.get());
+            }
+            return total;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays one game where both sides fire at random cells. This is
+     * a baseline only: the computer in {@link Battleship#mainGame()}
+     * targets by density.
+     *
+     * @param size  board size (size x size)
+     * @param fleet length of every ship on each board
+     * @param rand  random number generator to use
+     * @return the finished game
+     */
+    public static GameEngine playGame(final int size, final int[] fleet,
+                                      final RandomGenerator rand) {
+        return playGame(size, fleet,
+                new String[] {DEFAULT_STRATEGY, DEFAULT_STRATEGY}, rand);
+    }
+
+    /**
+     * Plays one game with a targeting strategy on each side.
+     *
+     * @param size       board size (size x size)
+     * @param fleet      length of every ship on each board
+     * @param strategies strategy name for each player
+     * @param rand       random number generator to use
+     * @return the finished game
+     */
+    public static GameEngine playGame(final int size, final int[] fleet,
+                                      final String[] strategies,
+                                      final RandomGenerator rand) {
+        return playGame(size, fleet, strategies, rand, null);
+    }
+
+    /**
+     * Plays one game with a targeting strategy on each side, noting
+     * down every shot.
+     *
+     * @param size       board size (size x size)
+     * @param fleet      length of every ship on each board
+     * @param strategies strategy name for each player
+     * @param rand       random number generator to use
+     * @param shots      cleared and filled with every shot, or null
+     * @return the finished game
+     */
+    public static GameEngine playGame(final int size, final int[] fleet,
+                                      final String[] strategies,
+                                      final RandomGenerator rand,
+                                      final ArchiveWriter.Shots shots) {
+        final GameEngine engine = GameEngine.random(size, size, fleet, rand);
+        final TargetingStrategy[] shooters = {
+            TargetingStrategy.create(strategies[GameEngine.PLAYER],
+                    size, size, fleet, rand),
+            TargetingStrategy.create(strategies[GameEngine.ENEMY],
+                    size, size, fleet, rand),
+        };
+
+        if (shots != null) {
+            shots.clear();
+        }
+        int player = GameEngine.PLAYER;
+        while (!engine.isOver()) {
+            final int cell = shooters[player].nextShot();
+            final int row = cell / size;
+            final int col = cell % size;
+            final ShotResult result = engine.fire(player, row, col);
+            shooters[player].record(row, col, result,
+                    engine.lastSunkLength());
+            if (shots != null) {
+                shots.add(player, cell);
+            }
+            player = GameEngine.opponent(player);
+        }
+        return engine;
+    }
+
+    /**
+     * Reads an optional int argument.
+     *
+     * @param args     command line arguments
+     * @param position which argument to read
+     * @param fallback value to use if it is missing
+     * @return the argument value or the fallback
+     */
+    private static int intArg(final String[] args, final int position,
+                              final int fallback) {
+        if (args.length > position) {
+            return Integer.parseInt(args[position]);
+        }
+        return fallback;
+    }
+
+    /**
+     * Totals for a batch of games.
+     */
+    public static final class Stats {
+
+        /** Number of games played. */
+        private long games;
+
+        /** Games won by each player. */
+        private final long[] wins = new long[2];
+
+        /** Shots fired across every game. */
+        private long totalTurns;
+
+        /** Number of games for each game length (in shots). */
+        private long[] lengths = new long[Long.SIZE];
+
+        /**
+         * Adds one finished game.
+         *
+         * @param engine the finished game
+         */
+        void add(final GameEngine engine) {
+            games++;
+            wins[engine.winner()]++;
+            totalTurns += engine.turn();
+            if (engine.turn() >= lengths.length) {
+                lengths = Arrays.copyOf(lengths,
+                        Math.max(lengths.length * 2, engine.turn() + 1));
+            }
+            lengths[engine.turn()]++;
+        }
+
+        /**
+         * Adds another batch of totals into this one.
+         *
+         * @param other totals to add
+         */
+        void merge(final Stats other) {
+            games += other.games;
+            wins[GameEngine.PLAYER] += other.wins[GameEngine.PLAYER];
+            wins[GameEngine.ENEMY] += other.wins[GameEngine.ENEMY];
+            totalTurns += other.totalTurns;
+            if (other.lengths.length > lengths.length) {
+                lengths = Arrays.copyOf(lengths, other.lengths.length);
+            }
+            for (int i = 0; i < other.lengths.length; i++) {
+                lengths[i] += other.lengths[i];
+            }
+        }
+
+        /**
+         * Gets the game length at a percentile.
+         *
+         * @param percent percentile between 0 and 100
+         * @return shots taken by that game
+         */
+        public int percentile(final double percent) {
+            final double target = games * percent / HUNDRED;
+            long seen = 0;
+            for (int i = 0; i < lengths.length; i++) {
+                seen += lengths[i];
+                if (seen >= target && seen > 0) {
+                    return i;
+                }
+            }
+            return lengths.length - 1;
+        }
+
+        /**
+         * Gets the number of games played.
+         *
+         * @return games played
+         */
+        public long games() {
+            return games;
+        }
+
+        /**
+         * Gets the number of games a player won.
+         *
+         * @param player PLAYER or ENEMY
+         * @return games won
+         */
+        public long wins(final int player) {
+            return wins[player];
+        }
+
+        /**
+         * Gets the average game length.
+         *
+         * @return mean shots per game
+         */
+        public double meanLength() {
+            return (double) totalTurns / games;
+        }
+    }
+}
@@ -0,0 +1,364 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * {@link Board} that only stores the cells holding a ship or fired
+ * at, for huge oceans with few ships.
+ *
+ * Cells live in a {@link LongIntMap} keyed by row and column packed
+ * into one long. Each value holds the cell's two-bit code in its low
+ * bits and the ship number above them, so a shot is one lookup and
+ * one store. A cell with no entry is empty water. Memory grows with
+ * the ships and shots instead of with the size of the board.
+ *
+ * Not taught:
+ * Sparse arrays:
+ * https://en.wikipedia.org/wiki/Sparse_array
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class SparseBoard implements Board {
+
+    /** Bits of each stored value that hold the cell code. */
+    private static final int CODE_BITS = 2;
+
+    /** Mask for the cell code in a stored value. */
+    private static final int CODE_MASK = (1 << CODE_BITS) - 1;
+
+    /** Shift that turns a cell number into a packed long number. */
+    private static final int PACKED_SHIFT = 5;
+
+    /** Mask that turns a cell number into a cell within its long. */
+    private static final int PACKED_MASK = (1 << PACKED_SHIFT) - 1;
+
+    /** Starting size of the ship health array. */
+    private static final int INITIAL_SHIPS = 8;
+
+    /** Number of rows on the board. */
+    private final int rows;
+
+    /** Number of columns on the board. */
+    private final int cols;
+
+    /** Ship number and code of every stored cell, keyed by key(). */
+    private final LongIntMap cells = new LongIntMap();
+
+    /** Cells left un-hit for each ship, indexed by ship number. */
+    private int[] health = new int[INITIAL_SHIPS];
+
+    /** Length of each ship, indexed by ship number. */
+    private int[] lengths = new int[INITIAL_SHIPS];
+
+    /** First cell of each ship, indexed by ship number. */
+    private int[] starts = new int[INITIAL_SHIPS];
+
+    /** Whether each ship runs down, indexed by ship number. */
+    private boolean[] verticals = new boolean[INITIAL_SHIPS];
+
+    /** Number of ships placed. */
+    private int shipCount;
+
+    /** Ship cells that have not been hit yet. */
+    private int remaining;
+
+    /** Ships that still have an un-hit cell. */
+    private int afloat;
+
+    /**
+     * Creates an empty board (all water, nothing fired at).
+     *
+     * @param rowCount number of rows
+     * @param colCount number of columns
+     */
+    public SparseBoard(final int rowCount, final int colCount) {
+        if (rowCount <= 0 || colCount <= 0) {
+            throw new IllegalArgumentException("Board size must be positive");
+        }
+        this.rows = rowCount;
+        this.cols = colCount;
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int cols() {
+        return cols;
+    }
+
+    @Override
+    public int placeShip(final int row, final int col, final int length,
+                         final boolean vertical) {
+        final int endRow = vertical ? row + length - 1 : row;
+        final int endCol = vertical ? col : col + length - 1;
+        key(endRow, endCol);
+        key(row, col);
+        for (int k = 0; k < length; k++) {
+            final int r = vertical ? row + k : row;
+            final int c = vertical ? col : col + k;
+            if (cells.get(key(r, c)) != LongIntMap.MISSING) {
+                throw new IllegalArgumentException("Ship already at ("
+                        + r + ", " + c + ")");
+            }
+        }
+
+        if (shipCount == health.length) {
+            health = Arrays.copyOf(health, shipCount * 2);
+            lengths = Arrays.copyOf(lengths, shipCount * 2);
+            starts = Arrays.copyOf(starts, shipCount * 2);
+            verticals = Arrays.copyOf(verticals, shipCount * 2);
+        }
+        final int ship = shipCount++;
+        for (int k = 0; k < length; k++) {
+            final int r = vertical ? row + k : row;
+            final int c = vertical ? col : col + k;
+            cells.put(key(r, c), ship << CODE_BITS | CODE_SHIP);
+        }
+        health[ship] = length;
+        lengths[ship] = length;
+        starts[ship] = row * cols + col;
+        verticals[ship] = vertical && length > 1;
+        remaining += length;
+        afloat++;
+        return ship;
+    }
+
+    @Override
+    public ShotResult fire(final int row, final int col) {
+        final long key = key(row, col);
+        final int value = cells.get(key);
+        if (value == LongIntMap.MISSING) {
+            cells.put(key, CODE_MISS);
+            return ShotResult.MISS;
+        }
+        if ((value & CODE_MASK) != CODE_SHIP) {
+            return ShotResult.REPEAT;
+        }
+        cells.put(key, value & ~CODE_MASK | CODE_HIT);
+        remaining--;
+        final int ship = value >>> CODE_BITS;
+        health[ship]--;
+        if (health[ship] == 0) {
+            afloat--;
+            return ShotResult.SUNK;
+        }
+        return ShotResult.HIT;
+    }
+
+    @Override
+    public int fireSalvo(final int[] shots, final int count,
+                         final ShotResult[] results) {
+        final long size = (long) rows * cols;
+        for (int i = 0; i < count; i++) {
+            if (shots[i] < 0 || shots[i] >= size) {
+                throw new IndexOutOfBoundsException(
+                        "Cell " + shots[i] + " is off the board");
+            }
+        }
+
+        int sunkCount = 0;
+        for (int i = 0; i < count; i++) {
+            results[i] = fire(shots[i] / cols, shots[i] % cols);
+            if (results[i] == ShotResult.SUNK) {
+                sunkCount++;
+            }
+        }
+        return sunkCount;
+    }
+
+    @Override
+    public int remainingShipCells() {
+        return remaining;
+    }
+
+    @Override
+    public int remainingShips() {
+        return afloat;
+    }
+
+    /**
+     * Checks the win condition by looking up every ship cell.
+     * Slower than {@link #allSunk()}, useful for checking the counter.
+     *
+     * @return true if every ship cell is a hit
+     */
+    @Override
+    public boolean allSunkByScan() {
+        for (int ship = 0; ship < shipCount; ship++) {
+            final int step = verticals[ship] ? cols : 1;
+            for (int k = 0, cell = starts[ship]; k < lengths[ship];
+                    k++, cell += step) {
+                if (codeAt(cell / cols, cell % cols) != CODE_HIT) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean hasShip(final int row, final int col) {
+        final int code = codeAt(row, col);
+        return code == CODE_SHIP || code == CODE_HIT;
+    }
+
+    @Override
+    public int shipLengthAt(final int row, final int col) {
+        return hasShip(row, col)
+                ? lengths[cells.get(key(row, col)) >>> CODE_BITS] : 0;
+    }
+
+    @Override
+    public int shipCount() {
+        return shipCount;
+    }
+
+    @Override
+    public int shipStart(final int ship) {
+        return starts[ship];
+    }
+
+    @Override
+    public int shipLength(final int ship) {
+        return lengths[ship];
+    }
+
+    @Override
+    public boolean shipVertical(final int ship) {
+        return verticals[ship];
+    }
+
+    @Override
+    public boolean shipSunk(final int ship) {
+        return health[ship] == 0;
+    }
+
+    /**
+     * Packs every cell's two-bit code into longs, 32 cells per long.
+     * The longs start out as empty water, so only the stored cells
+     * need writing.
+     *
+     * @return packed codes
+     */
+    @Override
+    public long[] packCodes() {
+        final long[] packed = new long[packedLength()];
+        for (int slot = 0; slot < cells.capacity(); slot++) {
+            final long key = cells.keyAt(slot);
+            if (key >= 0) {
+                final int cell = (int) (key >>> Integer.SIZE) * cols
+                        + (int) key;
+                packed[cell >>> PACKED_SHIFT] |= (long) (cells.valueAt(slot)
+                        & CODE_MASK) << ((cell & PACKED_MASK) * CODE_BITS);
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * Writes the packed codes without making the array first, by
+     * setting the bits of each stored cell in place.
+     *
+     * @param out buffer with room for packedLength() longs, all zero
+     */
+    @Override
+    public void writeCodes(final ByteBuffer out) {
+        final int start = out.position();
+        for (int slot = 0; slot < cells.capacity(); slot++) {
+            final long key = cells.keyAt(slot);
+            if (key >= 0) {
+                final int cell = (int) (key >>> Integer.SIZE) * cols
+                        + (int) key;
+                final int at = start + (cell >>> PACKED_SHIFT) * Long.BYTES;
+                out.putLong(at, out.getLong(at) | (long) (cells.valueAt(slot)
+                        & CODE_MASK) << ((cell & PACKED_MASK) * CODE_BITS));
+            }
+        }
+        out.position(start + packedLength() * Long.BYTES);
+    }
+
+    @Override
+    public void unpackCodes(final long[] packed) {
+        if (packed.length != packedLength()) {
+            throw new IllegalArgumentException("Packed size does not match");
+        }
+        for (int ship = 0; ship < shipCount; ship++) {
+            final int step = verticals[ship] ? cols : 1;
+            for (int k = 0, cell = starts[ship]; k < lengths[ship];
+                    k++, cell += step) {
+                final int code = packedCode(packed, cell);
+                if (code != CODE_SHIP && code != CODE_HIT) {
+                    throw new IllegalArgumentException(
+                            "Packed cells do not match the ships");
+                }
+            }
+        }
+
+        for (int w = 0; w < packed.length; w++) {
+            // Most longs are all water, so skip straight past them
+            long word = packed[w];
+            while (word != 0) {
+                final int at = Long.numberOfTrailingZeros(word) / CODE_BITS;
+                final int cell = (w << PACKED_SHIFT) + at;
+                final int code = packedCode(packed, cell);
+                final int row = cell / cols;
+                final int col = cell % cols;
+                final int now = codeAt(row, col);
+                if (code != CODE_MISS && now == CODE_EMPTY) {
+                    placeShip(row, col);
+                }
+                if (code != CODE_SHIP && (now == CODE_EMPTY
+                        || now == CODE_SHIP)) {
+                    fire(row, col);
+                }
+                word &= ~((long) CODE_MASK << (at * CODE_BITS));
+            }
+        }
+    }
+
+    @Override
+    public int codeAt(final int row, final int col) {
+        final int value = cells.get(key(row, col));
+        return value == LongIntMap.MISSING ? CODE_EMPTY : value & CODE_MASK;
+    }
+
+    /**
+     * Gets the number of cells stored (ship cells and misses).
+     *
+     * @return stored cells
+     */
+    public int storedCells() {
+        return cells.size();
+    }
+
+    /**
+     * Reads one cell's code from packed codes.
+     *
+     * @param packed packed codes
+     * @param cell   cell number
+     * @return the cell's two-bit code
+     */
+    private static int packedCode(final long[] packed, final int cell) {
+        final int shift = (cell & PACKED_MASK) * CODE_BITS;
+        return (int) (packed[cell >>> PACKED_SHIFT] >>> shift) & CODE_MASK;
+    }
+
+    /**
+     * Packs a row and column into a map key, checking bounds.
+     *
+     * @param row row of the cell
+     * @param col column of the cell
+     * @return row in the high int, column in the low int
+     */
+    private long key(final int row, final int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException(
+                    "Cell (" + row + ", " + col + ") is off the board");
+        }
+        return (long) row << Integer.SIZE | col;
+    }
+}
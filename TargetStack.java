@@ -0,0 +1,106 @@
+import java.util.Arrays;
+
+/**
+ * Stack of cells to try next while finishing off a ship that has been
+ * hit. After each hit the cells beside it go on top, so the newest
+ * hit is followed up first.
+ *
+ * Cells that have been fired at since they were pushed are not
+ * removed; whoever pops them skips those.
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class TargetStack {
+
+    /** Starting size of the stack. */
+    private static final int INITIAL_SIZE = 16;
+
+    /** Number of rows on the board. */
+    private final int rows;
+
+    /** Number of columns on the board. */
+    private final int cols;
+
+    /** The stacked cells, top last. */
+    private int[] cells = new int[INITIAL_SIZE];
+
+    /** Number of stacked cells. */
+    private int size;
+
+    /**
+     * Creates an empty stack for a board size.
+     *
+     * @param rowCount number of rows
+     * @param colCount number of columns
+     */
+    public TargetStack(final int rowCount, final int colCount) {
+        this.rows = rowCount;
+        this.cols = colCount;
+    }
+
+    /**
+     * Pushes one cell.
+     *
+     * @param cell cell number
+     */
+    public void push(final int cell) {
+        if (size == cells.length) {
+            cells = Arrays.copyOf(cells, size * 2);
+        }
+        cells[size++] = cell;
+    }
+
+    /**
+     * Pushes the cells above, below, left and right of a cell that
+     * are on the board.
+     *
+     * @param cell cell number
+     */
+    public void pushNeighbors(final int cell) {
+        final int row = cell / cols;
+        final int col = cell % cols;
+        if (col > 0) {
+            push(cell - 1);
+        }
+        if (col + 1 < cols) {
+            push(cell + 1);
+        }
+        if (row > 0) {
+            push(cell - cols);
+        }
+        if (row + 1 < rows) {
+            push(cell + cols);
+        }
+    }
+
+    /**
+     * Takes the top cell off.
+     *
+     * @return cell number
+     * @throws IllegalStateException if the stack is empty
+     */
+    public int pop() {
+        if (size == 0) {
+            throw new IllegalStateException("Target stack is empty");
+        }
+        return cells[--size];
+    }
+
+    /**
+     * Checks whether the stack is empty.
+     *
+     * @return true if there is nothing to pop
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every cell.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,114 @@
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks where a computer player fires next.
+ *
+ * Cells are numbered row by row, so cell = row * cols + col.
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public interface TargetingStrategy {
+
+    /** Names {@link #create} knows, weakest first. */
+    List<String> NAMES = List.of("random", "hunt", "parity", "density",
+            "montecarlo", "mcts", "endgame");
+
+    /**
+     * Creates a strategy by name, with the default thinking time.
+     *
+     * @param name  one of {@link #NAMES}
+     * @param rows  number of rows on the target board
+     * @param cols  number of columns on the target board
+     * @param fleet length of every ship on the target board
+     * @param rand  random number generator to use
+     * @return the new strategy
+     */
+    static TargetingStrategy create(final String name, final int rows,
+                                    final int cols, final int[] fleet,
+                                    final RandomGenerator rand) {
+        return create(name, rows, cols, fleet, rand,
+                MonteCarloStrategy.DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * Creates a strategy by name.
+     *
+     * @param name        one of {@link #NAMES}
+     * @param rows        number of rows on the target board
+     * @param cols        number of columns on the target board
+     * @param fleet       length of every ship on the target board
+     * @param rand        random number generator to use
+     * @param thinkMillis most time to spend per move, for strategies
+     *                    that search
+     * @return the new strategy
+     */
+    static TargetingStrategy create(final String name, final int rows,
+                                    final int cols, final int[] fleet,
+                                    final RandomGenerator rand,
+                                    final long thinkMillis) {
+        switch (name) {
+            case "random":
+                return new RandomStrategy(rows, cols, rand);
+            case "hunt":
+                return new HuntTargetStrategy(rows, cols, rand);
+            case "parity":
+                return new ParityStrategy(rows, cols, fleet, rand);
+            case "density":
+                return new DensityStrategy(rows, cols, fleet, rand);
+            case "montecarlo":
+                return new MonteCarloStrategy(rows, cols, fleet, rand,
+                        MonteCarloStrategy.DEFAULT_SAMPLES,
+                        TimeUnit.MILLISECONDS.toNanos(thinkMillis),
+                        ForkJoinPool.commonPool());
+            case "mcts":
+                return new MctsStrategy(rows, cols, fleet, rand,
+                        TimeUnit.MILLISECONDS.toNanos(thinkMillis),
+                        ForkJoinPool.commonPool());
+            case "endgame":
+                // Density until few fleets are left, then solved
+                return new EndgameStrategy(
+                        new DensityStrategy(rows, cols, fleet, rand),
+                        rows, cols, fleet, EndgameStrategy.DEFAULT_FLEETS,
+                        TimeUnit.MILLISECONDS.toNanos(thinkMillis));
+            default:
+                throw new IllegalArgumentException(
+                        "Unknown strategy: " + name);
+        }
+    }
+
+    /**
+     * Picks the next cell to fire at.
+     *
+     * @return cell number (row * cols + col)
+     */
+    int nextShot();
+
+    /**
+     * Picks several cells to fire at together, before any of their
+     * results are known. Strategies that cannot plan ahead fire just
+     * one shot, which is what this default does.
+     *
+     * @param cells filled with the cell numbers
+     * @param count most cells wanted
+     * @return number of cells picked (at least 1)
+     */
+    default int nextSalvo(final int[] cells, final int count) {
+        cells[0] = nextShot();
+        return 1;
+    }
+
+    /**
+     * Tells the strategy what its last shot did.
+     *
+     * @param row        row that was fired at
+     * @param col        column that was fired at
+     * @param result     what the shot did
+     * @param sunkLength length of the ship sunk, or 0 if none
+     */
+    void record(int row, int col, ShotResult result, int sunkLength);
+}
@@ -0,0 +1,415 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Hosts Battleship games over TCP with one thread per connection,
+ * speaking the same line protocol as {@link GameServer}.
+ *
+ * Each session is a plain loop that reads a line, handles it and
+ * reads the next, the same style as the console game. On Java 21 or
+ * later the sessions run on virtual threads, which cost a few hundred
+ * bytes while blocked, so 100,000 idle players are fine. Older Java
+ * has no virtual threads; sessions then get platform threads with a
+ * small stack, and the operating system's thread limit decides how
+ * many can connect (each session takes two).
+ *
+ * The protocol is not thread safe, so lines are handled one at a
+ * time under a lock. Every session has a second thread that writes
+ * its replies: handling a line only queues the replies it causes for
+ * each session, so a move never waits on the other player's socket.
+ * A client that stops reading has its replies pile up, and once more
+ * than OUTBOX_BYTES are waiting it is dropped.
+ *
+ * Not taught:
+ * Virtual threads:
+ * https://openjdk.org/jeps/444
+ *
+ * @author  Jack
+ * @version 1.0
+ * @since   2026-10-18
+ */
+public final class ThreadedGameServer implements AutoCloseable {
+
+    /** Longest line a client may send. */
+    private static final int LINE_BYTES = 256;
+
+    /** Stack size asked for when sessions use platform threads. */
+    private static final long STACK_BYTES = 128 * 1024;
+
+    /** Most reply bytes waiting for a client before it is dropped. */
+    private static final int OUTBOX_BYTES = 64 * 1024;
+
+    /** Connections allowed to wait to be accepted. */
+    private static final int BACKLOG = 4096;
+
+    /** Listening socket. */
+    private final ServerSocket server;
+
+    /** Game rules and matchmaking; also the lock for handling lines. */
+    private final GameProtocol protocol;
+
+    /** Makes a thread for each session. */
+    private final ThreadFactory threads;
+
+    /** Whether sessions run on virtual threads. */
+    private final boolean virtual;
+
+    /** Sessions given replies by the line being handled. */
+    private final List<Session> touched = new ArrayList<>();
+
+    /** Sessions still open, so close() can end them. */
+    private final Set<Session> open = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Opens the listening socket on the loopback address.
+     *
+     * @param port  port to listen on (0 picks a free one)
+     * @param rules protocol to speak
+     * @throws IOException if the port cannot be opened
+     */
+    public ThreadedGameServer(final int port, final GameProtocol rules)
+            throws IOException {
+        this.protocol = rules;
+        this.server = new ServerSocket();
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                port), BACKLOG);
+        final ThreadFactory virtualThreads = virtualThreads();
+        this.virtual = virtualThreads != null;
+        this.threads = virtual ? virtualThreads : task -> {
+            final Thread thread = new Thread(null, task, "session",
+                    STACK_BYTES);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Starts a server from the command line.
+     *
+     * @param args "--port N" plus the board options of
+     *             {@link GameOptions}
+     * @throws IOException if the server cannot run
+     */
+    public static void main(final String[] args) throws IOException {
+        final String portText = GameOptions.argValue(args, "--port");
+        final int port = portText == null
+                ? GameServer.DEFAULT_PORT : Integer.parseInt(portText);
+        final GameOptions options = GameOptions.parse(args,
+                new SplittableRandom());
+        final GameProtocol rules = new GameProtocol(options.rows(),
+                options.cols(), options.fleet(), options.rand());
+        try (ThreadedGameServer gameServer =
+                     new ThreadedGameServer(port, rules)) {
+            System.out.println("Listening on port " + gameServer.port()
+                    + (gameServer.virtual() ? " (virtual threads)"
+                    : " (platform threads)"));
+            gameServer.run();
+        }
+    }
+
+    /**
+     * Gets the virtual thread factory, if this Java has one. Looked
+     * up by name so the game still builds and runs on Java 17.
+     *
+     * @return thread factory, or null
+     */
+    static ThreadFactory virtualThreads() {
+        try {
+            final Object builder = Thread.class.getMethod("ofVirtual")
+                    .invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder")
+                    .getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the port the server is listening on.
+     *
+     * @return local port
+     */
+    public int port() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Checks which kind of thread the sessions run on.
+     *
+     * @return true for virtual threads
+     */
+    public boolean virtual() {
+        return virtual;
+    }
+
+    /**
+     * Accepts clients until {@link #close()} is called.
+     *
+     * @throws IOException if the listening socket fails
+     */
+    public void run() throws IOException {
+        while (!server.isClosed()) {
+            final Socket socket;
+            try {
+                socket = server.accept();
+            } catch (IOException e) {
+                if (server.isClosed()) {
+                    break;
+                }
+                throw e;
+            }
+            socket.setTcpNoDelay(true);
+            final Session session = new Session(socket);
+            open.add(session);
+            threads.newThread(session).start();
+            threads.newThread(session::drain).start();
+        }
+    }
+
+    /**
+     * Stops accepting and closes every session. Safe to call from any
+     * thread.
+     *
+     * @throws IOException if the listening socket cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        server.close();
+        for (Session session : open) {
+            session.closeSocket();
+        }
+    }
+
+    /**
+     * Handles one line under the lock and queues the replies it
+     * caused.
+     *
+     * @param session the session the line came from
+     * @param line    the line, or null if the client went away
+     * @return false if the session should end
+     */
+    private boolean handle(final Session session, final String line) {
+        synchronized (protocol) {
+            final boolean keepOpen;
+            if (line == null) {
+                protocol.disconnect(session.player);
+                keepOpen = false;
+            } else {
+                keepOpen = protocol.handle(session.player, line);
+            }
+            queueReplies();
+            return keepOpen;
+        }
+    }
+
+    /**
+     * Hands every reply waiting to its session's writer (called under
+     * the protocol lock, so each client gets its lines in order).
+     */
+    private void queueReplies() {
+        for (Session target : touched) {
+            target.queue(target.takeOwnReplies());
+        }
+        touched.clear();
+    }
+
+    /**
+     * One client, read by one thread and written by another.
+     */
+    private final class Session implements GameProtocol.Output, Runnable {
+
+        /** The socket. */
+        private final Socket socket;
+
+        /** Bytes read but not yet handled. */
+        private final byte[] in = new byte[LINE_BYTES];
+
+        /** Number of bytes in the buffer. */
+        private int filled;
+
+        /** Replies not yet queued (guarded by the protocol lock). */
+        private final StringBuilder replies = new StringBuilder();
+
+        /** Replies queued for the writer (guarded by this). */
+        private final ArrayDeque<byte[]> outbox = new ArrayDeque<>();
+
+        /** Bytes in the outbox (guarded by this). */
+        private int queued;
+
+        /** Set once the reader is done (guarded by this). */
+        private boolean ending;
+
+        /** The client as the protocol knows it. */
+        private GameProtocol.Player player;
+
+        /**
+         * Wraps a newly accepted socket.
+         *
+         * @param client the socket
+         */
+        private Session(final Socket client) {
+            this.socket = client;
+        }
+
+        @Override
+        public void run() {
+            try {
+                synchronized (protocol) {
+                    player = protocol.connect(this);
+                    queueReplies();
+                }
+                boolean keepOpen = true;
+                while (keepOpen) {
+                    final String line = readLine();
+                    if (line == null) {
+                        handle(this, null);
+                        break;
+                    }
+                    keepOpen = handle(this, line);
+                }
+            } catch (IOException e) {
+                handle(this, null);
+            } finally {
+                // The writer sends what is left, then closes the socket
+                synchronized (this) {
+                    ending = true;
+                    notifyAll();
+                }
+            }
+        }
+
+        /**
+         * Writes queued replies until the reader is done and the
+         * outbox is empty, or the socket fails. Runs on the session's
+         * second thread.
+         */
+        private void drain() {
+            try {
+                final OutputStream out = socket.getOutputStream();
+                while (true) {
+                    final byte[] bytes;
+                    synchronized (this) {
+                        while (outbox.isEmpty() && !ending
+                                && !socket.isClosed()) {
+                            wait();
+                        }
+                        if (outbox.isEmpty() || socket.isClosed()) {
+                            break;
+                        }
+                        bytes = outbox.poll();
+                        queued -= bytes.length;
+                    }
+                    out.write(bytes);
+                    out.flush();
+                }
+            } catch (IOException e) {
+                // The reading side will see the socket is gone
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                closeSocket();
+                open.remove(this);
+            }
+        }
+
+        @Override
+        public void send(final String line) {
+            if (replies.length() == 0) {
+                touched.add(this);
+            }
+            replies.append(line).append('\n');
+        }
+
+        /**
+         * Takes this session's replies (called under the protocol
+         * lock).
+         *
+         * @return the replies as bytes
+         */
+        private byte[] takeOwnReplies() {
+            final byte[] bytes = replies.toString()
+                    .getBytes(StandardCharsets.US_ASCII);
+            replies.setLength(0);
+            return bytes;
+        }
+
+        /**
+         * Queues replies for the writer. A client that has let more
+         * than OUTBOX_BYTES pile up is not reading, so it is dropped.
+         *
+         * @param bytes replies to write
+         */
+        private synchronized void queue(final byte[] bytes) {
+            if (queued + bytes.length > OUTBOX_BYTES) {
+                outbox.clear();
+                closeSocket();
+                return;
+            }
+            outbox.add(bytes);
+            queued += bytes.length;
+            notifyAll();
+        }
+
+        /**
+         * Reads one line, blocking until it arrives.
+         *
+         * @return the line without its ending, or null at end of input
+         * @throws IOException if reading fails or the line is too long
+         */
+        private String readLine() throws IOException {
+            final InputStream stream = socket.getInputStream();
+            int scanned = 0;
+            while (true) {
+                for (; scanned < filled; scanned++) {
+                    if (in[scanned] == '\n') {
+                        int end = scanned;
+                        if (end > 0 && in[end - 1] == '\r') {
+                            end--;
+                        }
+                        final String line = new String(in, 0, end,
+                                StandardCharsets.US_ASCII);
+                        filled -= scanned + 1;
+                        System.arraycopy(in, scanned + 1, in, 0, filled);
+                        return line;
+                    }
+                }
+                if (filled == in.length) {
+                    throw new IOException("Line too long");
+                }
+                final int count = stream.read(in, filled, in.length - filled);
+                if (count < 0) {
+                    return null;
+                }
+                filled += count;
+            }
+        }
+
+        /**
+         * Closes the socket, which also wakes a blocked read, a blocked
+         * write and a waiting writer.
+         */
+        private void closeSocket() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Already closed, nothing left to do
+            }
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+}